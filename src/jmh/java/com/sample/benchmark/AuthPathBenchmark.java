@@ -0,0 +1,99 @@
+package com.sample.benchmark;
+
+import com.sample.service.UserService;
+import com.sample.starter.security.filter.TokenAuthenticationFilter;
+import com.sample.starter.security.service.AuthenticationService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work done on every authenticated request, in the running
+ * application: resolving the user of a token, the token filter as a
+ * whole, and reading a user by email, which the filter does on a miss of
+ * the principal cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class AuthPathBenchmark {
+
+    private static final String EMAIL = "bench@email.com";
+
+    private static final String URI = "/api/movies";
+
+    private CatalogDatabase database;
+
+    private BenchmarkApplication application;
+
+    private AuthenticationService authenticationService;
+
+    private TokenAuthenticationFilter filter;
+
+    private UserService userService;
+
+    private String token;
+
+    private FilterChain chain;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        database = CatalogDatabase.seed("auth_path", 0, 0);
+        application = BenchmarkApplication.start(database);
+        token = application.signUp(EMAIL);
+        authenticationService = application.getBean(
+                AuthenticationService.class);
+        userService = application.getBean(UserService.class);
+        filter = new TokenAuthenticationFilter(authenticationService);
+        chain = (request, response) -> { };
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+        database.drop();
+    }
+
+    @Benchmark
+    public String userNameFromToken() {
+        return authenticationService.getUserNameFromToken(URI, token);
+    }
+
+    @Benchmark
+    public Authentication tokenFilter() throws ServletException,
+            IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                URI);
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Authentication authentication = SecurityContextHolder.getContext()
+                .getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Object readByEmail() {
+        return userService.readByEmail(EMAIL);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sample.benchmark;
+
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.oauth2.util.AuthorizationRequestCodec;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.apache.commons.lang3.SerializationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the OAuth2 authorization request cookie as Java serialization
+ * in base64, as it was kept, against {@link AuthorizationRequestCodec},
+ * deflated or not. The length of each cookie is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationRequestCookieBenchmark {
+
+    @Param({"true", "false"})
+    private boolean compress;
+
+    private OAuth2AuthorizationRequest authorizationRequest;
+
+    private AuthorizationRequestCodec codec;
+
+    private String serialized;
+
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAuth().setTokenSecret(Encoders.BASE64
+                .encode(Keys.secretKeyFor(SignatureAlgorithm.HS256)
+                        .getEncoded()));
+        appProperties.getOauth2().setCompressAuthorizationRequest(compress);
+        codec = new AuthorizationRequestCodec(appProperties,
+                Duration.ofMinutes(3), Clock.systemUTC());
+        authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("5014057553-8gm9um6vnli3cle5rgigcdjpdrid14m9"
+                        + ".apps.googleusercontent.com")
+                .redirectUri("http://localhost:8080/oauth2/callback/google")
+                .scopes(Set.of("email", "profile", "openid"))
+                .state("z7UuA0yGPSy1nXQ-nOXJVvJ8S4wE0FZdxYpJMj1ufzU=")
+                .additionalParameters(Map.of("nonce",
+                        "b4ggVdM9yQF0fIsK2Qe5BO_n4BEGWs5hs2pmkZLlL1o"))
+                .attributes(Map.of("registration_id", "google",
+                        "nonce", "J8v1Nkp0Tj9LPm0JgUlWcWjZ2wVw4mD1q3Xz7r"))
+                .build();
+        serialized = serialize();
+        encoded = encode();
+        System.out.printf("%nCookie of %d characters serialized, %d encoded"
+                        + " (compress %s)%n", serialized.length(),
+                encoded.length(), compress);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return Base64.getUrlEncoder().encodeToString(
+                SerializationUtils.serialize(authorizationRequest));
+    }
+
+    @Benchmark
+    public OAuth2AuthorizationRequest deserialize() {
+        return SerializationUtils.deserialize(
+                Base64.getUrlDecoder().decode(serialized));
+    }
+
+    @Benchmark
+    public String encode() {
+        return codec.encode(authorizationRequest);
+    }
+
+    @Benchmark
+    public OAuth2AuthorizationRequest decode() {
+        return codec.decode(encoded);
+    }
+}
@@ -0,0 +1,112 @@
+package com.sample.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application running on a random port against a seeded database,
+ * with a user signed up through the real login and registration flow,
+ * for benchmarks.
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ConfigurableApplicationContext context;
+
+    private final String baseUrl;
+
+    private final HttpClient client;
+
+    private BenchmarkApplication(final ConfigurableApplicationContext context) {
+        this.context = context;
+        this.baseUrl = "http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Starts the application on a database, with more properties as
+     * command line arguments.
+     */
+    static BenchmarkApplication start(final CatalogDatabase database,
+                                      final String... properties) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--spring.datasource.url=" + database.url(),
+                "--logging.level.root=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new BenchmarkApplication(
+                new SpringApplicationBuilder(Application.class)
+                        .run(args.toArray(String[]::new)));
+    }
+
+    <T> T getBean(final Class<T> type) {
+        return context.getBean(type);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    HttpClient client() {
+        return client;
+    }
+
+    /**
+     * Logs in as a new user and registers, returning the auth token.
+     */
+    String signUp(final String email) throws IOException,
+            InterruptedException {
+        JsonNode login = post("/api/auth/login", null,
+                "{\"userName\":\"" + email + "\",\"password\":\"bench\"}");
+        JsonNode register = post("/api/auth/register",
+                login.get("registrationToken").asText(),
+                "{\"firstName\":\"Bench\",\"lastName\":\"Mark\",\"dob\":\""
+                        + LocalDate.now().minusYears(20) + "\"}");
+        return register.get("authToken").asText();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        context.close();
+    }
+
+    private JsonNode post(final String path, final String token,
+                          final String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(path + " "
+                    + response.statusCode() + " " + response.body());
+        }
+        return MAPPER.readTree(response.body());
+    }
+}
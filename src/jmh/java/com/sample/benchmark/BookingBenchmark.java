@@ -0,0 +1,210 @@
+package com.sample.benchmark;
+
+import com.sample.model.Hold;
+import com.sample.model.Screen;
+import com.sample.model.Show;
+import com.sample.service.BookingService;
+import com.sample.service.ShowService;
+import com.sample.starter.security.config.AppProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Books every seat of one show with concurrent hold and confirm requests,
+ * served by a pool of request threads: with a lock on the show held across
+ * each step and its write, with compare and set on the seat map and a
+ * transaction a booking, and with the show owned by one sequencer that
+ * writes a transaction a batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class BookingBenchmark {
+
+    private static final int SEATS_PER_ROW = 100;
+
+    @Param({"LOCKED", "CAS", "SEQUENCED"})
+    private String mode;
+
+    @Param({"10000"})
+    private int requests;
+
+    @Param({"200"})
+    private int threads;
+
+    private CatalogDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ShowService showService;
+
+    private BookingService bookingService;
+
+    private ExecutorService executor;
+
+    private UUID theatreId;
+
+    private Screen screen;
+
+    private Show show;
+
+    private LockedBookings lockedBookings;
+
+    @Setup
+    public void setup() {
+        database = CatalogDatabase.seed("bookings", 1, 0);
+        final JdbcClient jdbcClient = database.jdbcClient();
+        jdbcTemplate = new JdbcTemplate(database.dataSource());
+        transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(database.dataSource()));
+        theatreId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO theatres(id, title, created_by)
+                VALUES (?, ?, ?)
+                """, theatreId, "Theatre", "bench");
+
+        final AppProperties appProperties = new AppProperties();
+        if (!"LOCKED".equals(mode)) {
+            appProperties.getBooking().setMode(
+                    AppProperties.Booking.Mode.valueOf(mode));
+        }
+        showService = new ShowService(jdbcClient, appProperties,
+                event -> { });
+        bookingService = new BookingService(jdbcClient, jdbcTemplate,
+                transactionTemplate, showService, appProperties,
+                event -> { });
+        screen = showService.createScreen("bench", theatreId,
+                new Screen(null, null, "Screen", requests / SEATS_PER_ROW,
+                        SEATS_PER_ROW, null, null));
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void newShow() {
+        show = showService.createShow("bench", theatreId,
+                new Show(null, database.movieIds().get(0), screen.id(),
+                        LocalDateTime.now().plusHours(2L), null, null));
+        lockedBookings = new LockedBookings(show.id(),
+                screen.rows() * screen.seatsPerRow());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        bookingService.close();
+        showService.shutdown();
+        database.drop();
+    }
+
+    @Benchmark
+    public int book() throws Exception {
+        final List<Future<Boolean>> booked = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            final int seat = i;
+            booked.add(executor.submit(() -> "LOCKED".equals(mode)
+                    ? lockedBookings.book("user" + seat, seat)
+                    : book("user" + seat, seat)));
+        }
+        int bookings = 0;
+        for (Future<Boolean> booking : booked) {
+            bookings += booking.get() ? 1 : 0;
+        }
+        return bookings;
+    }
+
+    private boolean book(final String userName, final int seat) {
+        final Optional<Hold> hold = bookingService.hold(userName,
+                new Hold(null, show.id(), List.of(seat), null, null));
+        return hold.isPresent() && bookingService.confirm(userName,
+                hold.get().id()).isPresent();
+    }
+
+    /**
+     * Seats of a show behind one lock, held while a hold is checked and
+     * while a confirmation is written, as a row lock would be.
+     */
+    private final class LockedBookings {
+
+        private static final byte AVAILABLE = 0;
+
+        private static final byte HELD = 1;
+
+        private static final byte SOLD = 2;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final UUID showId;
+
+        private final byte[] seats;
+
+        LockedBookings(final UUID showId, final int capacity) {
+            this.showId = showId;
+            this.seats = new byte[capacity];
+        }
+
+        boolean book(final String userName, final int seat) {
+            lock.lock();
+            try {
+                if (seats[seat] != AVAILABLE) {
+                    return false;
+                }
+                seats[seat] = HELD;
+            } finally {
+                lock.unlock();
+            }
+            lock.lock();
+            try {
+                final UUID bookingId = UUID.randomUUID();
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("""
+                            INSERT INTO bookings(id, show_id, created_at,
+                            created_by)
+                            VALUES (?, ?, ?, ?)
+                            """, bookingId, showId,
+                            Timestamp.valueOf(LocalDateTime.now()),
+                            userName);
+                    jdbcTemplate.update("""
+                            INSERT INTO show_seats(show_id, seat, booking_id)
+                            VALUES (?, ?, ?)
+                            """, showId, seat, bookingId);
+                });
+                seats[seat] = SOLD;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
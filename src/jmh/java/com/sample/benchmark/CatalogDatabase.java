@@ -0,0 +1,106 @@
+package com.sample.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In memory H2 database migrated with the application migrations and seeded
+ * with movies and their localizations, for benchmarks.
+ */
+final class CatalogDatabase {
+
+    static final String[] LOCALES = {
+            "en", "fr", "de", "es", "it", "ta", "hi", "ja", "zh", "pt"
+    };
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final String url;
+
+    private final DataSource dataSource;
+
+    private final List<UUID> movieIds;
+
+    private CatalogDatabase(final String url, final DataSource dataSource,
+                            final List<UUID> movieIds) {
+        this.url = url;
+        this.dataSource = dataSource;
+        this.movieIds = movieIds;
+    }
+
+    /**
+     * Creates a database with movies, each localized in the given number of
+     * locales.
+     */
+    static CatalogDatabase seed(final String name, final int movies,
+                                final int locales) {
+        String url = "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        // the user the application connects as, for its own benchmarks
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<UUID> movieIds = new ArrayList<>(movies);
+        List<Object[]> movieRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> localizedRows = new ArrayList<>(BATCH_SIZE * locales);
+        Date releaseDate = Date.valueOf(LocalDate.now());
+        for (int i = 0; i < movies; i++) {
+            UUID id = UUID.randomUUID();
+            movieIds.add(id);
+            movieRows.add(new Object[]{id, "Movie " + i,
+                    "Description of movie " + i, releaseDate, "bench"});
+            for (int l = 0; l < locales; l++) {
+                localizedRows.add(new Object[]{id, LOCALES[l],
+                        LOCALES[l] + " Movie " + i,
+                        LOCALES[l] + " Description of movie " + i});
+            }
+            if (movieRows.size() == BATCH_SIZE || i == movies - 1) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO movies(id, title, description,
+                        release_date, created_by)
+                        VALUES (?, ?, ?, ?, ?)
+                        """, movieRows);
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO movies_localized(movie_id, locale,
+                        title, description)
+                        VALUES (?, ?, ?, ?)
+                        """, localizedRows);
+                movieRows.clear();
+                localizedRows.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+        return new CatalogDatabase(url, dataSource, movieIds);
+    }
+
+    String url() {
+        return url;
+    }
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    JdbcClient jdbcClient() {
+        return JdbcClient.create(dataSource);
+    }
+
+    List<UUID> movieIds() {
+        return movieIds;
+    }
+
+    void drop() {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+    }
+}
@@ -0,0 +1,119 @@
+package com.sample.benchmark;
+
+import com.sample.model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lists movies of a locale with the former DISTINCT / NOT IN query and with
+ * the single locale COALESCE join used by MovieService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class LocalizedListBenchmark {
+
+    private static final String DISTINCT_NOT_IN = """
+            SELECT DISTINCT e.id,
+                CASE WHEN el.locale = ? THEN el.title
+                ELSE e.title END AS title,
+                CASE WHEN el.locale = ? THEN el.description
+                ELSE e.description END AS description,
+                e.release_date, e.created_at, e.created_by,
+                e.modified_at, e.modified_by
+            FROM movies e
+            LEFT JOIN movies_localized el ON e.id = el.movie_id
+            WHERE el.locale IS NULL OR el.locale = ? OR e.id NOT IN (
+                SELECT movie_id
+                FROM movies_localized
+                WHERE movie_id = e.id AND locale = ?
+            )
+            """;
+
+    private static final String COALESCE_JOIN = """
+            SELECT e.id,
+                COALESCE(el.title, e.title) AS title,
+                COALESCE(el.description, e.description) AS description,
+                e.release_date, e.created_at, e.created_by,
+                e.modified_at, e.modified_by
+            FROM movies e
+            LEFT JOIN movies_localized el
+                ON el.movie_id = e.id AND el.locale = ?
+            """;
+
+    @Param({"100000"})
+    private int movies;
+
+    @Param({"10"})
+    private int locales;
+
+    @Param({"ta"})
+    private String locale;
+
+    private CatalogDatabase database;
+
+    private JdbcClient jdbcClient;
+
+    @Setup
+    public void setup() {
+        database = CatalogDatabase.seed("localized", movies, locales);
+        jdbcClient = database.jdbcClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.drop();
+    }
+
+    @Benchmark
+    public List<Movie> distinctNotIn() {
+        return jdbcClient.sql(DISTINCT_NOT_IN)
+                .param(1, locale)
+                .param(2, locale)
+                .param(3, locale)
+                .param(4, locale)
+                .query(LocalizedListBenchmark::movie).list();
+    }
+
+    @Benchmark
+    public List<Movie> coalesceJoin() {
+        return jdbcClient.sql(COALESCE_JOIN)
+                .param(1, locale)
+                .query(LocalizedListBenchmark::movie).list();
+    }
+
+    private static Movie movie(final ResultSet rs, final int rowNum)
+            throws SQLException {
+        return new Movie(
+                (UUID) rs.getObject(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getObject(4, LocalDate.class),
+                rs.getObject(5, LocalDateTime.class),
+                rs.getString(6),
+                rs.getObject(7, LocalDateTime.class),
+                rs.getString(8));
+    }
+}
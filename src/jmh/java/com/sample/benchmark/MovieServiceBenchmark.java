@@ -0,0 +1,102 @@
+package com.sample.benchmark;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sample.model.Movie;
+import com.sample.service.MovieService;
+import com.sample.starter.security.cache.CacheConfig;
+import com.sample.starter.security.config.AppProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a movie and lists the movies, with and without a locale, through
+ * the movie cache and with a cache that keeps nothing, so that every call
+ * queries the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class MovieServiceBenchmark {
+
+    @Param({"1000"})
+    private int movies;
+
+    @Param({"10"})
+    private int locales;
+
+    @Param({"", "ta"})
+    private String locale;
+
+    @Param({"caffeine", "none"})
+    private String cache;
+
+    private CatalogDatabase database;
+
+    private MovieService movieService;
+
+    private Locale requestLocale;
+
+    private List<UUID> ids;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        database = CatalogDatabase.seed("movie_service", movies, locales);
+        AppProperties appProperties = new AppProperties();
+        // the movie cache keeps the default language and those of warmup
+        AppProperties.CacheSpec movieCache = new AppProperties.CacheSpec();
+        movieCache.setWarmupLanguages(
+                locale.isEmpty() ? List.of() : List.of(locale));
+        appProperties.getCache().put(CacheConfig.MOVIES, movieCache);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.MOVIES,
+                "caffeine".equals(cache)
+                        ? Caffeine.newBuilder().build()
+                        // evicted as soon as loaded
+                        : Caffeine.newBuilder().maximumSize(0)
+                        .executor(Runnable::run).build());
+        movieService = new MovieService(database.jdbcClient(),
+                new JdbcTemplate(database.dataSource()), cacheManager,
+                appProperties);
+        requestLocale = locale.isEmpty() ? null : Locale.forLanguageTag(locale);
+        ids = database.movieIds();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.drop();
+    }
+
+    @Benchmark
+    public Optional<Movie> read() {
+        next = (next + 1) % ids.size();
+        return movieService.read("bench", requestLocale, ids.get(next));
+    }
+
+    @Benchmark
+    public List<Movie> list() {
+        return movieService.list("bench", requestLocale);
+    }
+}
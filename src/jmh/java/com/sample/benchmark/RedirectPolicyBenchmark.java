@@ -0,0 +1,76 @@
+package com.sample.benchmark;
+
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.oauth2.RedirectPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares authorizing a redirect URI by parsing every authorized one per
+ * call, as the success handler did, against {@link RedirectPolicy}, for
+ * the last of a number of authorized URIs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedirectPolicyBenchmark {
+
+    @Param({"3", "30"})
+    private int authorized;
+
+    private AppProperties appProperties;
+
+    private RedirectPolicy redirectPolicy;
+
+    private String redirectUri;
+
+    @Setup
+    public void setup() {
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < authorized; i++) {
+            uris.add("https://app" + i + ".example.com/welcome");
+        }
+        appProperties = new AppProperties();
+        appProperties.getOauth2().authorizedRedirectUris(uris);
+        redirectPolicy = new RedirectPolicy(appProperties);
+        redirectUri = "https://app" + (authorized - 1)
+                + ".example.com/welcome?from=login";
+    }
+
+    @Benchmark
+    public boolean parsePerCall() {
+        final URI clientRedirectUri = URI.create(redirectUri);
+        return appProperties.getOauth2().getAuthorizedRedirectUris()
+                .stream()
+                .anyMatch(authorizedRedirectUri -> {
+                    final URI authorizedURI =
+                            URI.create(authorizedRedirectUri);
+                    return authorizedURI.getHost()
+                            .equalsIgnoreCase(clientRedirectUri.getHost())
+                            && authorizedURI.getPort()
+                            == clientRedirectUri.getPort();
+                });
+    }
+
+    @Benchmark
+    public boolean redirectPolicy() {
+        return redirectPolicy.isAuthorized(redirectUri);
+    }
+}
@@ -0,0 +1,83 @@
+package com.sample.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the running application: more concurrent clients than the
+ * server has platform request threads, each exporting the movies, a
+ * blocking JDBC query streamed off the request thread a request. Compares
+ * throughput and, in sample time mode, the p99 latency of requests and
+ * exports run on platform threads with those run on virtual threads
+ * behind the guarded connection pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class RequestThreadsBenchmark {
+
+    private static final int MOVIES = 100;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private CatalogDatabase database;
+
+    private BenchmarkApplication application;
+
+    private HttpRequest export;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        database = CatalogDatabase.seed("requests_" + threads, MOVIES, 1);
+        application = BenchmarkApplication.start(database,
+                "spring.threads.virtual.enabled="
+                        + "virtual".equals(threads));
+        export = HttpRequest.newBuilder(
+                        URI.create(application.baseUrl() + "/api/movies"))
+                .header("Accept", "application/x-ndjson")
+                .header("Authorization",
+                        "Bearer " + application.signUp("bench@email.com"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+        database.drop();
+    }
+
+    @Benchmark
+    public int exportMovies() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = application.client().send(export,
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
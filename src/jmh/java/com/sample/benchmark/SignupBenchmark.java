@@ -0,0 +1,76 @@
+package com.sample.benchmark;
+
+import com.sample.model.UserProfile;
+import com.sample.service.UserService;
+import com.sample.starter.security.payload.SignupRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Signups a second in the running application: the handle, user and
+ * profile of a new user written in one transaction. Passwords are not
+ * hashed, so that the persistence of a signup is measured and not BCrypt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class SignupBenchmark {
+
+    private final AtomicLong users = new AtomicLong();
+
+    private CatalogDatabase database;
+
+    private BenchmarkApplication application;
+
+    private UserService userService;
+
+    @Setup
+    public void setup() {
+        database = CatalogDatabase.seed("signup", 0, 0);
+        application = BenchmarkApplication.start(database);
+        userService = application.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteUsers() {
+        userService.delete();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+        database.drop();
+    }
+
+    @Benchmark
+    public String signUp() {
+        String handle = "signup" + users.incrementAndGet();
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setEmail(handle + "@email.com");
+        signupRequest.setPassword("bench");
+        signupRequest.setImageUrl("/images/" + handle + ".png");
+        userService.signUp(signupRequest, password -> password,
+                new UserProfile(handle, "Bench", "Mark",
+                        LocalDate.now().minusYears(20)));
+        return handle;
+    }
+}
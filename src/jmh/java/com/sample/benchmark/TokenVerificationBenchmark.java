@@ -0,0 +1,76 @@
+package com.sample.benchmark;
+
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.service.SigningKeys;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares verifying a token with a key and parser built per call
+ * against the ones held by {@link SigningKeys}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    private AppProperties appProperties;
+
+    private SigningKeys signingKeys;
+
+    private String jwt;
+
+    @Setup
+    public void setup() {
+        appProperties = new AppProperties();
+        appProperties.getAuth().setTokenSecret(Encoders.BASE64
+                .encode(Keys.secretKeyFor(SignatureAlgorithm.HS256)
+                        .getEncoded()));
+        signingKeys = new SigningKeys(appProperties);
+        jwt = Jwts.builder()
+                .setSubject("tom@email.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis()
+                        + TimeUnit.HOURS.toMillis(1)))
+                .signWith(signingKeys.getSigningKey(),
+                        SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String keyPerCall() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64
+                .decode(appProperties.getAuth().getTokenSecret()));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        return signingKeys.parse(jwt).getSubject();
+    }
+}
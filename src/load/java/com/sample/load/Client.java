@@ -0,0 +1,267 @@
+package com.sample.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A user of the API, one request at a time with no think time. A session
+ * logs in as a random seeded user, runs a mix of catalog reads and writes
+ * with the token, refreshing it whenever it has expired, then logs out.
+ * A share of the sessions are instead the first login of a new user, which
+ * signs the user up and ends with the registration token it is given.
+ */
+final class Client implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int MAX_BACKOFF_MSEC = 1000;
+
+    /**
+     * Requests of a session, by weight out of 100.
+     */
+    private enum Operation {
+        LIST_MOVIES(35), READ_MOVIE(30), LIST_THEATRES(10),
+        READ_THEATRE(10), ME(5), CREATE_MOVIE(5), UPDATE_MOVIE(5);
+
+        private final int weight;
+
+        Operation(final int aWeight) {
+            this.weight = aWeight;
+        }
+
+        static Operation pick(final int roll) {
+            int sum = 0;
+            for (Operation operation : values()) {
+                sum += operation.weight;
+                if (roll < sum) {
+                    return operation;
+                }
+            }
+            return LIST_MOVIES;
+        }
+    }
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final Dataset dataset;
+
+    private final LatencyReport report;
+
+    private final int sessionRequests;
+
+    /**
+     * Percent of sessions by new users.
+     */
+    private final int newUsers;
+
+    private final long deadline;
+
+    private String authToken;
+
+    private String refreshToken;
+
+    /**
+     * When the token has expired for sure, as it was issued before the
+     * response.
+     */
+    private long expiresAt;
+
+    /**
+     * When the token may have expired, as it was issued after the request.
+     */
+    private long mayExpireAt;
+
+    Client(final HttpClient aClient, final String aBaseUrl,
+           final Dataset aDataset, final LatencyReport aReport,
+           final int aSessionRequests, final int aNewUsers,
+           final long aDeadline) {
+        this.client = aClient;
+        this.baseUrl = aBaseUrl;
+        this.dataset = aDataset;
+        this.report = aReport;
+        this.sessionRequests = aSessionRequests;
+        this.newUsers = aNewUsers;
+        this.deadline = aDeadline;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadline
+                && !Thread.currentThread().isInterrupted()) {
+            try {
+                session();
+            } catch (IOException ex) {
+                report.record("transport", 0, false);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void session() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        authToken = null;
+        if (random.nextInt(100) < newUsers) {
+            firstLogin();
+            return;
+        }
+        ObjectNode credentials = MAPPER.createObjectNode()
+                .put("userName", pick(dataset.users()))
+                .put("password", Dataset.PASSWORD);
+        if (!signIn("POST /api/auth/login", post("/api/auth/login",
+                credentials))) {
+            // logins shed under load are retried after a random backoff
+            Thread.sleep(random.nextInt(MAX_BACKOFF_MSEC));
+            return;
+        }
+        for (int i = 0; i < sessionRequests
+                && System.nanoTime() < deadline; i++) {
+            if (System.currentTimeMillis() >= expiresAt
+                    && !signIn("POST /api/auth/refresh",
+                    post("/api/auth/refresh", MAPPER.createObjectNode()
+                            .put("token", refreshToken)))) {
+                return;
+            }
+            Locale locale = random.nextInt(dataset.locales().size() + 1)
+                    == 0 ? null : pick(dataset.locales());
+            switch (Operation.pick(random.nextInt(100))) {
+                case LIST_MOVIES -> send("GET /api/movies",
+                        get("/api/movies?size=" + PAGE_SIZE, locale));
+                case READ_MOVIE -> send("GET /api/movies/{id}",
+                        get("/api/movies/" + pick(dataset.movieIds()),
+                                locale));
+                case LIST_THEATRES -> send("GET /api/theatres",
+                        get("/api/theatres?size=" + PAGE_SIZE, locale));
+                case READ_THEATRE -> send("GET /api/theatres/{id}",
+                        get("/api/theatres/" + pick(dataset.theatreIds()),
+                                locale));
+                case ME -> send("GET /api/auth/me", get("/api/auth/me",
+                        null));
+                case CREATE_MOVIE -> send("POST /api/movies",
+                        post("/api/movies", movie("Created")));
+                case UPDATE_MOVIE -> send("PUT /api/movies/{id}",
+                        request("/api/movies/" + pick(dataset.movieIds()),
+                                null).PUT(body(movie("Updated"))));
+                default -> throw new IllegalStateException();
+            }
+        }
+        send("POST /api/auth/logout", request("/api/auth/logout", null)
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    /**
+     * Logs in as a new user, who is signed up and given a registration
+     * token, shed logins backing off as others do.
+     */
+    private void firstLogin() throws IOException, InterruptedException {
+        ObjectNode credentials = MAPPER.createObjectNode()
+                .put("userName", "new-" + UUID.randomUUID() + "@load.test")
+                .put("password", Dataset.PASSWORD);
+        HttpResponse<String> response = send("POST /api/auth/login (new)",
+                post("/api/auth/login", credentials));
+        if (response.statusCode() != 200) {
+            Thread.sleep(ThreadLocalRandom.current()
+                    .nextInt(MAX_BACKOFF_MSEC));
+        }
+    }
+
+    /**
+     * Takes the tokens of a login or refresh.
+     */
+    private boolean signIn(final String endpoint,
+                           final HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        long requestedAt = System.currentTimeMillis();
+        HttpResponse<String> response = send(endpoint, request);
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        JsonNode tokens = MAPPER.readTree(response.body());
+        long expiresIn = tokens.get("expiresIn").asLong();
+        authToken = tokens.get("authToken").asText();
+        refreshToken = tokens.get("refreshToken").asText();
+        mayExpireAt = requestedAt + expiresIn;
+        expiresAt = System.currentTimeMillis() + expiresIn;
+        return true;
+    }
+
+    /**
+     * Sends a request, recording it. A request turned away as its token
+     * may have expired is no error; the token is refreshed once it has.
+     */
+    private HttpResponse<String> send(final String endpoint,
+                                      final HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request.build(),
+                HttpResponse.BodyHandlers.ofString());
+        long nanos = System.nanoTime() - start;
+        int status = response.statusCode();
+        long now = System.currentTimeMillis();
+        boolean expired = status == 401 && now >= mayExpireAt
+                && now < expiresAt;
+        report.record(endpoint, nanos, status / 100 == 2 || expired);
+        return response;
+    }
+
+    private HttpRequest.Builder get(final String path, final Locale locale) {
+        return request(path, locale).GET();
+    }
+
+    private HttpRequest.Builder post(final String path, final JsonNode body)
+            throws IOException {
+        return request(path, null).POST(body(body));
+    }
+
+    private HttpRequest.Builder request(final String path,
+                                        final Locale locale) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + path))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .timeout(TIMEOUT);
+        if (authToken != null) {
+            request.header("Authorization", "Bearer " + authToken);
+        }
+        if (locale != null) {
+            request.header("Accept-Language", locale.toLanguageTag());
+        }
+        return request;
+    }
+
+    private static HttpRequest.BodyPublisher body(final JsonNode body)
+            throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(
+                MAPPER.writeValueAsBytes(body));
+    }
+
+    private static JsonNode movie(final String title) {
+        return MAPPER.createObjectNode()
+                .put("title", title + " " + UUID.randomUUID())
+                .put("description", "Written under load")
+                .put("releaseDate", LocalDate.now().toString());
+    }
+
+    private static <T> T pick(final List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
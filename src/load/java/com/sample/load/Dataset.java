@@ -0,0 +1,134 @@
+package com.sample.load;
+
+import com.sample.model.AuthProvider;
+import com.sample.model.Movie;
+import com.sample.model.Theatre;
+import com.sample.model.UserProfile;
+import com.sample.service.MovieService;
+import com.sample.service.TheatreService;
+import com.sample.service.UserService;
+import com.sample.starter.security.payload.SignupRequest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Registered users, movies and theatres, each localized in a number of
+ * locales, created through the services of the running application.
+ */
+final class Dataset {
+
+    static final String PASSWORD = "load-test";
+
+    static final String[] LOCALES = {
+            "en", "fr", "de", "es", "it", "ta", "hi", "ja", "zh", "pt"
+    };
+
+    private static final String SEEDER = "seeder";
+
+    private final List<String> users;
+
+    private final List<UUID> movieIds;
+
+    private final List<UUID> theatreIds;
+
+    private final List<Locale> locales;
+
+    private Dataset(final List<String> users, final List<UUID> movieIds,
+                    final List<UUID> theatreIds, final List<Locale> locales) {
+        this.users = users;
+        this.movieIds = movieIds;
+        this.theatreIds = theatreIds;
+        this.locales = locales;
+    }
+
+    /**
+     * Signs up and registers the users, then creates the movies and
+     * theatres with a localization a locale. The password is hashed once,
+     * as every user shares it.
+     */
+    static Dataset seed(final ApplicationContext context, final int users,
+                        final int movies, final int theatres,
+                        final int locales) {
+        UserService userService = context.getBean(UserService.class);
+        String hash = context.getBean(PasswordEncoder.class)
+                .encode(PASSWORD);
+        List<String> emails = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String handle = "load" + i;
+            SignupRequest signupRequest = new SignupRequest();
+            signupRequest.setEmail(handle + "@email.com");
+            signupRequest.setPassword(PASSWORD);
+            signupRequest.setAuthProvider(AuthProvider.local);
+            signupRequest.setImageUrl("/images/" + handle + ".png");
+            userService.signUp(signupRequest, password -> hash,
+                    new UserProfile(handle, "Load", "Test " + i,
+                            LocalDate.now().minusYears(20)));
+            emails.add(signupRequest.getEmail());
+        }
+
+        List<Locale> localeList = new ArrayList<>(locales);
+        for (int l = 0; l < locales; l++) {
+            localeList.add(Locale.forLanguageTag(LOCALES[l]));
+        }
+
+        MovieService movieService = context.getBean(MovieService.class);
+        List<UUID> movieIds = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            UUID id = movieService.create(SEEDER, null, movie(null, i))
+                    .id();
+            for (Locale locale : localeList) {
+                movieService.update(id, SEEDER, locale, movie(locale, i));
+            }
+            movieIds.add(id);
+        }
+
+        TheatreService theatreService = context.getBean(TheatreService.class);
+        List<UUID> theatreIds = new ArrayList<>(theatres);
+        for (int i = 0; i < theatres; i++) {
+            UUID id = theatreService.create(SEEDER, null, theatre(null, i))
+                    .id();
+            for (Locale locale : localeList) {
+                theatreService.update(id, SEEDER, locale,
+                        theatre(locale, i));
+            }
+            theatreIds.add(id);
+        }
+        return new Dataset(emails, movieIds, theatreIds, localeList);
+    }
+
+    List<String> users() {
+        return users;
+    }
+
+    List<UUID> movieIds() {
+        return movieIds;
+    }
+
+    List<UUID> theatreIds() {
+        return theatreIds;
+    }
+
+    List<Locale> locales() {
+        return locales;
+    }
+
+    private static Movie movie(final Locale locale, final int i) {
+        String prefix = locale == null ? "" : locale.getLanguage() + " ";
+        return new Movie(null, prefix + "Movie " + i,
+                prefix + "Description of movie " + i,
+                LocalDate.now().minusDays(i), null, null, null, null);
+    }
+
+    private static Theatre theatre(final Locale locale, final int i) {
+        String prefix = locale == null ? "" : locale.getLanguage() + " ";
+        return new Theatre(null, prefix + "Theatre " + i,
+                prefix + "Description of theatre " + i, null, null, null,
+                null);
+    }
+}
@@ -0,0 +1,125 @@
+package com.sample.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and errors of the requests, by endpoint. Requests are recorded
+ * from any thread into an HdrHistogram recorder an endpoint; the interval
+ * since the last reset is reported as percentiles, and logged with the
+ * endpoint as its tag for HistogramLogAnalyzer and diffs between runs.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private long startedAt = System.currentTimeMillis();
+
+    /**
+     * Records a request.
+     *
+     * @param endpoint the method and path template
+     * @param nanos    the latency
+     * @param ok       false when the request failed
+     */
+    void record(final String endpoint, final long nanos, final boolean ok) {
+        Endpoint recorded = endpoints.computeIfAbsent(endpoint,
+                name -> new Endpoint());
+        recorded.latencies.recordValue(Math.min(HIGHEST_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (!ok) {
+            recorded.errors.increment();
+        }
+    }
+
+    /**
+     * Drops what was recorded, at the end of the warm up.
+     */
+    void reset() {
+        endpoints.values().forEach(endpoint -> {
+            endpoint.latencies.getIntervalHistogram();
+            endpoint.errors.reset();
+        });
+        startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Prints the percentiles of each endpoint, in microseconds, and logs
+     * their histograms.
+     *
+     * @param out        the report
+     * @param histograms the histogram log, null for none
+     * @return the highest p99 of the endpoints, in milliseconds
+     */
+    double write(final PrintStream out, final Path histograms)
+            throws IOException {
+        long endedAt = System.currentTimeMillis();
+        double seconds = (endedAt - startedAt) / 1000.0;
+        Map<String, Histogram> intervals = new TreeMap<>();
+        Map<String, Long> errors = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> {
+            Histogram interval = endpoint.latencies.getIntervalHistogram();
+            interval.setStartTimeStamp(startedAt);
+            interval.setEndTimeStamp(endedAt);
+            interval.setTag(name.replace(' ', '_'));
+            intervals.put(name, interval);
+            errors.put(name, endpoint.errors.sum());
+        });
+
+        out.printf("%-32s %9s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint",
+                "requests", "errors", "req/s", "p50 us", "p90 us", "p99 us",
+                "p99.9 us", "max us");
+        double worstP99 = 0;
+        for (Map.Entry<String, Histogram> entry : intervals.entrySet()) {
+            Histogram histogram = entry.getValue();
+            out.printf("%-32s %9d %7d %9.1f", entry.getKey(),
+                    histogram.getTotalCount(), errors.get(entry.getKey()),
+                    histogram.getTotalCount() / seconds);
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9d",
+                        histogram.getValueAtPercentile(percentile));
+            }
+            out.printf(" %9d%n", histogram.getMaxValue());
+            worstP99 = Math.max(worstP99,
+                    histogram.getValueAtPercentile(99) / 1000.0);
+        }
+
+        if (histograms != null) {
+            Files.createDirectories(histograms.toAbsolutePath().getParent());
+            try (PrintStream log = new PrintStream(
+                    Files.newOutputStream(histograms))) {
+                HistogramLogWriter writer = new HistogramLogWriter(log);
+                writer.outputLogFormatVersion();
+                writer.outputStartTime(startedAt);
+                writer.outputLegend();
+                intervals.values().forEach(writer::outputIntervalHistogram);
+            }
+        }
+        return worstP99;
+    }
+
+    private static final class Endpoint {
+
+        private final Recorder latencies =
+                new Recorder(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,111 @@
+package com.sample.load;
+
+import com.sample.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end load test of the application, run locally with the
+ * {@code load} profile. Boots the application against in memory H2, seeds
+ * it through its services, then drives the REST API with closed loop
+ * clients, each running sessions of the real auth flow, and reports the
+ * latency percentiles of each endpoint. Settings are the {@code load.*}
+ * system properties of the profile.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        int users = Integer.getInteger("load.users", 100);
+        int movies = Integer.getInteger("load.movies", 1000);
+        int theatres = Integer.getInteger("load.theatres", 100);
+        int locales = Math.min(Dataset.LOCALES.length,
+                Integer.getInteger("load.locales", 3));
+        int clients = Integer.getInteger("load.clients", 50);
+        int sessionRequests = Integer.getInteger("load.sessionRequests", 50);
+        int newUsers = Integer.getInteger("load.newUsers", 0);
+        long warmupSec = Long.getLong("load.warmupSec", 10);
+        long durationSec = Long.getLong("load.durationSec", 60);
+        long tokenExpirationMsec = Long.getLong("load.tokenExpirationMsec",
+                15_000);
+        long maxP99Msec = Long.getLong("load.maxP99Msec", 0);
+        Path report = Path.of(System.getProperty("load.report",
+                "target/load-report.txt"));
+        String histograms = System.getProperty("load.histograms");
+
+        ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(Application.class).run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load",
+                        "--logging.level.root=WARN",
+                        "--app.auth.tokenExpirationMsec="
+                                + tokenExpirationMsec);
+        String baseUrl = "http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port");
+        double worstP99;
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            long seeding = System.nanoTime();
+            Dataset dataset = Dataset.seed(context, users, movies, theatres,
+                    locales);
+            System.out.printf("Seeded %d users, %d movies and %d theatres"
+                            + " in %d locales in %d ms%n", users, movies,
+                    theatres, locales, TimeUnit.NANOSECONDS.toMillis(
+                            System.nanoTime() - seeding));
+
+            LatencyReport latencies = new LatencyReport();
+            long deadline = System.nanoTime()
+                    + TimeUnit.SECONDS.toNanos(warmupSec + durationSec);
+            List<Thread> threads = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                Thread thread = new Thread(new Client(client, baseUrl,
+                        dataset, latencies, sessionRequests, newUsers,
+                        deadline),
+                        "load-client-" + i);
+                thread.start();
+                threads.add(thread);
+            }
+            Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSec));
+            latencies.reset();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            try (PrintStream out = new PrintStream(text, true,
+                    StandardCharsets.UTF_8)) {
+                out.printf("%d clients for %d s after %d s of warm up,"
+                                + " %d%% of sessions by new users%n",
+                        clients, durationSec, warmupSec, newUsers);
+                worstP99 = latencies.write(out,
+                        histograms == null ? null : Path.of(histograms));
+            }
+            String written = text.toString(StandardCharsets.UTF_8);
+            System.out.print(written);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, written);
+        } finally {
+            context.close();
+        }
+        if (maxP99Msec > 0 && worstP99 > maxP99Msec) {
+            System.err.printf("p99 of %.1f ms is over %d ms%n", worstP99,
+                    maxP99Msec);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.sample.controller;
+
+import com.sample.model.Booking;
+import com.sample.model.Hold;
+import com.sample.service.BookingService;
+import com.sample.service.WaitlistService;
+import com.sample.starter.security.config.AppProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The type Booking api controller.
+ */
+@RestController
+@RequestMapping("/api/bookings")
+@Tag(name = "Bookings", description = "Resource to book the seats of shows")
+class BookingAPIController {
+
+    /**
+     * declare a booking service.
+     */
+    private final BookingService bookingService;
+
+    /**
+     * declare a waitlist service.
+     */
+    private final WaitlistService waitlistService;
+
+    /**
+     * App properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Instantiates a new Booking api controller.
+     *
+     * @param aBookingService  the booking service
+     * @param aWaitlistService the waitlist service
+     * @param anAppProperties  the app properties
+     */
+    BookingAPIController(final BookingService aBookingService,
+                         final WaitlistService aWaitlistService,
+                         final AppProperties anAppProperties) {
+        this.bookingService = aBookingService;
+        this.waitlistService = aWaitlistService;
+        this.appProperties = anAppProperties;
+    }
+
+    /**
+     * Hold seats of a show.
+     *
+     * @param principal the principal
+     * @param hold      the show and the seats
+     * @return the hold
+     */
+    @Operation(summary = "Holds seats of a show",
+            description = "All of the seats or none. The seats are "
+                    + "released unless confirmed before the hold expires.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "201",
+            description = "seats held successfully"),
+            @ApiResponse(responseCode = "400",
+                    description = "seats are invalid or the show has started"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials"),
+            @ApiResponse(responseCode = "404",
+                    description = "show not found"),
+            @ApiResponse(responseCode = "409",
+                    description = "seats are taken")})
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(value = "/holds", produces = "application/json",
+            consumes = "application/json")
+    public final ResponseEntity<Hold> hold(final Principal principal,
+                                           @RequestBody final Hold hold) {
+        return bookingService.hold(principal.getName(), hold)
+                .map(created -> ResponseEntity.created(URI.create(
+                        "/api/bookings/holds/" + created.id()))
+                        .body(created))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .build());
+    }
+
+    /**
+     * Confirm a hold.
+     *
+     * @param id        the hold id
+     * @param principal the principal
+     * @return the booking
+     */
+    @Operation(summary = "Confirms a hold, booking its seats",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "seats booked successfully"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials"),
+            @ApiResponse(responseCode = "404",
+                    description = "hold not found or expired")})
+    @PostMapping(value = "/holds/{id}/confirm", produces = "application/json")
+    public final ResponseEntity<Booking> confirm(@PathVariable final UUID id,
+                                                 final Principal principal) {
+        return ResponseEntity.of(bookingService.confirm(principal.getName(),
+                id));
+    }
+
+    /**
+     * Release a hold.
+     *
+     * @param id        the hold id
+     * @param principal the principal
+     * @return the response entity
+     */
+    @Operation(summary = "Releases a hold, making its seats available",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "seats released successfully"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials"),
+            @ApiResponse(responseCode = "404",
+                    description = "hold not found or expired")})
+    @DeleteMapping("/holds/{id}")
+    public final ResponseEntity<Void> release(@PathVariable final UUID id,
+                                              final Principal principal) {
+        return bookingService.release(principal.getName(), id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Wait for seats of a sold out show.
+     *
+     * @param principal the principal
+     * @param show      the show id
+     * @param seats     the number of seats
+     * @return the stream of the offer
+     */
+    @Operation(summary = "Waits for seats of a sold out show",
+            description = "Streams a 'waiting' comment once queued, then "
+                    + "one 'offer' event, a hold of the seats, as soon as "
+                    + "seats are released to the user at the head of the "
+                    + "waitlist, or one 'closed' event when the show starts "
+                    + "or is cancelled first.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "waiting for seats"),
+            @ApiResponse(responseCode = "400",
+                    description = "seats are invalid or available"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials"),
+            @ApiResponse(responseCode = "404",
+                    description = "show not found"),
+            @ApiResponse(responseCode = "409",
+                    description = "waitlist is full")})
+    @GetMapping(value = "/waitlist",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public final ResponseEntity<SseEmitter> waitlist(
+            final Principal principal,
+            @RequestParam final UUID show,
+            @RequestParam final int seats) {
+        final SseEmitter emitter = new SseEmitter(
+                appProperties.getBooking().getWaitlistTimeoutMsec());
+        try {
+            // commits the stream as soon as the user is queued, rather than
+            // when the offer comes, if it does
+            emitter.send(SseEmitter.event().comment("waiting"));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        final Optional<WaitlistService.Waiter> waiter = waitlistService.join(
+                principal.getName(), show, seats, offer -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("offer")
+                                .data(offer, MediaType.APPLICATION_JSON));
+                        emitter.complete();
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }, () -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("closed")
+                                .data(show));
+                        emitter.complete();
+                    } catch (final IOException ex) {
+                        emitter.completeWithError(ex);
+                    }
+                });
+        if (waiter.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        final Runnable leave = () -> waitlistService.leave(waiter.get());
+        emitter.onCompletion(leave);
+        emitter.onTimeout(leave);
+        emitter.onError(ex -> leave.run());
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -1,12 +1,15 @@
 package com.sample.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sample.model.Genre;
+import com.sample.model.Page;
 import com.sample.service.GenreService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,8 +20,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.security.Principal;
@@ -36,8 +42,15 @@ class GenreAPIController {
      */
     private final GenreService genreService;
 
-    GenreAPIController(final GenreService aGenreService) {
+    /**
+     * Writes the rows of exports.
+     */
+    private final ObjectMapper objectMapper;
+
+    GenreAPIController(final GenreService aGenreService,
+                       final ObjectMapper anObjectMapper) {
         this.genreService = aGenreService;
+        this.objectMapper = anObjectMapper;
     }
 
     /**
@@ -160,10 +173,13 @@ class GenreAPIController {
     }
 
     /**
-     * List the Genre.
+     * List a page of the Genre.
      *
-     * @param principal
-     * @param locale
+     * @param principal the principal
+     * @param locale    the locale
+     * @param title     the title prefix
+     * @param cursor    the cursor of the page
+     * @param size      the page size
      * @return list of genre
      */
     @Operation(summary = "lists the genre",
@@ -173,17 +189,56 @@ class GenreAPIController {
             description = "Listing the genre"),
             @ApiResponse(responseCode = "204",
                     description = "genre are not available"),
+            @ApiResponse(responseCode = "400",
+                    description = "cursor is invalid"),
             @ApiResponse(responseCode = "401",
                     description = "invalid credentials")})
     @GetMapping(produces = "application/json")
     public final ResponseEntity<List<Genre>> list(final Principal
                                                     principal,
                                       @RequestHeader(name = "Accept-Language",
-                                    required = false) final Locale locale) {
-        final List<Genre> genreList = genreService.list(
-                principal.getName(), locale);
-        return genreList.isEmpty() ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(genreList);
+                                    required = false) final Locale locale,
+                    @RequestParam(required = false) final String title,
+                    @RequestParam(required = false) final String cursor,
+                    @RequestParam(required = false) final Integer size) {
+        final Page<Genre> page = genreService.page(principal.getName(),
+                locale, title, cursor, size);
+        if (page.content().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(HttpHeaders.LINK, "<"
+                    + ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.next())
+                    .toUriString() + ">; rel=\"next\"");
+        }
+        return response.body(page.content());
+    }
+
+    /**
+     * Export all the Genre as newline delimited JSON.
+     *
+     * @param principal the principal
+     * @param locale    the locale
+     * @return the stream of genre
+     */
+    @Operation(summary = "exports the genre",
+            description = "Streams one genre per line, "
+                    + "when requested with Accept: application/x-ndjson",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Exporting the genre"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public final ResponseEntity<StreamingResponseBody> export(
+            final Principal principal,
+            @RequestHeader(name = "Accept-Language",
+                    required = false) final Locale locale) {
+        final String userName = principal.getName();
+        return Ndjson.<Genre>stream(objectMapper, consumer ->
+                genreService.export(userName, locale, consumer));
     }
 
 }
@@ -1,12 +1,18 @@
 package com.sample.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.model.BulkResult;
+import com.sample.model.LocalizedMovie;
 import com.sample.model.Movie;
+import com.sample.model.Page;
 import com.sample.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,11 +23,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -36,8 +46,15 @@ class MovieAPIController {
      */
     private final MovieService movieService;
 
-    MovieAPIController(final MovieService aMovieService) {
+    /**
+     * Writes the rows of exports.
+     */
+    private final ObjectMapper objectMapper;
+
+    MovieAPIController(final MovieService aMovieService,
+                       final ObjectMapper anObjectMapper) {
         this.movieService = aMovieService;
+        this.objectMapper = anObjectMapper;
     }
 
     /**
@@ -72,6 +89,54 @@ class MovieAPIController {
     }
 
 
+    /**
+     * Create movies in bulk.
+     *
+     * @param principal the principal
+     * @param movies    the movies with their localizations
+     * @return the result of each movie
+     */
+    @Operation(summary = "Creates movies in bulk",
+            description = "Can be called only by users with 'auth "
+                    + "management' rights. Reports the result of each movie.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "movies processed"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @PostMapping(value = "/bulk", produces = "application/json",
+            consumes = "application/json")
+    public final ResponseEntity<List<BulkResult<Movie>>> createAll(
+            final Principal principal,
+            @RequestBody final List<LocalizedMovie> movies) {
+        return ResponseEntity.ok(movieService.create(principal.getName(),
+                movies));
+    }
+
+    /**
+     * Update movies in bulk.
+     *
+     * @param principal the principal
+     * @param movies    the movies with their localizations
+     * @return the result of each movie
+     */
+    @Operation(summary = "Updates movies in bulk",
+            description = "Can be called only by users with 'auth "
+                    + "management' rights. Reports the result of each movie.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "movies processed"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @PutMapping(value = "/bulk", produces = "application/json",
+            consumes = "application/json")
+    public final ResponseEntity<List<BulkResult<Movie>>> updateAll(
+            final Principal principal,
+            @RequestBody final List<LocalizedMovie> movies) {
+        return ResponseEntity.ok(movieService.update(principal.getName(),
+                movies));
+    }
+
     /**
      * Read a event.
      *
@@ -159,10 +224,15 @@ class MovieAPIController {
     }
 
     /**
-     * List the Movie.
+     * List a page of the Movie.
      *
-     * @param principal
-     * @param locale
+     * @param principal    the principal
+     * @param locale       the locale
+     * @param title        the title prefix
+     * @param releasedFrom the earliest release date
+     * @param releasedTo   the latest release date
+     * @param cursor       the cursor of the page
+     * @param size         the page size
      * @return list of event
      */
     @Operation(summary = "lists the event",
@@ -172,17 +242,62 @@ class MovieAPIController {
             description = "Listing the event"),
             @ApiResponse(responseCode = "204",
                     description = "event are not available"),
+            @ApiResponse(responseCode = "400",
+                    description = "cursor is invalid"),
             @ApiResponse(responseCode = "401",
                     description = "invalid credentials")})
     @GetMapping(produces = "application/json")
     public final ResponseEntity<List<Movie>> list(final Principal
                                                     principal,
                                       @RequestHeader(name = "Accept-Language",
-                                    required = false) final Locale locale) {
-        final List<Movie> eventList = movieService.list(
-                principal.getName(), locale);
-        return eventList.isEmpty() ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(eventList);
+                                    required = false) final Locale locale,
+                    @RequestParam(required = false) final String title,
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    final LocalDate releasedFrom,
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    final LocalDate releasedTo,
+                    @RequestParam(required = false) final String cursor,
+                    @RequestParam(required = false) final Integer size) {
+        final Page<Movie> page = movieService.page(principal.getName(),
+                locale, title, releasedFrom, releasedTo, cursor, size);
+        if (page.content().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(HttpHeaders.LINK, "<"
+                    + ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.next())
+                    .toUriString() + ">; rel=\"next\"");
+        }
+        return response.body(page.content());
+    }
+
+    /**
+     * Export all the Movie as newline delimited JSON.
+     *
+     * @param principal the principal
+     * @param locale    the locale
+     * @return the stream of event
+     */
+    @Operation(summary = "exports the event",
+            description = "Streams one event per line, "
+                    + "when requested with Accept: application/x-ndjson",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Exporting the event"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public final ResponseEntity<StreamingResponseBody> export(
+            final Principal principal,
+            @RequestHeader(name = "Accept-Language",
+                    required = false) final Locale locale) {
+        final String userName = principal.getName();
+        return Ndjson.<Movie>stream(objectMapper, consumer ->
+                movieService.export(userName, locale, consumer));
     }
 
 }
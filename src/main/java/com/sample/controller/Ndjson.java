@@ -0,0 +1,68 @@
+package com.sample.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline delimited JSON responses, written one row at a time as the rows
+ * are produced.
+ */
+final class Ndjson {
+
+    /**
+     * Media type of newline delimited JSON.
+     */
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * Terminates each row.
+     */
+    private static final char NEW_LINE = '\n';
+
+    private Ndjson() {
+    }
+
+    /**
+     * Streams the rows of an export as newline delimited JSON. Rows are
+     * buffered by the generator rather than flushed one by one.
+     *
+     * @param objectMapper the object mapper
+     * @param export       hands each row to a consumer
+     * @param <T>          the type of the rows
+     * @return the response entity
+     */
+    static <T> ResponseEntity<StreamingResponseBody> stream(
+            final ObjectMapper objectMapper,
+            final Consumer<Consumer<T>> export) {
+        final ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory()
+                    .createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                export.accept(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        generator.writeRaw(NEW_LINE);
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (final UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE))
+                .body(body);
+    }
+}
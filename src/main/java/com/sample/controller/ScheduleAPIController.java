@@ -0,0 +1,85 @@
+package com.sample.controller;
+
+import com.sample.model.ScheduledShow;
+import com.sample.service.ScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * The type Schedule api controller.
+ */
+@RestController
+@RequestMapping("/api/schedule")
+@Tag(name = "Schedule", description = "Resource to find the shows on")
+class ScheduleAPIController {
+
+    /**
+     * declare a schedule service.
+     */
+    private final ScheduleService scheduleService;
+
+    /**
+     * Instantiates a new Schedule api controller.
+     *
+     * @param aScheduleService the schedule service
+     */
+    ScheduleAPIController(final ScheduleService aScheduleService) {
+        this.scheduleService = aScheduleService;
+    }
+
+    /**
+     * Find the shows of a day.
+     *
+     * @param principal the principal
+     * @param locale    the locale
+     * @param movie     the movie id
+     * @param theatre   the theatre ids
+     * @param date      the date
+     * @return the shows
+     */
+    @Operation(summary = "Finds the shows of a movie, in theatres, on a day",
+            description = "Either the movie or a theatre is required. "
+                    + "Shows are in order of start time, with their "
+                    + "movie, theatre and available seats.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Listing the shows"),
+            @ApiResponse(responseCode = "204",
+                    description = "shows are not available"),
+            @ApiResponse(responseCode = "400",
+                    description = "query is invalid"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @GetMapping(produces = "application/json")
+    public final ResponseEntity<List<ScheduledShow>> find(
+            final Principal principal,
+            @RequestHeader(name = "Accept-Language",
+                    required = false) final Locale locale,
+            @RequestParam(required = false) final UUID movie,
+            @RequestParam(required = false) final List<UUID> theatre,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            final LocalDate date) {
+        final List<ScheduledShow> shows = scheduleService.find(
+                principal.getName(), locale, movie,
+                theatre == null ? List.of() : theatre, date);
+        return shows.isEmpty() ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(shows);
+    }
+}
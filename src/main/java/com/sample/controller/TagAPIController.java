@@ -1,11 +1,14 @@
 package com.sample.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.model.Page;
 import com.sample.model.Tag;
 import com.sample.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,8 +19,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.security.Principal;
@@ -36,8 +42,15 @@ class TagAPIController {
      */
     private final TagService tagService;
 
-    TagAPIController(final TagService aTagService) {
+    /**
+     * Writes the rows of exports.
+     */
+    private final ObjectMapper objectMapper;
+
+    TagAPIController(final TagService aTagService,
+                       final ObjectMapper anObjectMapper) {
         this.tagService = aTagService;
+        this.objectMapper = anObjectMapper;
     }
 
     /**
@@ -160,10 +173,13 @@ class TagAPIController {
     }
 
     /**
-     * List the Tag.
+     * List a page of the Tag.
      *
-     * @param principal
-     * @param locale
+     * @param principal the principal
+     * @param locale    the locale
+     * @param title     the title prefix
+     * @param cursor    the cursor of the page
+     * @param size      the page size
      * @return list of tag
      */
     @Operation(summary = "lists the tag",
@@ -173,17 +189,56 @@ class TagAPIController {
             description = "Listing the tag"),
             @ApiResponse(responseCode = "204",
                     description = "tag are not available"),
+            @ApiResponse(responseCode = "400",
+                    description = "cursor is invalid"),
             @ApiResponse(responseCode = "401",
                     description = "invalid credentials")})
     @GetMapping(produces = "application/json")
     public final ResponseEntity<List<Tag>> list(final Principal
                                                     principal,
                                       @RequestHeader(name = "Accept-Language",
-                                    required = false) final Locale locale) {
-        final List<Tag> tagList = tagService.list(
-                principal.getName(), locale);
-        return tagList.isEmpty() ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(tagList);
+                                    required = false) final Locale locale,
+                    @RequestParam(required = false) final String title,
+                    @RequestParam(required = false) final String cursor,
+                    @RequestParam(required = false) final Integer size) {
+        final Page<Tag> page = tagService.page(principal.getName(),
+                locale, title, cursor, size);
+        if (page.content().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(HttpHeaders.LINK, "<"
+                    + ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.next())
+                    .toUriString() + ">; rel=\"next\"");
+        }
+        return response.body(page.content());
+    }
+
+    /**
+     * Export all the Tag as newline delimited JSON.
+     *
+     * @param principal the principal
+     * @param locale    the locale
+     * @return the stream of tag
+     */
+    @Operation(summary = "exports the tag",
+            description = "Streams one tag per line, "
+                    + "when requested with Accept: application/x-ndjson",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Exporting the tag"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public final ResponseEntity<StreamingResponseBody> export(
+            final Principal principal,
+            @RequestHeader(name = "Accept-Language",
+                    required = false) final Locale locale) {
+        final String userName = principal.getName();
+        return Ndjson.<Tag>stream(objectMapper, consumer ->
+                tagService.export(userName, locale, consumer));
     }
 
 }
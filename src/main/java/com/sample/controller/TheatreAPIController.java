@@ -1,12 +1,19 @@
 package com.sample.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.model.Page;
+import com.sample.model.Screen;
+import com.sample.model.SeatAvailability;
+import com.sample.model.Show;
 import com.sample.model.Theatre;
+import com.sample.service.ShowService;
 import com.sample.service.TheatreService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,8 +24,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.security.Principal;
@@ -36,8 +46,22 @@ class TheatreAPIController {
      */
     private final TheatreService theatreService;
 
-    TheatreAPIController(final TheatreService aTheatreService) {
+    /**
+     * declare a show service.
+     */
+    private final ShowService showService;
+
+    /**
+     * Writes the rows of exports.
+     */
+    private final ObjectMapper objectMapper;
+
+    TheatreAPIController(final TheatreService aTheatreService,
+                         final ShowService aShowService,
+                         final ObjectMapper anObjectMapper) {
         this.theatreService = aTheatreService;
+        this.showService = aShowService;
+        this.objectMapper = anObjectMapper;
     }
 
     /**
@@ -160,10 +184,13 @@ class TheatreAPIController {
     }
 
     /**
-     * List the Theatre.
+     * List a page of the Theatre.
      *
-     * @param principal
-     * @param locale
+     * @param principal the principal
+     * @param locale    the locale
+     * @param title     the title prefix
+     * @param cursor    the cursor of the page
+     * @param size      the page size
      * @return list of theatre
      */
     @Operation(summary = "lists the theatre",
@@ -173,17 +200,169 @@ class TheatreAPIController {
             description = "Listing the theatre"),
             @ApiResponse(responseCode = "204",
                     description = "theatre are not available"),
+            @ApiResponse(responseCode = "400",
+                    description = "cursor is invalid"),
             @ApiResponse(responseCode = "401",
                     description = "invalid credentials")})
     @GetMapping(produces = "application/json")
     public final ResponseEntity<List<Theatre>> list(final Principal
                                                     principal,
                                       @RequestHeader(name = "Accept-Language",
-                                    required = false) final Locale locale) {
-        final List<Theatre> theatreList = theatreService.list(
-                principal.getName(), locale);
-        return theatreList.isEmpty() ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(theatreList);
+                                    required = false) final Locale locale,
+                    @RequestParam(required = false) final String title,
+                    @RequestParam(required = false) final String cursor,
+                    @RequestParam(required = false) final Integer size) {
+        final Page<Theatre> page = theatreService.page(principal.getName(),
+                locale, title, cursor, size);
+        if (page.content().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(HttpHeaders.LINK, "<"
+                    + ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.next())
+                    .toUriString() + ">; rel=\"next\"");
+        }
+        return response.body(page.content());
+    }
+
+    /**
+     * Export all the Theatre as newline delimited JSON.
+     *
+     * @param principal the principal
+     * @param locale    the locale
+     * @return the stream of theatre
+     */
+    @Operation(summary = "exports the theatre",
+            description = "Streams one theatre per line, "
+                    + "when requested with Accept: application/x-ndjson",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Exporting the theatre"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public final ResponseEntity<StreamingResponseBody> export(
+            final Principal principal,
+            @RequestHeader(name = "Accept-Language",
+                    required = false) final Locale locale) {
+        final String userName = principal.getName();
+        return Ndjson.<Theatre>stream(objectMapper, consumer ->
+                theatreService.export(userName, locale, consumer));
+    }
+
+    /**
+     * Create a screen of a theatre.
+     *
+     * @param id        the theatre id
+     * @param principal the principal
+     * @param screen    the screen
+     * @return the screen
+     */
+    @Operation(summary = "Creates a screen of the theatre",
+            description = "Lays out rows of seats of equal length.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "201",
+            description = "screen created successfully"),
+            @ApiResponse(responseCode = "400",
+                    description = "screen is invalid"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(value = "/{id}/screens", produces = "application/json",
+            consumes = "application/json")
+    public final ResponseEntity<Screen> createScreen(
+            @PathVariable final UUID id,
+            final Principal principal,
+            @RequestBody final Screen screen) {
+        final Screen created = showService.createScreen(principal.getName(),
+                id, screen);
+        return ResponseEntity.created(URI.create("/api/theatres/" + id
+                        + "/screens/" + created.id()))
+                .body(created);
+    }
+
+    /**
+     * Create a show of a movie on a screen of a theatre.
+     *
+     * @param id        the theatre id
+     * @param principal the principal
+     * @param show      the show
+     * @return the show
+     */
+    @Operation(summary = "Creates a show on a screen of the theatre",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "201",
+            description = "show created successfully"),
+            @ApiResponse(responseCode = "400",
+                    description = "show is invalid"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(value = "/{id}/shows", produces = "application/json",
+            consumes = "application/json")
+    public final ResponseEntity<Show> createShow(
+            @PathVariable final UUID id,
+            final Principal principal,
+            @RequestBody final Show show) {
+        final Show created = showService.createShow(principal.getName(),
+                id, show);
+        return ResponseEntity.created(URI.create("/api/theatres/" + id
+                        + "/shows/" + created.id()))
+                .body(created);
+    }
+
+    /**
+     * Cancel a show of a theatre.
+     *
+     * @param id        the theatre id
+     * @param showId    the show id
+     * @param principal the principal
+     * @return the response entity
+     */
+    @Operation(summary = "Cancels a show of the theatre",
+            description = "The show leaves the schedule. "
+                    + "Its bookings are kept.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "show cancelled successfully"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials"),
+            @ApiResponse(responseCode = "404",
+                    description = "show not found")})
+    @DeleteMapping("/{id}/shows/{showId}")
+    public final ResponseEntity<Void> cancelShow(
+            @PathVariable final UUID id,
+            @PathVariable final UUID showId,
+            final Principal principal) {
+        return showService.cancelShow(principal.getName(), id, showId)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Seat map of a show.
+     *
+     * @param id     the theatre id
+     * @param showId the show id
+     * @return the seat availability
+     */
+    @Operation(summary = "Get the seat map of a show of the theatre",
+            description = "Served from memory, without reading the database",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "getting seat map successfully"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials"),
+            @ApiResponse(responseCode = "404",
+                    description = "show not found")})
+    @GetMapping(value = "/{id}/shows/{showId}/seats",
+            produces = "application/json")
+    public final ResponseEntity<SeatAvailability> seats(
+            @PathVariable final UUID id,
+            @PathVariable final UUID showId) {
+        return ResponseEntity.of(showService.seats(id, showId));
     }
 
 }
@@ -0,0 +1,14 @@
+package com.sample.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published whenever held seats of a show become available again, as a
+ * hold is released or expires.
+ *
+ * @param showId the show id
+ * @param seats  the seats released
+ */
+public record SeatsReleasedEvent(UUID showId, List<Integer> seats) {
+}
@@ -0,0 +1,13 @@
+package com.sample.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published whenever upcoming shows leave the seat maps, as they start or
+ * are cancelled.
+ *
+ * @param showIds the ids of the shows closed
+ */
+public record ShowsClosedEvent(List<UUID> showIds) {
+}
@@ -0,0 +1,9 @@
+package com.sample.event;
+
+/**
+ * Published whenever a user, or the profile attached to it, is written.
+ *
+ * @param userHandle the handle of the changed user
+ */
+public record UserChangedEvent(String userHandle) {
+}
@@ -0,0 +1,4 @@
+/**
+ * Application Events.
+ */
+package com.sample.event;
@@ -0,0 +1,12 @@
+package com.sample.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record Booking(UUID id,
+                      UUID showId,
+                      List<Integer> seats,
+                      LocalDateTime createdAt,
+                      String createdBy) {
+}
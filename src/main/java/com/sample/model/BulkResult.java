@@ -0,0 +1,6 @@
+package com.sample.model;
+
+public record BulkResult<T>(int index,
+                            T value,
+                            String error) {
+}
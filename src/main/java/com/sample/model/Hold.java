@@ -0,0 +1,17 @@
+package com.sample.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record Hold(@Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                   UUID id,
+                   UUID showId,
+                   List<Integer> seats,
+                   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                   LocalDateTime expiresAt,
+                   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                   String createdBy) {
+}
@@ -0,0 +1,5 @@
+package com.sample.model;
+
+public record Localization(String title,
+                           String description) {
+}
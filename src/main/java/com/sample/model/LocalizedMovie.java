@@ -0,0 +1,12 @@
+package com.sample.model;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+public record LocalizedMovie(UUID id,
+                             String title,
+                             String description,
+                             LocalDate releaseDate,
+                             Map<String, Localization> localizations) {
+}
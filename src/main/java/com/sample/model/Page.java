@@ -0,0 +1,7 @@
+package com.sample.model;
+
+import java.util.List;
+
+public record Page<T>(List<T> content,
+                      String next) {
+}
@@ -0,0 +1,12 @@
+package com.sample.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ScheduledShow(UUID showId,
+                            LocalDateTime startsAt,
+                            UUID screenId,
+                            int available,
+                            Movie movie,
+                            Theatre theatre) {
+}
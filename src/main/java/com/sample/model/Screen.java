@@ -0,0 +1,18 @@
+package com.sample.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record Screen(UUID id,
+                     @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                     UUID theatreId,
+                     String title,
+                     int rows,
+                     int seatsPerRow,
+                     @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                     LocalDateTime createdAt,
+                     @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                     String createdBy) {
+}
@@ -0,0 +1,14 @@
+package com.sample.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SeatAvailability(UUID showId,
+                               int available,
+                               @Schema(description = "A row of seats each, "
+                                       + "A for available, H for held "
+                                       + "and S for sold")
+                               List<String> rows) {
+}
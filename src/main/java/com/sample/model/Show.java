@@ -0,0 +1,16 @@
+package com.sample.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record Show(UUID id,
+                   UUID movieId,
+                   UUID screenId,
+                   LocalDateTime startsAt,
+                   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                   LocalDateTime createdAt,
+                   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+                   String createdBy) {
+}
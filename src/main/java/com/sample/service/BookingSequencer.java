@@ -0,0 +1,309 @@
+package com.sample.service;
+
+import com.sample.model.Booking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Single writer of the bookings of a show. Shows are partitioned by id
+ * across sequencer threads, each draining its queue of commands in batches
+ * and applying them in order. The bookings a batch confirms are written
+ * together before their seats are marked sold, so that a burst on one show
+ * costs a transaction a batch rather than one a booking. A command or a
+ * batch that fails fails its callers alone, and callers wait for their
+ * result a timeout at most.
+ */
+final class BookingSequencer implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger =
+            LoggerFactory.getLogger(BookingSequencer.class);
+
+    /**
+     * Partitions, each with its thread.
+     */
+    private final List<Partition> partitions;
+
+    /**
+     * Writes the bookings of a batch in one transaction.
+     */
+    private final Consumer<List<Booking>> writer;
+
+    /**
+     * Releases the seats of a hold whose booking was not written.
+     */
+    private final Consumer<BookingService.PendingHold> releaser;
+
+    /**
+     * Milliseconds a caller waits to queue a command, then for its result.
+     */
+    private final long timeoutMsec;
+
+    /**
+     * Whether the sequencer threads are stopped.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Starts the sequencer threads.
+     *
+     * @param name          the name prefix of the threads
+     * @param partitionCount the number of partitions
+     * @param capacity      the commands a partition queues
+     * @param batchSize     the commands a partition applies at once
+     * @param aTimeoutMsec  the milliseconds a caller waits
+     * @param aWriter       writes the bookings of a batch
+     * @param aReleaser     releases the seats of a hold not written
+     */
+    BookingSequencer(final String name, final int partitionCount,
+                     final int capacity, final int batchSize,
+                     final long aTimeoutMsec,
+                     final Consumer<List<Booking>> aWriter,
+                     final Consumer<BookingService.PendingHold> aReleaser) {
+        this.timeoutMsec = aTimeoutMsec;
+        this.writer = aWriter;
+        this.releaser = aReleaser;
+        this.partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new Partition(name + "-" + i, capacity,
+                    batchSize));
+        }
+    }
+
+    /**
+     * Applies a command on the thread of a show, waiting for its result.
+     *
+     * @param showId  the show id
+     * @param command the command
+     * @param <R>     the type of the result
+     * @return the result
+     */
+    <R> R call(final UUID showId, final Supplier<R> command) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        return join(showId, result,
+                confirmations -> result.complete(command.get()));
+    }
+
+    /**
+     * Confirms a hold on the thread of its show, waiting for the batch it
+     * falls in to be written.
+     *
+     * @param showId the show id
+     * @param claim  claims the hold, null if absent or claimed already
+     * @return the booking, empty if the hold could not be claimed
+     */
+    Optional<Booking> confirm(final UUID showId,
+                              final Supplier<BookingService.PendingHold>
+                                      claim) {
+        final CompletableFuture<Optional<Booking>> result =
+                new CompletableFuture<>();
+        return join(showId, result, confirmations -> {
+            final BookingService.PendingHold pending = claim.get();
+            if (pending == null) {
+                result.complete(Optional.empty());
+                return;
+            }
+            confirmations.add(new Confirmation(pending, new Booking(
+                    UUID.randomUUID(), pending.hold().showId(),
+                    pending.hold().seats(), LocalDateTime.now(),
+                    pending.hold().createdBy()), result));
+        });
+    }
+
+    /**
+     * Stops the sequencer threads. Queued commands fail their callers.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        final IllegalStateException stopped =
+                new IllegalStateException("Sequencer stopped");
+        partitions.forEach(partition -> {
+            partition.thread.interrupt();
+            final List<Task> dropped = new ArrayList<>();
+            partition.queue.drainTo(dropped);
+            dropped.forEach(task -> task.result().completeExceptionally(
+                    stopped));
+        });
+    }
+
+    private <R> R join(final UUID showId, final CompletableFuture<R> result,
+                       final Command command) {
+        if (closed) {
+            throw new IllegalStateException("Sequencer stopped");
+        }
+        final Partition partition = partitions.get(
+                Math.floorMod(showId.hashCode(), partitions.size()));
+        try {
+            if (!partition.queue.offer(new Task(command, result),
+                    timeoutMsec, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Sequencer queue full");
+            }
+            return result.get(timeoutMsec, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", ex);
+        } catch (final TimeoutException ex) {
+            // the command may still be applied, its result unseen
+            throw new IllegalStateException("Sequencer timed out", ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(ex.getCause());
+        }
+    }
+
+    /**
+     * Writes the confirmations of a batch, then sells their seats. When
+     * the write fails the seats are released instead, as any release is,
+     * so that the waitlist of the show is offered them. Every confirmation
+     * is completed, whatever fails.
+     *
+     * @param confirmations the confirmations
+     */
+    private void flush(final List<Confirmation> confirmations) {
+        try {
+            writer.accept(confirmations.stream()
+                    .map(Confirmation::booking).toList());
+        } catch (final RuntimeException ex) {
+            logger.error("Bookings not written", ex);
+            confirmations.forEach(confirmation -> {
+                try {
+                    releaser.accept(confirmation.pending());
+                } catch (final RuntimeException releaseEx) {
+                    logger.error("Seats not released", releaseEx);
+                }
+                confirmation.result().completeExceptionally(ex);
+            });
+            return;
+        }
+        confirmations.forEach(confirmation -> {
+            try {
+                confirmation.pending().seatMap()
+                        .sell(confirmation.pending().seats());
+                confirmation.result()
+                        .complete(Optional.of(confirmation.booking()));
+            } catch (final RuntimeException ex) {
+                logger.error("Seats of a written booking not sold", ex);
+                confirmation.result().completeExceptionally(ex);
+            }
+        });
+    }
+
+    /**
+     * A command applied on the thread of a show.
+     */
+    @FunctionalInterface
+    private interface Command {
+
+        /**
+         * Applies the command.
+         *
+         * @param confirmations collects the bookings to write at the end
+         *                      of the batch
+         */
+        void apply(List<Confirmation> confirmations);
+    }
+
+    /**
+     * A command queued, with the result its caller waits for.
+     *
+     * @param command the command
+     * @param result  completes with the result of the command
+     */
+    private record Task(Command command, CompletableFuture<?> result) {
+    }
+
+    /**
+     * A claimed hold, to be written.
+     *
+     * @param pending the hold
+     * @param booking the booking
+     * @param result  completes with the booking once written
+     */
+    private record Confirmation(BookingService.PendingHold pending,
+                                Booking booking,
+                                CompletableFuture<Optional<Booking>>
+                                        result) {
+    }
+
+    /**
+     * Shows of a partition, with the queue of their commands.
+     */
+    private final class Partition {
+
+        /**
+         * Commands in arrival order.
+         */
+        private final BlockingQueue<Task> queue;
+
+        /**
+         * Commands applied at once.
+         */
+        private final int batchSize;
+
+        /**
+         * Applies the commands.
+         */
+        private final Thread thread;
+
+        Partition(final String name, final int capacity,
+                  final int aBatchSize) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.batchSize = aBatchSize;
+            this.thread = new Thread(this::run, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void run() {
+            final List<Task> batch = new ArrayList<>(batchSize);
+            final List<Confirmation> confirmations =
+                    new ArrayList<>(batchSize);
+            while (!closed && !Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (final InterruptedException ex) {
+                    return;
+                }
+                queue.drainTo(batch, batchSize - 1);
+                for (final Task task : batch) {
+                    try {
+                        task.command().apply(confirmations);
+                    } catch (final RuntimeException ex) {
+                        task.result().completeExceptionally(ex);
+                    }
+                }
+                if (!confirmations.isEmpty()) {
+                    try {
+                        flush(confirmations);
+                    } catch (final RuntimeException ex) {
+                        logger.error("Batch not applied", ex);
+                        confirmations.forEach(confirmation -> confirmation
+                                .result().completeExceptionally(ex));
+                    }
+                }
+                batch.clear();
+                confirmations.clear();
+            }
+        }
+    }
+}
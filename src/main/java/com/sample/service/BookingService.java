@@ -0,0 +1,356 @@
+package com.sample.service;
+
+import com.sample.event.SeatsReleasedEvent;
+import com.sample.model.Booking;
+import com.sample.model.Hold;
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.exception.BadRequestException;
+import com.sample.starter.security.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bookings of the seats of upcoming shows. A hold moves its seats from
+ * available to held with compare and set on the seat map of the show, so
+ * that concurrent holds of a seat never wait on a lock and exactly one of
+ * them wins. A hold is then confirmed, released or expired, whichever
+ * claims it first; only a confirmation writes to the database. Seats
+ * released or expired are published, for the waitlist of the show.
+ * <p>
+ * In the sequenced mode, the holds, confirmations and releases of a show
+ * are applied in order by the one sequencer thread that owns the show,
+ * which writes the confirmations of a batch together.
+ */
+@Service
+public class BookingService {
+
+    /**
+     * Ticks of a turn of the expiry wheel.
+     */
+    private static final int WHEEL_SIZE = 512;
+
+    /**
+     * Logger.
+     */
+    private final Logger logger =
+            LoggerFactory.getLogger(BookingService.class);
+
+    /**
+     * JdbcClient.
+     */
+    private final JdbcClient jdbcClient;
+
+    /**
+     * JdbcTemplate, for batches.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes a booking and its seats together.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Seat maps of the upcoming shows.
+     */
+    private final ShowService showService;
+
+    /**
+     * App properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Publishes the seats released.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Unclaimed holds by id.
+     */
+    private final Map<UUID, PendingHold> holds = new ConcurrentHashMap<>();
+
+    /**
+     * Expires the holds.
+     */
+    private final TimerWheel expiry;
+
+    /**
+     * Applies the bookings of each show in order, null unless sequenced.
+     */
+    private final BookingSequencer sequencer;
+
+    /**
+     * Instantiates a new Booking service.
+     *
+     * @param aJdbcClient          the jdbc client
+     * @param aJdbcTemplate        the jdbc template
+     * @param aTransactionTemplate the transaction template
+     * @param aShowService         the show service
+     * @param anAppProperties      the app properties
+     * @param anEventPublisher     the event publisher
+     */
+    public BookingService(final JdbcClient aJdbcClient,
+                          final JdbcTemplate aJdbcTemplate,
+                          final TransactionTemplate aTransactionTemplate,
+                          final ShowService aShowService,
+                          final AppProperties anAppProperties,
+                          final ApplicationEventPublisher anEventPublisher) {
+        this.jdbcClient = aJdbcClient;
+        this.jdbcTemplate = aJdbcTemplate;
+        this.transactionTemplate = aTransactionTemplate;
+        this.showService = aShowService;
+        this.appProperties = anAppProperties;
+        this.eventPublisher = anEventPublisher;
+        this.expiry = new TimerWheel("hold-expiry",
+                anAppProperties.getBooking().getHoldTickMsec(), WHEEL_SIZE);
+        final AppProperties.Booking booking = anAppProperties.getBooking();
+        if (booking.getMode() == AppProperties.Booking.Mode.SEQUENCED) {
+            final int partitions = booking.getSequencerPartitions() > 0
+                    ? booking.getSequencerPartitions()
+                    : Runtime.getRuntime().availableProcessors();
+            this.sequencer = new BookingSequencer("booking-sequencer",
+                    partitions, booking.getSequencerQueueCapacity(),
+                    booking.getSequencerBatchSize(),
+                    booking.getSequencerTimeoutMsec(), this::write,
+                    this::release);
+        } else {
+            this.sequencer = null;
+        }
+    }
+
+    /**
+     * Stops expiring holds.
+     */
+    @PreDestroy
+    public void close() {
+        expiry.close();
+        if (sequencer != null) {
+            sequencer.close();
+        }
+    }
+
+    /**
+     * Holds seats of a show, all of them or none.
+     *
+     * @param userName the user name
+     * @param hold     the show and the seats
+     * @return the hold, empty if any of the seats is taken
+     */
+    public Optional<Hold> hold(final String userName, final Hold hold) {
+        final List<Integer> seats = hold.seats();
+        if (seats == null || seats.isEmpty() || seats.size()
+                > appProperties.getBooking().getMaxSeatsPerHold()) {
+            throw new BadRequestException("Invalid number of seats");
+        }
+        final ShowService.Inventory inventory = showService
+                .inventory(hold.showId())
+                .orElseThrow(() -> new ResourceNotFoundException("Show",
+                        "id", hold.showId()));
+        if (ShowService.hasStarted(inventory, LocalDateTime.now())) {
+            throw new BadRequestException("Show has started");
+        }
+        final SeatMap seatMap = inventory.seats();
+        final int[] held = seats.stream().mapToInt(Integer::intValue)
+                .toArray();
+        if (sequencer == null) {
+            return hold(userName, hold, seatMap, held);
+        }
+        return sequencer.call(hold.showId(), () ->
+                hold(userName, hold, seatMap, held));
+    }
+
+    private Optional<Hold> hold(final String userName, final Hold hold,
+                                final SeatMap seatMap, final int[] held) {
+        try {
+            if (!seatMap.hold(held)) {
+                return Optional.empty();
+            }
+        } catch (final IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage(), ex);
+        }
+        final long ttl = appProperties.getBooking().getHoldTtlMsec();
+        final UUID holdId = UUID.randomUUID();
+        final Hold created = new Hold(holdId, hold.showId(),
+                List.copyOf(hold.seats()),
+                LocalDateTime.now().plus(ttl, ChronoUnit.MILLIS), userName);
+        final TimerWheel.Timeout timeout =
+                expiry.schedule(() -> expire(holdId), ttl);
+        holds.put(holdId, new PendingHold(created, seatMap, held, timeout));
+        if (timeout.isExpired()) {
+            // expired before it was put, so expire it again now
+            expire(holdId);
+        }
+        return Optional.of(created);
+    }
+
+    /**
+     * Confirms a hold, selling its seats. The booking and its seats are
+     * written before the seats are marked sold in memory; in the sequenced
+     * mode, along with the other bookings of the batch.
+     *
+     * @param userName the user name
+     * @param holdId   the hold id
+     * @return the booking, empty if there is no such hold of the user
+     */
+    public Optional<Booking> confirm(final String userName,
+                                     final UUID holdId) {
+        if (sequencer != null) {
+            final PendingHold pending = holds.get(holdId);
+            return pending == null ? Optional.empty()
+                    : sequencer.confirm(pending.hold().showId(),
+                    () -> claim(userName, holdId));
+        }
+        final PendingHold pending = claim(userName, holdId);
+        if (pending == null) {
+            return Optional.empty();
+        }
+        final Booking booking = new Booking(UUID.randomUUID(),
+                pending.hold().showId(), pending.hold().seats(),
+                LocalDateTime.now(), userName);
+        try {
+            write(List.of(booking));
+        } catch (final RuntimeException ex) {
+            release(pending);
+            throw ex;
+        }
+        pending.seatMap().sell(pending.seats());
+        return Optional.of(booking);
+    }
+
+    /**
+     * Releases a hold, making its seats available.
+     *
+     * @param userName the user name
+     * @param holdId   the hold id
+     * @return true if released, false if there is no such hold of the user
+     */
+    public boolean release(final String userName, final UUID holdId) {
+        if (sequencer != null) {
+            final PendingHold pending = holds.get(holdId);
+            return pending != null && sequencer.call(
+                    pending.hold().showId(), () -> releaseClaimed(userName,
+                            holdId));
+        }
+        return releaseClaimed(userName, holdId);
+    }
+
+    private boolean releaseClaimed(final String userName,
+                                   final UUID holdId) {
+        final PendingHold pending = claim(userName, holdId);
+        if (pending == null) {
+            return false;
+        }
+        release(pending);
+        return true;
+    }
+
+    /**
+     * Delete all the holds and bookings.
+     */
+    public void delete() {
+        holds.values().forEach(pending -> pending.timeout().cancel());
+        holds.clear();
+        jdbcClient.sql("DELETE FROM show_seats").update();
+        jdbcClient.sql("DELETE FROM bookings").update();
+    }
+
+    /**
+     * Takes a hold of a user away from the others who might claim it.
+     * Holds of a show cancelled since are dropped.
+     *
+     * @param userName the user name
+     * @param holdId   the hold id
+     * @return the hold, null if absent or claimed already
+     */
+    private PendingHold claim(final String userName, final UUID holdId) {
+        final PendingHold pending = holds.get(holdId);
+        if (pending == null
+                || !pending.hold().createdBy().equals(userName)
+                || !holds.remove(holdId, pending)) {
+            return null;
+        }
+        pending.timeout().cancel();
+        if (showService.inventory(pending.hold().showId()).isEmpty()) {
+            return null;
+        }
+        return pending;
+    }
+
+    /**
+     * Expires a hold. Expiry claims the hold like the others do, so it
+     * needs no sequencing and never waits on the wheel thread.
+     *
+     * @param holdId the hold id
+     */
+    private void expire(final UUID holdId) {
+        final PendingHold pending = holds.remove(holdId);
+        if (pending != null) {
+            release(pending);
+            logger.debug("Hold Expired {}", holdId);
+        }
+    }
+
+    private void release(final PendingHold pending) {
+        if (pending.seatMap().release(pending.seats())) {
+            eventPublisher.publishEvent(new SeatsReleasedEvent(
+                    pending.hold().showId(), pending.hold().seats()));
+        }
+    }
+
+    /**
+     * Writes bookings and their seats in one transaction, a JDBC batch a
+     * table.
+     *
+     * @param bookings the bookings
+     */
+    private void write(final List<Booking> bookings) {
+        final List<Object[]> bookingRows = new ArrayList<>(bookings.size());
+        final List<Object[]> seatRows = new ArrayList<>();
+        for (Booking booking : bookings) {
+            bookingRows.add(new Object[]{booking.id(), booking.showId(),
+                    booking.createdAt(), booking.createdBy()});
+            booking.seats().forEach(seat -> seatRows.add(
+                    new Object[]{booking.showId(), seat, booking.id()}));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO bookings(id, show_id, created_at,
+                    created_by)
+                    VALUES (?, ?, ?, ?)
+                    """, bookingRows);
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO show_seats(show_id, seat, booking_id)
+                    VALUES (?, ?, ?)
+                    """, seatRows);
+        });
+        logger.info("Bookings Created {}", bookings.size());
+    }
+
+    /**
+     * A hold not yet confirmed, released or expired.
+     *
+     * @param hold    the hold
+     * @param seatMap the seat map of the show
+     * @param seats   the seats
+     * @param timeout expires the hold
+     */
+    record PendingHold(Hold hold, SeatMap seatMap, int[] seats,
+                               TimerWheel.Timeout timeout) {
+    }
+}
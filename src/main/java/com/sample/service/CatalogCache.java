@@ -0,0 +1,233 @@
+package com.sample.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sample.model.Page;
+import com.sample.starter.security.config.AppProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read through cache of a localized catalog entity. Entities are keyed by
+ * (id, language) and lists by language, so that writes evict only the keys
+ * of the cached languages. Pages are keyed by language, query and a
+ * generation that any write moves on, so that a write evicts them all
+ * without scanning the cache; pages of past generations are never read
+ * again and age out of it. Only the default language and the warmup
+ * languages of the cache are cached; reads in any other go to the loader,
+ * so that the languages a write evicts are few and fixed.
+ *
+ * @param <T> the type of the entity
+ */
+public final class CatalogCache<T> {
+
+    /**
+     * Language of reads without a locale.
+     */
+    private static final String DEFAULT_LANGUAGE = "";
+
+    /**
+     * Entities and lists by key.
+     */
+    private final Cache<Object, Object> cache;
+
+    /**
+     * Gets the id of an entity.
+     */
+    private final Function<T, UUID> idOf;
+
+    /**
+     * Languages cached, the default and the warmup ones.
+     */
+    private final Set<String> languages;
+
+    /**
+     * Locales to load at startup, null being the default.
+     */
+    private final List<Locale> warmupLocales = new ArrayList<>();
+
+    /**
+     * Generation of the cached pages, moved on by every write.
+     */
+    private final AtomicLong pageGeneration = new AtomicLong();
+
+    /**
+     * Binds to a cache of the cache manager.
+     *
+     * @param cacheManager  the cache manager
+     * @param appProperties the app properties
+     * @param name          the cache name
+     * @param anIdOf        gets the id of an entity
+     */
+    public CatalogCache(final CacheManager cacheManager,
+                        final AppProperties appProperties,
+                        final String name,
+                        final Function<T, UUID> anIdOf) {
+        this.cache = ((CaffeineCache) cacheManager.getCache(name))
+                .getNativeCache();
+        this.idOf = anIdOf;
+        this.warmupLocales.add(null);
+        final AppProperties.CacheSpec spec = appProperties.getCache()
+                .get(name);
+        if (spec != null) {
+            spec.getWarmupLanguages()
+                    .forEach(language -> warmupLocales.add(
+                            Locale.forLanguageTag(language)));
+        }
+        this.languages = Set.copyOf(warmupLocales.stream()
+                .map(CatalogCache::languageOf).toList());
+    }
+
+    /**
+     * Reads an entity, loading it on a miss. Missing entities are not cached.
+     *
+     * @param locale the locale
+     * @param id     the id
+     * @param loader loads the entity
+     * @return the entity
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<T> read(final Locale locale, final UUID id,
+                            final Supplier<Optional<T>> loader) {
+        final String language = languageOf(locale);
+        if (!languages.contains(language)) {
+            return loader.get();
+        }
+        return Optional.ofNullable((T) cache.get(new Key(id, language),
+                key -> loader.get().orElse(null)));
+    }
+
+    /**
+     * Lists the entities, loading them on a miss.
+     *
+     * @param locale the locale
+     * @param loader loads the entities
+     * @return the entities
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> list(final Locale locale, final Supplier<List<T>> loader) {
+        final String language = languageOf(locale);
+        if (!languages.contains(language)) {
+            return loader.get();
+        }
+        return (List<T>) cache.get(new Key(null, language),
+                key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Reads a page, loading it on a miss.
+     *
+     * @param locale the locale
+     * @param query  the filters, cursor and size of the page
+     * @param loader loads the page
+     * @return the page
+     */
+    @SuppressWarnings("unchecked")
+    public Page<T> page(final Locale locale, final List<Object> query,
+                        final Supplier<Page<T>> loader) {
+        final String language = languageOf(locale);
+        if (!languages.contains(language)) {
+            return loader.get();
+        }
+        return (Page<T>) cache.get(new PageKey(language,
+                pageGeneration.get(), query), key -> loader.get());
+    }
+
+    /**
+     * Loads the lists of the default and the warmup locales, caching each
+     * of the listed entities as well.
+     *
+     * @param loader lists the entities of a locale
+     */
+    public void warmUp(final Function<Locale, List<T>> loader) {
+        for (Locale locale : warmupLocales) {
+            final String language = languageOf(locale);
+            final List<T> entities = List.copyOf(loader.apply(locale));
+            cache.put(new Key(null, language), entities);
+            entities.forEach(entity -> cache.put(
+                    new Key(idOf.apply(entity), language), entity));
+        }
+    }
+
+    /**
+     * Evicts an entity in all languages, along with the lists.
+     *
+     * @param id the id
+     */
+    public void evict(final UUID id) {
+        for (String language : languages) {
+            cache.invalidate(new Key(id, language));
+            cache.invalidate(new Key(null, language));
+        }
+        evictPages();
+    }
+
+    /**
+     * Evicts entities in all languages, along with the lists.
+     *
+     * @param ids the ids
+     */
+    public void evict(final Collection<UUID> ids) {
+        for (String language : languages) {
+            cache.invalidateAll(ids.stream()
+                    .map(id -> new Key(id, language)).toList());
+            cache.invalidate(new Key(null, language));
+        }
+        evictPages();
+    }
+
+    /**
+     * Evicts the lists in all languages.
+     */
+    public void evictLists() {
+        for (String language : languages) {
+            cache.invalidate(new Key(null, language));
+        }
+        evictPages();
+    }
+
+    /**
+     * Evicts everything.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private void evictPages() {
+        pageGeneration.incrementAndGet();
+    }
+
+    private static String languageOf(final Locale locale) {
+        return locale == null ? DEFAULT_LANGUAGE : locale.getLanguage();
+    }
+
+    /**
+     * Cache key. Lists are keyed without an id.
+     *
+     * @param id       the id
+     * @param language the language
+     */
+    private record Key(UUID id, String language) {
+    }
+
+    /**
+     * Page key.
+     *
+     * @param language   the language
+     * @param generation the generation of the pages
+     * @param query      the filters, cursor and size of the page
+     */
+    private record PageKey(String language, long generation,
+                           List<Object> query) {
+    }
+}
@@ -1,18 +1,31 @@
 package com.sample.service;
 
 import com.sample.model.Genre;
+import com.sample.model.Page;
+import com.sample.starter.security.cache.CacheConfig;
+import com.sample.starter.security.config.AppProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The type Genre service.
@@ -58,14 +71,38 @@ public class GenreService {
      * JdbcClient.
      */
     private final JdbcClient jdbcClient;
+    /**
+     * Cache of localized genres.
+     */
+    private final CatalogCache<Genre> cache;
+    /**
+     * Keyset pagination.
+     */
+    private final Keyset keyset;
 
     /**
      * Instantiates a new Genre service.
      *
-     * @param aJdbcClient the jdbc client
+     * @param aJdbcClient     the jdbc client
+     * @param aCacheManager   the cache manager
+     * @param anAppProperties the app properties
      */
-    public GenreService(final JdbcClient aJdbcClient) {
+    public GenreService(final JdbcClient aJdbcClient,
+                        final CacheManager aCacheManager,
+                        final AppProperties anAppProperties) {
         this.jdbcClient = aJdbcClient;
+        this.cache = new CatalogCache<>(aCacheManager, anAppProperties,
+                CacheConfig.GENRES, Genre::id);
+        this.keyset = new Keyset(anAppProperties);
+    }
+
+    /**
+     * Loads the genres of the warmup languages into the cache.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        cache.warmUp(this::selectAll);
+        logger.info("Genre cache warmed up");
     }
 
     private Genre rowMapper(final ResultSet rs, final Integer rowNum)
@@ -92,6 +129,7 @@ public class GenreService {
                         final Genre genre) {
         final UUID genreId = UUID.randomUUID();
 
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
         String insertEventSQL = """
                 INSERT INTO genres(id, title,
                 description, created_by)
@@ -102,17 +140,18 @@ public class GenreService {
                 .param(INDEX_2, genre.title())
                 .param(INDEX_3, genre.description())
                 .param(INDEX_4, userName)
-                .update();
+                .update(keyHolder, WrittenColumns.CREATED);
 
         if (locale != null) {
             createLocalizedEvent(genreId, genre, locale);
         }
+        cache.evictLists();
 
-        final Optional<Genre> createdEvent
-        = read(userName, locale, genreId);
         logger.info("Genre Created {}", genreId);
 
-        return createdEvent.get();
+        return new Genre(genreId, genre.title(), genre.description(),
+                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                userName, null, null);
     }
 
     private int createLocalizedEvent(final UUID genreId,
@@ -141,6 +180,10 @@ public class GenreService {
      */
     public Optional<Genre> read(final String userName, final Locale locale,
                                 final UUID id) {
+        return cache.read(locale, id, () -> select(locale, id));
+    }
+
+    private Optional<Genre> select(final Locale locale, final UUID id) {
         final String query = locale == null
                 ? """
                 SELECT id, title, description, created_at,
@@ -149,21 +192,15 @@ public class GenreService {
                 WHERE id = ?
                 """
                 : """
-                SELECT DISTINCT e.id,
-                    CASE WHEN el.locale = ? THEN el.title
-                    ELSE e.title END AS title,
-                    CASE WHEN el.locale = ? THEN el.description
-                    ELSE e.description END AS description,
+                SELECT e.id,
+                    COALESCE(el.title, e.title) AS title,
+                    COALESCE(el.description, e.description) AS description,
                     e.created_at, e.created_by,
                     e.modified_at, e.modified_by
                 FROM genres e
-                LEFT JOIN genres_localized el ON e.id = el.genre_id
+                LEFT JOIN genres_localized el
+                    ON el.genre_id = e.id AND el.locale = ?
                 WHERE e.id = ?
-                    AND (el.locale IS NULL OR el.locale = ? OR e.id NOT IN (
-                        SELECT genre_id
-                        FROM genres_localized
-                        WHERE genre_id = e.id AND locale = ?
-                    ))
                 """;
 
 
@@ -172,10 +209,7 @@ public class GenreService {
                     .optional()
                     : jdbcClient.sql(query)
                     .param(INDEX_1, locale.getLanguage())
-                    .param(INDEX_2, locale.getLanguage())
-                    .param(INDEX_3, id)
-                    .param(INDEX_4, locale.getLanguage())
-                    .param(INDEX_5, locale.getLanguage())
+                    .param(INDEX_2, id)
                     .query(this::rowMapper).optional();
 
     }
@@ -200,15 +234,17 @@ public class GenreService {
                 : """
                 UPDATE genres SET modified_by=? WHERE id=?
                 """;
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
         int updatedRows = locale == null
                 ? jdbcClient.sql(query)
                 .param(INDEX_1, genre.title())
                 .param(INDEX_2, genre.description())
                 .param(INDEX_3, userName)
-                .param(INDEX_4, id).update()
+                .param(INDEX_4, id).update(keyHolder, WrittenColumns.UPDATED)
                 : jdbcClient.sql(query)
                 .param(INDEX_1, userName)
-                .param(INDEX_2, id).update();
+                .param(INDEX_2, id)
+                .update(keyHolder, WrittenColumns.UPDATED);
 
         if (updatedRows == 0) {
             logger.error("Update not found {}", id);
@@ -231,7 +267,16 @@ public class GenreService {
                 createLocalizedEvent(id, genre, locale);
             }
         }
-        return read(userName, locale, id).get();
+        cache.evict(id);
+        return new Genre(id,
+                WrittenColumns.coalesce(genre.title(),
+                        WrittenColumns.string(keyHolder, "title")),
+                WrittenColumns.coalesce(genre.description(),
+                        WrittenColumns.string(keyHolder, "description")),
+                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                WrittenColumns.string(keyHolder, "created_by"),
+                WrittenColumns.localDateTime(keyHolder, "modified_at"),
+                userName);
     }
 
     /**
@@ -242,9 +287,12 @@ public class GenreService {
      * @return the boolean
      */
     public boolean delete(final String userName, final UUID id) {
-        return jdbcClient.sql("DELETE FROM genres WHERE id = ?")
+        final boolean deleted = jdbcClient
+                .sql("DELETE FROM genres WHERE id = ?")
                 .param(INDEX_1, id)
                 .update() == 1;
+        cache.evict(id);
+        return deleted;
     }
 
     /**
@@ -255,6 +303,31 @@ public class GenreService {
      * @return the list
      */
     public List<Genre> list(final String userName, final Locale locale) {
+        return cache.list(locale, () -> selectAll(locale));
+    }
+
+    private List<Genre> selectAll(final Locale locale) {
+        return queryAll(locale).list();
+    }
+
+    /**
+     * Streams all the genres to a consumer as they are read off the result
+     * set, without caching them. The read only transaction lets the driver
+     * fetch rows in batches of the fetch size rather than all at once.
+     *
+     * @param userName the user name
+     * @param locale   the locale
+     * @param consumer the consumer of each genre
+     */
+    @Transactional(readOnly = true)
+    public void export(final String userName, final Locale locale,
+                       final Consumer<Genre> consumer) {
+        try (Stream<Genre> rows = queryAll(locale).stream()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    private JdbcClient.MappedQuerySpec<Genre> queryAll(final Locale locale) {
         final String query = locale == null
                 ? """
                 SELECT id, title, description, created_at,
@@ -262,38 +335,95 @@ public class GenreService {
                 FROM genres
                 """
                 : """
-                SELECT DISTINCT e.id,
-                    CASE WHEN el.locale = ? THEN el.title
-                    ELSE e.title END AS title,
-                    CASE WHEN el.locale = ? THEN el.description
-                    ELSE e.description END AS description,
+                SELECT e.id,
+                    COALESCE(el.title, e.title) AS title,
+                    COALESCE(el.description, e.description) AS description,
                     e.created_at, e.created_by,
                     e.modified_at, e.modified_by
                 FROM genres e
-                LEFT JOIN genres_localized el ON e.id = el.genre_id
-                WHERE el.locale IS NULL OR el.locale = ? OR e.id NOT IN (
-                    SELECT genre_id
-                    FROM genres_localized
-                    WHERE genre_id = e.id AND locale = ?
-                )
+                LEFT JOIN genres_localized el
+                    ON el.genre_id = e.id AND el.locale = ?
                 """;
         return locale == null
-                ? jdbcClient.sql(query).query(this::rowMapper).list()
+                ? jdbcClient.sql(query).query(this::rowMapper)
                 : jdbcClient.sql(query)
                 .param(INDEX_1, locale.getLanguage())
-                .param(INDEX_2, locale.getLanguage())
-                .param(INDEX_3, locale.getLanguage())
-                .param(INDEX_4, locale.getLanguage())
-                .query(this::rowMapper).list();
+                .query(this::rowMapper);
     }
 
 
+    /**
+     * Page of genres in the order they were created.
+     *
+     * @param userName    the user name
+     * @param locale      the locale
+     * @param titlePrefix the title prefix, may be null
+     * @param cursor      the cursor of the page, null for the first page
+     * @param size        the page size, null for the default
+     * @return the page
+     */
+    public Page<Genre> page(final String userName, final Locale locale,
+                            final String titlePrefix, final String cursor,
+                            final Integer size) {
+        final int pageSize = keyset.sizeOf(size);
+        final Keyset.Position position = keyset.decode(cursor);
+        return cache.page(locale,
+                Arrays.<Object>asList(titlePrefix, cursor, pageSize),
+                () -> selectPage(locale, titlePrefix, position, pageSize));
+    }
+
+    private Page<Genre> selectPage(final Locale locale,
+                                   final String titlePrefix,
+                                   final Keyset.Position position,
+                                   final int size) {
+        final StringBuilder query = new StringBuilder(locale == null
+                ? """
+                SELECT e.id, e.title, e.description, e.created_at,
+                e.created_by, e.modified_at, e.modified_by
+                FROM genres e
+                WHERE 1 = 1
+                """
+                : """
+                SELECT e.id,
+                    COALESCE(el.title, e.title) AS title,
+                    COALESCE(el.description, e.description) AS description,
+                    e.created_at, e.created_by,
+                    e.modified_at, e.modified_by
+                FROM genres e
+                LEFT JOIN genres_localized el
+                    ON el.genre_id = e.id AND el.locale = ?
+                WHERE 1 = 1
+                """);
+        final List<Object> params = new ArrayList<>();
+        if (locale != null) {
+            params.add(locale.getLanguage());
+        }
+        if (titlePrefix != null) {
+            query.append(locale == null
+                    ? "AND e.title LIKE ? ESCAPE '\\'\n"
+                    : "AND COALESCE(el.title, e.title) LIKE ? ESCAPE '\\'\n");
+            params.add(Keyset.startsWith(titlePrefix));
+        }
+        if (position != null) {
+            query.append("AND (e.created_at, e.id) > (?, ?)\n");
+            params.add(position.createdAt());
+            params.add(position.id());
+        }
+        query.append("ORDER BY e.created_at, e.id LIMIT ?");
+        params.add(size + 1);
+        return keyset.pageOf(jdbcClient.sql(query.toString())
+                        .params(params)
+                        .query(this::rowMapper).list(),
+                size, Genre::createdAt, Genre::id);
+    }
+
     /**
      * Delete all the genres related data.
      */
     public void delete() {
         jdbcClient.sql("DELETE FROM genres_localized").update();
         jdbcClient.sql("DELETE FROM genres").update();
+        cache.clear();
     }
 }
 
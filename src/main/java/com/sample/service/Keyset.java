@@ -0,0 +1,127 @@
+package com.sample.service;
+
+import com.sample.model.Page;
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over (created_at, id). Pages seek past the last row of
+ * the previous page, which is handed out as an opaque cursor.
+ */
+public final class Keyset {
+
+    /**
+     * Separates the columns of a cursor.
+     */
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Escape character of LIKE patterns.
+     */
+    private static final String ESCAPE = "\\";
+
+    /**
+     * App Properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Instantiates a new Keyset.
+     *
+     * @param anAppProperties the app properties
+     */
+    public Keyset(final AppProperties anAppProperties) {
+        this.appProperties = anAppProperties;
+    }
+
+    /**
+     * Gets the size of a page, capped by the maximum page size.
+     *
+     * @param size the requested size, null for the default
+     * @return the page size
+     */
+    public int sizeOf(final Integer size) {
+        final AppProperties.Catalog catalog = appProperties.getCatalog();
+        if (size == null || size <= 0) {
+            return catalog.getPageSize();
+        }
+        return Math.min(size, catalog.getMaxPageSize());
+    }
+
+    /**
+     * Decodes a cursor.
+     *
+     * @param cursor the cursor, may be null
+     * @return the position to seek past, null for the first page
+     */
+    public Position decode(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder()
+                    .decode(cursor), StandardCharsets.UTF_8);
+            final int index = decoded.indexOf(SEPARATOR);
+            return new Position(
+                    LocalDateTime.parse(decoded.substring(0, index)),
+                    UUID.fromString(decoded.substring(index + 1)));
+        } catch (final IllegalArgumentException
+                       | IndexOutOfBoundsException
+                       | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+
+    /**
+     * Builds the page of the rows fetched with one row more than the size.
+     *
+     * @param rows      the rows
+     * @param size      the page size
+     * @param createdAt gets the created at of a row
+     * @param id        gets the id of a row
+     * @param <T>       the type of the rows
+     * @return the page
+     */
+    public <T> Page<T> pageOf(final List<T> rows, final int size,
+                              final Function<T, LocalDateTime> createdAt,
+                              final Function<T, UUID> id) {
+        if (rows.size() <= size) {
+            return new Page<>(List.copyOf(rows), null);
+        }
+        final List<T> content = List.copyOf(rows.subList(0, size));
+        final T last = content.get(size - 1);
+        final String position = createdAt.apply(last) + SEPARATOR
+                + id.apply(last);
+        return new Page<>(content, Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Gets the LIKE pattern matching a prefix, escaping its wildcards.
+     *
+     * @param prefix the prefix
+     * @return the pattern
+     */
+    public static String startsWith(final String prefix) {
+        return prefix.replace(ESCAPE, ESCAPE + ESCAPE)
+                .replace("%", ESCAPE + "%")
+                .replace("_", ESCAPE + "_") + "%";
+    }
+
+    /**
+     * Position of the last row of a page.
+     *
+     * @param createdAt the created at
+     * @param id        the id
+     */
+    public record Position(LocalDateTime createdAt, UUID id) {
+    }
+}
@@ -1,19 +1,42 @@
 package com.sample.service;
 
+import com.sample.model.BulkResult;
+import com.sample.model.Localization;
+import com.sample.model.LocalizedMovie;
 import com.sample.model.Movie;
+import com.sample.model.Page;
+import com.sample.starter.security.cache.CacheConfig;
+import com.sample.starter.security.config.AppProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The type Movie service.
@@ -53,6 +76,11 @@ public class MovieService {
      * Index.
      */
     private static final int INDEX_8 = 8;
+    /**
+     * Length of titles.
+     */
+    private static final int TITLE_LENGTH = 55;
+
     /**
      * Logger.
      */
@@ -61,14 +89,50 @@ public class MovieService {
      * JdbcClient.
      */
     private final JdbcClient jdbcClient;
+    /**
+     * JdbcTemplate, for batches.
+     */
+    private final JdbcTemplate jdbcTemplate;
+    /**
+     * App Properties.
+     */
+    private final AppProperties appProperties;
+    /**
+     * Cache of localized movies.
+     */
+    private final CatalogCache<Movie> cache;
+    /**
+     * Keyset pagination.
+     */
+    private final Keyset keyset;
 
     /**
      * Instantiates a new Movie service.
      *
-     * @param aJdbcClient the jdbc client
+     * @param aJdbcClient     the jdbc client
+     * @param aJdbcTemplate   the jdbc template
+     * @param aCacheManager   the cache manager
+     * @param anAppProperties the app properties
      */
-    public MovieService(final JdbcClient aJdbcClient) {
+    public MovieService(final JdbcClient aJdbcClient,
+                        final JdbcTemplate aJdbcTemplate,
+                        final CacheManager aCacheManager,
+                        final AppProperties anAppProperties) {
         this.jdbcClient = aJdbcClient;
+        this.jdbcTemplate = aJdbcTemplate;
+        this.appProperties = anAppProperties;
+        this.cache = new CatalogCache<>(aCacheManager, anAppProperties,
+                CacheConfig.MOVIES, Movie::id);
+        this.keyset = new Keyset(anAppProperties);
+    }
+
+    /**
+     * Loads the movies of the warmup languages into the cache.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        cache.warmUp(this::selectAll);
+        logger.info("Movie cache warmed up");
     }
 
     private Movie rowMapper(final ResultSet rs, final Integer rowNum)
@@ -96,6 +160,7 @@ public class MovieService {
                         final Movie event) {
         final UUID eventId = UUID.randomUUID();
 
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
         String insertEventSQL = """
                 INSERT INTO movies(id, title, release_date,
                 description, created_by)
@@ -107,16 +172,19 @@ public class MovieService {
                 .param(INDEX_3, event.releaseDate())
                 .param(INDEX_4, event.description())
                 .param(INDEX_5, userName)
-                .update();
+                .update(keyHolder, WrittenColumns.CREATED);
 
         if (locale != null) {
             createLocalizedEvent(eventId, event, locale);
         }
+        cache.evictLists();
 
-        final Optional<Movie> createdEvent = read(userName, locale, eventId);
         logger.info("Movie Created {}", eventId);
 
-        return createdEvent.get();
+        return new Movie(eventId, event.title(), event.description(),
+                event.releaseDate(),
+                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                userName, null, null);
     }
 
     private int createLocalizedEvent(final UUID eventId, final Movie event,
@@ -134,6 +202,204 @@ public class MovieService {
                 .update();
     }
 
+    /**
+     * Creates movies along with their localizations, writing each table in
+     * JDBC batches within one transaction. Invalid movies are reported in
+     * their result and not written.
+     *
+     * @param userName the user name
+     * @param movies   the movies
+     * @return the result of each movie, in order
+     */
+    @Transactional
+    public List<BulkResult<Movie>> create(final String userName,
+                                          final List<LocalizedMovie> movies) {
+        final LocalDateTime createdAt = LocalDateTime.now()
+                .truncatedTo(ChronoUnit.MICROS);
+        final List<BulkResult<Movie>> results =
+                new ArrayList<>(movies.size());
+        final List<Object[]> rows = new ArrayList<>();
+        final List<Object[]> localizations = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            final LocalizedMovie movie = movies.get(i);
+            final String error = validate(movie);
+            if (error == null) {
+                final Movie created = new Movie(UUID.randomUUID(),
+                        movie.title(), movie.description(),
+                        movie.releaseDate(), createdAt, userName,
+                        null, null);
+                rows.add(new Object[]{created.id(), created.title(),
+                        created.releaseDate(), created.description(),
+                        createdAt, userName});
+                localizations.addAll(localizationsOf(created.id(), movie));
+                results.add(new BulkResult<>(i, created, null));
+            } else {
+                results.add(new BulkResult<>(i, null, error));
+            }
+        }
+        batch("""
+                INSERT INTO movies(id, title, release_date,
+                description, created_at, created_by)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, rows);
+        insertLocalizations(localizations);
+        cache.evictLists();
+        logger.info("Movies Created {}", rows.size());
+        return results;
+    }
+
+    /**
+     * Updates movies along with their localizations, writing each table in
+     * JDBC batches within one transaction. The updated movies are read back
+     * with one query per batch. Invalid or missing movies are reported in
+     * their result and not written.
+     *
+     * @param userName the user name
+     * @param movies   the movies
+     * @return the result of each movie, in order
+     */
+    @Transactional
+    public List<BulkResult<Movie>> update(final String userName,
+                                          final List<LocalizedMovie> movies) {
+        final LocalDateTime modifiedAt = LocalDateTime.now()
+                .truncatedTo(ChronoUnit.MICROS);
+        final List<BulkResult<Movie>> results =
+                new ArrayList<>(Collections.nCopies(movies.size(), null));
+        final List<Integer> indexes = new ArrayList<>();
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            final LocalizedMovie movie = movies.get(i);
+            final String error = movie.id() == null
+                    ? "Id is required" : validate(movie);
+            if (error == null) {
+                indexes.add(i);
+                rows.add(new Object[]{movie.title(), movie.releaseDate(),
+                        movie.description(), userName, modifiedAt,
+                        movie.id()});
+            } else {
+                results.set(i, new BulkResult<>(i, null, error));
+            }
+        }
+        final int[] counts = batch("""
+                UPDATE movies SET title=?, release_date=?, description=?,
+                modified_by=?, modified_at=? WHERE id=?
+                """, rows);
+
+        final List<UUID> updated = new ArrayList<>();
+        final List<Object[]> localizations = new ArrayList<>();
+        for (int j = 0; j < counts.length; j++) {
+            final int i = indexes.get(j);
+            final LocalizedMovie movie = movies.get(i);
+            if (counts[j] == 0) {
+                results.set(i, new BulkResult<>(i, null, "Movie not found"));
+            } else {
+                updated.add(movie.id());
+                localizations.addAll(localizationsOf(movie.id(), movie));
+            }
+        }
+        batch("""
+                DELETE FROM movies_localized WHERE movie_id=? AND locale=?
+                """, localizations.stream()
+                .map(row -> new Object[]{row[0], row[1]}).toList());
+        insertLocalizations(localizations);
+
+        final Map<UUID, Movie> updatedMovies = selectByIds(updated);
+        for (int i : indexes) {
+            if (results.get(i) == null) {
+                results.set(i, new BulkResult<>(i,
+                        updatedMovies.get(movies.get(i).id()), null));
+            }
+        }
+        cache.evict(updated);
+        logger.info("Movies Updated {}", updated.size());
+        return results;
+    }
+
+    private Map<UUID, Movie> selectByIds(final List<UUID> ids) {
+        final Map<UUID, Movie> movies = new HashMap<>();
+        final int batchSize = appProperties.getCatalog().getBatchSize();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            jdbcClient.sql("""
+                            SELECT id, title, description, release_date,
+                            created_at, created_by, modified_at, modified_by
+                            FROM movies
+                            WHERE id IN (:ids)
+                            """)
+                    .param("ids", ids.subList(from,
+                            Math.min(ids.size(), from + batchSize)))
+                    .query(this::rowMapper).list()
+                    .forEach(movie -> movies.put(movie.id(), movie));
+        }
+        return movies;
+    }
+
+    private void insertLocalizations(final List<Object[]> localizations) {
+        batch("""
+                INSERT INTO movies_localized(
+                movie_id, locale, title, description)
+                VALUES (?, ?, ?, ?)
+                """, localizations);
+    }
+
+    private int[] batch(final String sql, final List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        return Arrays.stream(jdbcTemplate.batchUpdate(sql, rows,
+                        appProperties.getCatalog().getBatchSize(),
+                        (ps, row) -> {
+                            for (int i = 0; i < row.length; i++) {
+                                ps.setObject(i + 1, row[i]);
+                            }
+                        }))
+                .flatMapToInt(Arrays::stream)
+                .toArray();
+    }
+
+    private static List<Object[]> localizationsOf(final UUID id,
+                                                  final LocalizedMovie movie) {
+        if (movie.localizations() == null) {
+            return List.of();
+        }
+        return movie.localizations().entrySet().stream()
+                .map(entry -> new Object[]{id, languageOf(entry.getKey()),
+                        entry.getValue().title(),
+                        entry.getValue().description()})
+                .toList();
+    }
+
+    private static String validate(final LocalizedMovie movie) {
+        if (movie.releaseDate() == null) {
+            return "Release date is required";
+        }
+        if (isTooLong(movie.title())) {
+            return "Title is too long";
+        }
+        if (movie.localizations() != null) {
+            final Set<String> languages = new HashSet<>();
+            for (Map.Entry<String, Localization> entry
+                    : movie.localizations().entrySet()) {
+                final String language = languageOf(entry.getKey());
+                if (language.isEmpty() || !languages.add(language)) {
+                    return "Invalid locale " + entry.getKey();
+                }
+                if (entry.getValue() == null
+                        || isTooLong(entry.getValue().title())) {
+                    return "Invalid localization " + entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String languageOf(final String languageTag) {
+        return Locale.forLanguageTag(languageTag).getLanguage();
+    }
+
+    private static boolean isTooLong(final String title) {
+        return title != null && title.length() > TITLE_LENGTH;
+    }
+
     /**
      * Read optional.
      *
@@ -144,6 +410,10 @@ public class MovieService {
      */
     public Optional<Movie> read(final String userName, final Locale locale,
                                 final UUID id) {
+        return cache.read(locale, id, () -> select(locale, id));
+    }
+
+    private Optional<Movie> select(final Locale locale, final UUID id) {
         final String query = locale == null
                 ? """
                 SELECT id, title, description, release_date, created_at,
@@ -152,21 +422,15 @@ public class MovieService {
                 WHERE id = ?
                 """
                 : """
-                SELECT DISTINCT e.id,
-                    CASE WHEN el.locale = ? THEN el.title
-                    ELSE e.title END AS title,
-                    CASE WHEN el.locale = ? THEN el.description
-                    ELSE e.description END AS description,
+                SELECT e.id,
+                    COALESCE(el.title, e.title) AS title,
+                    COALESCE(el.description, e.description) AS description,
                     e.release_date, e.created_at, e.created_by,
                     e.modified_at, e.modified_by
                 FROM movies e
-                LEFT JOIN movies_localized el ON e.id = el.movie_id
+                LEFT JOIN movies_localized el
+                    ON el.movie_id = e.id AND el.locale = ?
                 WHERE e.id = ?
-                    AND (el.locale IS NULL OR el.locale = ? OR e.id NOT IN (
-                        SELECT movie_id
-                        FROM movies_localized
-                        WHERE movie_id = e.id AND locale = ?
-                    ))
                 """;
 
 
@@ -175,10 +439,7 @@ public class MovieService {
                     .optional()
                     : jdbcClient.sql(query)
                     .param(INDEX_1, locale.getLanguage())
-                    .param(INDEX_2, locale.getLanguage())
-                    .param(INDEX_3, id)
-                    .param(INDEX_4, locale.getLanguage())
-                    .param(INDEX_5, locale.getLanguage())
+                    .param(INDEX_2, id)
                     .query(this::rowMapper).optional();
 
     }
@@ -203,17 +464,19 @@ public class MovieService {
                 : """
                 UPDATE movies SET release_date=?, modified_by=? WHERE id=?
                 """;
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
         int updatedRows = locale == null
                 ? jdbcClient.sql(query)
                 .param(INDEX_1, event.title())
                 .param(INDEX_2, event.releaseDate())
                 .param(INDEX_3, event.description())
                 .param(INDEX_4, userName)
-                .param(INDEX_5, id).update()
+                .param(INDEX_5, id).update(keyHolder, WrittenColumns.UPDATED)
                 : jdbcClient.sql(query)
                 .param(INDEX_1, event.releaseDate())
                 .param(INDEX_2, userName)
-                .param(INDEX_3, id).update();
+                .param(INDEX_3, id)
+                .update(keyHolder, WrittenColumns.UPDATED);
 
         if (updatedRows == 0) {
             logger.error("Update not found {}", id);
@@ -236,7 +499,17 @@ public class MovieService {
                 createLocalizedEvent(id, event, locale);
             }
         }
-        return read(userName, locale, id).get();
+        cache.evict(id);
+        return new Movie(id,
+                WrittenColumns.coalesce(event.title(),
+                        WrittenColumns.string(keyHolder, "title")),
+                WrittenColumns.coalesce(event.description(),
+                        WrittenColumns.string(keyHolder, "description")),
+                event.releaseDate(),
+                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                WrittenColumns.string(keyHolder, "created_by"),
+                WrittenColumns.localDateTime(keyHolder, "modified_at"),
+                userName);
     }
 
     /**
@@ -247,9 +520,12 @@ public class MovieService {
      * @return the boolean
      */
     public boolean delete(final String userName, final UUID id) {
-        return jdbcClient.sql("DELETE FROM movies WHERE id = ?")
+        final boolean deleted = jdbcClient
+                .sql("DELETE FROM movies WHERE id = ?")
                 .param(INDEX_1, id)
                 .update() == 1;
+        cache.evict(id);
+        return deleted;
     }
 
     /**
@@ -260,6 +536,31 @@ public class MovieService {
      * @return the list
      */
     public List<Movie> list(final String userName, final Locale locale) {
+        return cache.list(locale, () -> selectAll(locale));
+    }
+
+    private List<Movie> selectAll(final Locale locale) {
+        return queryAll(locale).list();
+    }
+
+    /**
+     * Streams all the movies to a consumer as they are read off the result
+     * set, without caching them. The read only transaction lets the driver
+     * fetch rows in batches of the fetch size rather than all at once.
+     *
+     * @param userName the user name
+     * @param locale   the locale
+     * @param consumer the consumer of each movie
+     */
+    @Transactional(readOnly = true)
+    public void export(final String userName, final Locale locale,
+                       final Consumer<Movie> consumer) {
+        try (Stream<Movie> rows = queryAll(locale).stream()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    private JdbcClient.MappedQuerySpec<Movie> queryAll(final Locale locale) {
         final String query = locale == null
                 ? """
                 SELECT id, title, description, release_date, created_at,
@@ -267,37 +568,109 @@ public class MovieService {
                 FROM movies
                 """
                 : """
-                SELECT DISTINCT e.id,
-                    CASE WHEN el.locale = ? THEN el.title
-                    ELSE e.title END AS title,
-                    CASE WHEN el.locale = ? THEN el.description
-                    ELSE e.description END AS description,
+                SELECT e.id,
+                    COALESCE(el.title, e.title) AS title,
+                    COALESCE(el.description, e.description) AS description,
                     e.release_date, e.created_at, e.created_by,
                     e.modified_at, e.modified_by
                 FROM movies e
-                LEFT JOIN movies_localized el ON e.id = el.movie_id
-                WHERE el.locale IS NULL OR el.locale = ? OR e.id NOT IN (
-                    SELECT movie_id
-                    FROM movies_localized
-                    WHERE movie_id = e.id AND locale = ?
-                )
+                LEFT JOIN movies_localized el
+                    ON el.movie_id = e.id AND el.locale = ?
                 """;
         return locale == null
-                ? jdbcClient.sql(query).query(this::rowMapper).list()
+                ? jdbcClient.sql(query).query(this::rowMapper)
                 : jdbcClient.sql(query)
                 .param(INDEX_1, locale.getLanguage())
-                .param(INDEX_2, locale.getLanguage())
-                .param(INDEX_3, locale.getLanguage())
-                .param(INDEX_4, locale.getLanguage())
-                .query(this::rowMapper).list();
+                .query(this::rowMapper);
     }
 
 
+    /**
+     * Page of movies in the order they were created.
+     *
+     * @param userName     the user name
+     * @param locale       the locale
+     * @param titlePrefix  the title prefix, may be null
+     * @param releasedFrom the earliest release date, may be null
+     * @param releasedTo   the latest release date, may be null
+     * @param cursor       the cursor of the page, null for the first page
+     * @param size         the page size, null for the default
+     * @return the page
+     */
+    public Page<Movie> page(final String userName, final Locale locale,
+                            final String titlePrefix,
+                            final LocalDate releasedFrom,
+                            final LocalDate releasedTo,
+                            final String cursor, final Integer size) {
+        final int pageSize = keyset.sizeOf(size);
+        final Keyset.Position position = keyset.decode(cursor);
+        return cache.page(locale, Arrays.<Object>asList(titlePrefix,
+                        releasedFrom, releasedTo, cursor, pageSize),
+                () -> selectPage(locale, titlePrefix, releasedFrom,
+                        releasedTo, position, pageSize));
+    }
+
+    private Page<Movie> selectPage(final Locale locale,
+                                   final String titlePrefix,
+                                   final LocalDate releasedFrom,
+                                   final LocalDate releasedTo,
+                                   final Keyset.Position position,
+                                   final int size) {
+        final StringBuilder query = new StringBuilder(locale == null
+                ? """
+                SELECT e.id, e.title, e.description, e.release_date,
+                e.created_at, e.created_by, e.modified_at, e.modified_by
+                FROM movies e
+                WHERE 1 = 1
+                """
+                : """
+                SELECT e.id,
+                    COALESCE(el.title, e.title) AS title,
+                    COALESCE(el.description, e.description) AS description,
+                    e.release_date, e.created_at, e.created_by,
+                    e.modified_at, e.modified_by
+                FROM movies e
+                LEFT JOIN movies_localized el
+                    ON el.movie_id = e.id AND el.locale = ?
+                WHERE 1 = 1
+                """);
+        final List<Object> params = new ArrayList<>();
+        if (locale != null) {
+            params.add(locale.getLanguage());
+        }
+        if (titlePrefix != null) {
+            query.append(locale == null
+                    ? "AND e.title LIKE ? ESCAPE '\\'\n"
+                    : "AND COALESCE(el.title, e.title) LIKE ? ESCAPE '\\'\n");
+            params.add(Keyset.startsWith(titlePrefix));
+        }
+        if (releasedFrom != null) {
+            query.append("AND e.release_date >= ?\n");
+            params.add(releasedFrom);
+        }
+        if (releasedTo != null) {
+            query.append("AND e.release_date <= ?\n");
+            params.add(releasedTo);
+        }
+        if (position != null) {
+            query.append("AND (e.created_at, e.id) > (?, ?)\n");
+            params.add(position.createdAt());
+            params.add(position.id());
+        }
+        query.append("ORDER BY e.created_at, e.id LIMIT ?");
+        params.add(size + 1);
+        return keyset.pageOf(jdbcClient.sql(query.toString())
+                        .params(params)
+                        .query(this::rowMapper).list(),
+                size, Movie::createdAt, Movie::id);
+    }
+
     /**
      * Delete all the movies related data.
      */
     public void delete() {
         jdbcClient.sql("DELETE FROM movies_localized").update();
         jdbcClient.sql("DELETE FROM movies").update();
+        cache.clear();
     }
 }
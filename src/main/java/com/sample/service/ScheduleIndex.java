@@ -0,0 +1,155 @@
+package com.sample.service;
+
+import com.sample.model.Show;
+import com.sample.service.ShowService.Inventory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Upcoming shows by (movie, date) and by (theatre, date), each in order of
+ * start time. Shows are added and removed one at a time as they are
+ * created, cancelled and started, so that the index is never rebuilt and
+ * keeps no past days.
+ */
+final class ScheduleIndex {
+
+    /**
+     * Orders the shows of a day.
+     */
+    private static final Comparator<Slot> BY_START = Comparator
+            .comparing(Slot::startsAt)
+            .thenComparing(Slot::showId);
+
+    /**
+     * Shows of a movie on a day.
+     */
+    private final Map<Key, NavigableMap<Slot, Inventory>> byMovie =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Shows of a theatre on a day.
+     */
+    private final Map<Key, NavigableMap<Slot, Inventory>> byTheatre =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Adds a show.
+     *
+     * @param inventory the show, with its theatre
+     */
+    void add(final Inventory inventory) {
+        final LocalDate date = inventory.show().startsAt().toLocalDate();
+        add(byMovie, new Key(inventory.show().movieId(), date), inventory);
+        add(byTheatre, new Key(inventory.theatreId(), date), inventory);
+    }
+
+    /**
+     * Removes a show.
+     *
+     * @param inventory the show, with its theatre
+     */
+    void remove(final Inventory inventory) {
+        final Show show = inventory.show();
+        final LocalDate date = show.startsAt().toLocalDate();
+        final Slot slot = new Slot(show.startsAt(), show.id());
+        remove(byMovie, new Key(show.movieId(), date), slot);
+        remove(byTheatre, new Key(inventory.theatreId(), date), slot);
+    }
+
+    /**
+     * Finds the shows of a day not started yet, in order of start time. A
+     * movie is looked up by its own day, and its shows filtered by theatre;
+     * otherwise the days of the theatres are merged.
+     *
+     * @param movieId    the movie, null for any
+     * @param theatreIds the theatres, empty for any
+     * @param date       the date
+     * @param now        the time shows started by are left out
+     * @return the shows
+     */
+    List<Inventory> find(final UUID movieId,
+                         final Collection<UUID> theatreIds,
+                         final LocalDate date, final LocalDateTime now) {
+        if (movieId != null) {
+            return day(byMovie, movieId, date).values().stream()
+                    .filter(inventory -> theatreIds.isEmpty()
+                            || theatreIds.contains(inventory.theatreId()))
+                    .filter(inventory -> !ShowService.hasStarted(inventory,
+                            now))
+                    .toList();
+        }
+        return theatreIds.stream().distinct()
+                .flatMap(theatreId -> day(byTheatre, theatreId, date)
+                        .entrySet().stream())
+                .filter(entry -> !ShowService.hasStarted(entry.getValue(),
+                        now))
+                .sorted(Map.Entry.comparingByKey(BY_START))
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    /**
+     * Removes all the shows.
+     */
+    void clear() {
+        byMovie.clear();
+        byTheatre.clear();
+    }
+
+    private static NavigableMap<Slot, Inventory> day(
+            final Map<Key, NavigableMap<Slot, Inventory>> index,
+            final UUID id, final LocalDate date) {
+        return Objects.requireNonNullElse(index.get(new Key(id, date)),
+                Collections.emptyNavigableMap());
+    }
+
+    private static void add(
+            final Map<Key, NavigableMap<Slot, Inventory>> index,
+            final Key key, final Inventory inventory) {
+        index.compute(key, (k, shows) -> {
+            final NavigableMap<Slot, Inventory> day = shows == null
+                    ? new ConcurrentSkipListMap<>(BY_START) : shows;
+            day.put(new Slot(inventory.show().startsAt(),
+                    inventory.show().id()), inventory);
+            return day;
+        });
+    }
+
+    private static void remove(
+            final Map<Key, NavigableMap<Slot, Inventory>> index,
+            final Key key, final Slot slot) {
+        index.computeIfPresent(key, (k, day) -> {
+            day.remove(slot);
+            return day.isEmpty() ? null : day;
+        });
+    }
+
+    /**
+     * A movie or theatre on a day.
+     *
+     * @param id   the movie or theatre id
+     * @param date the date
+     */
+    private record Key(UUID id, LocalDate date) {
+    }
+
+    /**
+     * Position of a show within its day.
+     *
+     * @param startsAt the start time
+     * @param showId   the show id
+     */
+    private record Slot(LocalDateTime startsAt, UUID showId) {
+    }
+}
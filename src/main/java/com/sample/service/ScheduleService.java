@@ -0,0 +1,89 @@
+package com.sample.service;
+
+import com.sample.model.Movie;
+import com.sample.model.ScheduledShow;
+import com.sample.model.Theatre;
+import com.sample.starter.security.exception.BadRequestException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Answers which shows are on, for a movie, in theatres, on a day, from the
+ * schedule index of the show service. The movies and theatres of the shows
+ * are read through their caches, once a query.
+ */
+@Service
+public class ScheduleService {
+
+    /**
+     * Show service.
+     */
+    private final ShowService showService;
+
+    /**
+     * Movie service.
+     */
+    private final MovieService movieService;
+
+    /**
+     * Theatre service.
+     */
+    private final TheatreService theatreService;
+
+    /**
+     * Instantiates a new Schedule service.
+     *
+     * @param aShowService    the show service
+     * @param aMovieService   the movie service
+     * @param aTheatreService the theatre service
+     */
+    public ScheduleService(final ShowService aShowService,
+                           final MovieService aMovieService,
+                           final TheatreService aTheatreService) {
+        this.showService = aShowService;
+        this.movieService = aMovieService;
+        this.theatreService = aTheatreService;
+    }
+
+    /**
+     * Finds the upcoming shows of a day, in order of start time.
+     *
+     * @param userName   the user name
+     * @param locale     the locale
+     * @param movieId    the movie, null for any
+     * @param theatreIds the theatres, empty for any
+     * @param date       the date, null for today
+     * @return the shows
+     */
+    public List<ScheduledShow> find(final String userName,
+                                    final Locale locale,
+                                    final UUID movieId,
+                                    final List<UUID> theatreIds,
+                                    final LocalDate date) {
+        if (movieId == null && theatreIds.isEmpty()) {
+            throw new BadRequestException("A movie or a theatre is required");
+        }
+        final Map<UUID, Optional<Movie>> movies = new HashMap<>();
+        final Map<UUID, Optional<Theatre>> theatres = new HashMap<>();
+        return showService.scheduled(movieId, theatreIds,
+                        date == null ? LocalDate.now() : date).stream()
+                .map(inventory -> new ScheduledShow(inventory.show().id(),
+                        inventory.show().startsAt(),
+                        inventory.show().screenId(),
+                        inventory.seats().available(),
+                        movies.computeIfAbsent(inventory.show().movieId(),
+                                id -> movieService.read(userName, locale,
+                                        id)).orElse(null),
+                        theatres.computeIfAbsent(inventory.theatreId(),
+                                id -> theatreService.read(userName, locale,
+                                        id)).orElse(null)))
+                .toList();
+    }
+}
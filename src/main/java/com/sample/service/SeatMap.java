@@ -0,0 +1,281 @@
+package com.sample.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat states of a show, packed two bits a seat into atomic words of 32
+ * seats. Reads never lock, and a change to the seats of a word is a single
+ * compare and set, so that a seat is never handed out twice. Changes that
+ * span words are undone if any of the words fails.
+ */
+public final class SeatMap {
+
+    /**
+     * State of a seat that can be held.
+     */
+    static final long AVAILABLE = 0b00;
+
+    /**
+     * State of a seat held for a booking.
+     */
+    static final long HELD = 0b01;
+
+    /**
+     * State of a seat sold.
+     */
+    static final long SOLD = 0b10;
+
+    /**
+     * Bits of a seat.
+     */
+    private static final int BITS = 2;
+
+    /**
+     * Mask of the state of a seat.
+     */
+    private static final long STATE = 0b11;
+
+    /**
+     * Seats of a word.
+     */
+    private static final int SEATS_PER_WORD = Long.SIZE / BITS;
+
+    /**
+     * Low bit of every seat of a word.
+     */
+    private static final long LOW_BITS = 0x5555_5555_5555_5555L;
+
+    /**
+     * Characters of the states, by state.
+     */
+    private static final char[] CODES = {'A', 'H', 'S'};
+
+    /**
+     * Number of seats.
+     */
+    private final int capacity;
+
+    /**
+     * Seat states.
+     */
+    private final AtomicLongArray words;
+
+    /**
+     * Builds a map of available seats.
+     *
+     * @param aCapacity the number of seats
+     */
+    public SeatMap(final int aCapacity) {
+        this.capacity = aCapacity;
+        this.words = new AtomicLongArray(
+                (aCapacity + SEATS_PER_WORD - 1) / SEATS_PER_WORD);
+    }
+
+    /**
+     * Gets the number of seats.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Tells if a seat is available.
+     *
+     * @param seat the seat
+     * @return true if available
+     */
+    public boolean isAvailable(final int seat) {
+        return stateOf(checked(seat)) == AVAILABLE;
+    }
+
+    /**
+     * Gets the number of available seats.
+     *
+     * @return the available seats
+     */
+    public int available() {
+        int taken = 0;
+        for (int i = 0; i < words.length(); i++) {
+            final long word = words.get(i);
+            taken += Long.bitCount((word | word >>> 1) & LOW_BITS);
+        }
+        return capacity - taken;
+    }
+
+    /**
+     * Holds seats, all of them or none.
+     *
+     * @param seats the seats
+     * @return true if all were available and are now held
+     */
+    public boolean hold(final int... seats) {
+        return change(seats, AVAILABLE, HELD);
+    }
+
+    /**
+     * Releases held seats, all of them or none.
+     *
+     * @param seats the seats
+     * @return true if all were held and are now available
+     */
+    public boolean release(final int... seats) {
+        return change(seats, HELD, AVAILABLE);
+    }
+
+    /**
+     * Sells held seats, all of them or none.
+     *
+     * @param seats the seats
+     * @return true if all were held and are now sold
+     */
+    public boolean sell(final int... seats) {
+        return change(seats, HELD, SOLD);
+    }
+
+    /**
+     * Marks a seat sold, whatever its state. Used to load the seats sold
+     * before the map was built.
+     *
+     * @param seat the seat
+     */
+    void markSold(final int seat) {
+        final int word = checked(seat) / SEATS_PER_WORD;
+        final int shift = seat % SEATS_PER_WORD * BITS;
+        long current;
+        do {
+            current = words.get(word);
+        } while (!words.compareAndSet(word, current,
+                current & ~(STATE << shift) | SOLD << shift));
+    }
+
+    /**
+     * Renders the seats a row each, one character a seat: A for available,
+     * H for held and S for sold.
+     *
+     * @param seatsPerRow the seats of a row
+     * @return the rows
+     */
+    public List<String> rows(final int seatsPerRow) {
+        final List<String> rows = new ArrayList<>(capacity / seatsPerRow);
+        final StringBuilder row = new StringBuilder(seatsPerRow);
+        for (int seat = 0; seat < capacity; seat++) {
+            row.append(CODES[(int) stateOf(seat)]);
+            if (row.length() == seatsPerRow) {
+                rows.add(row.toString());
+                row.setLength(0);
+            }
+        }
+        if (!row.isEmpty()) {
+            rows.add(row.toString());
+        }
+        return rows;
+    }
+
+    private long stateOf(final int seat) {
+        return words.get(seat / SEATS_PER_WORD)
+                >>> (seat % SEATS_PER_WORD * BITS) & STATE;
+    }
+
+    private int checked(final int seat) {
+        if (seat < 0 || seat >= capacity) {
+            throw new IllegalArgumentException("No seat " + seat);
+        }
+        return seat;
+    }
+
+    /**
+     * Moves seats from a state to another, a word at a time.
+     *
+     * @param seats the seats
+     * @param from  the state all the seats must be in
+     * @param to    the state to move them to
+     * @return true if all the seats moved
+     */
+    private boolean change(final int[] seats, final long from,
+                           final long to) {
+        final List<Change> changes = changesOf(seats, from, to);
+        for (int i = 0; i < changes.size(); i++) {
+            if (!changes.get(i).apply(words)) {
+                for (int j = 0; j < i; j++) {
+                    changes.get(j).undo(words);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Change> changesOf(final int[] seats, final long from,
+                                   final long to) {
+        final int[] sorted = seats.clone();
+        Arrays.sort(sorted);
+        final List<Change> changes = new ArrayList<>();
+        Change change = null;
+        for (int i = 0; i < sorted.length; i++) {
+            final int seat = checked(sorted[i]);
+            if (i > 0 && seat == sorted[i - 1]) {
+                throw new IllegalArgumentException("Seat " + seat
+                        + " is repeated");
+            }
+            final int word = seat / SEATS_PER_WORD;
+            final int shift = seat % SEATS_PER_WORD * BITS;
+            if (change == null || change.word() != word) {
+                change = new Change(word, 0, 0, 0);
+                changes.add(change);
+            }
+            change = new Change(word, change.mask() | STATE << shift,
+                    change.from() | from << shift,
+                    change.to() | to << shift);
+            changes.set(changes.size() - 1, change);
+        }
+        return changes;
+    }
+
+    /**
+     * Change of the seats of a word.
+     *
+     * @param word the index of the word
+     * @param mask the bits of the seats
+     * @param from the bits the seats must have
+     * @param to   the bits to set
+     */
+    private record Change(int word, long mask, long from, long to) {
+
+        /**
+         * Applies the change, if the seats are as expected.
+         *
+         * @param seatWords the words
+         * @return true if applied
+         */
+        boolean apply(final AtomicLongArray seatWords) {
+            return swap(seatWords, from, to);
+        }
+
+        /**
+         * Reverts an applied change.
+         *
+         * @param seatWords the words
+         */
+        void undo(final AtomicLongArray seatWords) {
+            swap(seatWords, to, from);
+        }
+
+        private boolean swap(final AtomicLongArray seatWords,
+                             final long expected, final long update) {
+            long current;
+            do {
+                current = seatWords.get(word);
+                if ((current & mask) != expected) {
+                    return false;
+                }
+            } while (!seatWords.compareAndSet(word, current,
+                    current & ~mask | update));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.sample.service;
+
+import com.sample.event.ShowsClosedEvent;
+import com.sample.model.Screen;
+import com.sample.model.SeatAvailability;
+import com.sample.model.Show;
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screens of the theatres and their shows. The seat map of every upcoming
+ * show is held in memory, so that seat availability never reads the
+ * database, and so is the schedule of the upcoming shows. Shows leave
+ * memory once started, swept by a background thread.
+ */
+@Service
+public class ShowService {
+
+    /**
+     * Index.
+     */
+    private static final int INDEX_1 = 1;
+    /**
+     * Index.
+     */
+    private static final int INDEX_2 = 2;
+    /**
+     * Index.
+     */
+    private static final int INDEX_3 = 3;
+    /**
+     * Index.
+     */
+    private static final int INDEX_4 = 4;
+    /**
+     * Index.
+     */
+    private static final int INDEX_5 = 5;
+    /**
+     * Index.
+     */
+    private static final int INDEX_6 = 6;
+    /**
+     * Index.
+     */
+    private static final int INDEX_7 = 7;
+    /**
+     * Index.
+     */
+    private static final int INDEX_8 = 8;
+    /**
+     * Index.
+     */
+    private static final int INDEX_9 = 9;
+
+    /**
+     * Seats of the largest screen.
+     */
+    private static final int MAX_SEATS = 10_000;
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(ShowService.class);
+
+    /**
+     * JdbcClient.
+     */
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Publishes the shows closed.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Inventory of the upcoming shows by id.
+     */
+    private final Map<UUID, Inventory> inventories = new ConcurrentHashMap<>();
+
+    /**
+     * Upcoming shows by movie and by theatre, a day at a time.
+     */
+    private final ScheduleIndex schedule = new ScheduleIndex();
+
+    /**
+     * Sweeper of started shows.
+     */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Instantiates a new Show service.
+     *
+     * @param aJdbcClient      the jdbc client
+     * @param anAppProperties  the app properties
+     * @param anEventPublisher the event publisher
+     */
+    public ShowService(final JdbcClient aJdbcClient,
+                       final AppProperties anAppProperties,
+                       final ApplicationEventPublisher anEventPublisher) {
+        this.jdbcClient = aJdbcClient;
+        this.eventPublisher = anEventPublisher;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "show-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval =
+                anAppProperties.getBooking().getShowSweepIntervalMsec();
+        sweeper.scheduleWithFixedDelay(
+                () -> sweep(LocalDateTime.now()), interval, interval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the sweeper.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Loads the shows from today on, along with their sold seats.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final LocalDateTime from = LocalDate.now().atStartOfDay();
+        jdbcClient.sql("""
+                        SELECT s.id, s.movie_id, s.screen_id, s.starts_at,
+                        s.created_at, s.created_by,
+                        c.theatre_id, c.seat_rows, c.seats_per_row
+                        FROM shows s
+                        JOIN screens c ON c.id = s.screen_id
+                        WHERE s.starts_at >= ? AND s.cancelled_at IS NULL
+                        """)
+                .param(INDEX_1, from)
+                .query(this::inventoryMapper).list()
+                .forEach(this::add);
+        jdbcClient.sql("""
+                        SELECT ss.show_id, ss.seat
+                        FROM show_seats ss
+                        JOIN shows s ON s.id = ss.show_id
+                        WHERE s.starts_at >= ? AND s.cancelled_at IS NULL
+                        """)
+                .param(INDEX_1, from)
+                .query((RowCallbackHandler) rs -> inventories
+                        .get((UUID) rs.getObject(INDEX_1))
+                        .seats().markSold(rs.getInt(INDEX_2)));
+        logger.info("Seat maps of {} shows loaded", inventories.size());
+    }
+
+    private Inventory inventoryMapper(final ResultSet rs, final int rowNum)
+            throws SQLException {
+        final int rows = rs.getInt(INDEX_8);
+        final int seatsPerRow = rs.getInt(INDEX_9);
+        return new Inventory(new Show(
+                (UUID) rs.getObject(INDEX_1),
+                (UUID) rs.getObject(INDEX_2),
+                (UUID) rs.getObject(INDEX_3),
+                rs.getObject(INDEX_4, LocalDateTime.class),
+                rs.getObject(INDEX_5, LocalDateTime.class),
+                rs.getString(INDEX_6)),
+                (UUID) rs.getObject(INDEX_7),
+                seatsPerRow,
+                new SeatMap(rows * seatsPerRow));
+    }
+
+    private Screen screenMapper(final ResultSet rs, final int rowNum)
+            throws SQLException {
+        return new Screen(
+                (UUID) rs.getObject(INDEX_1),
+                (UUID) rs.getObject(INDEX_2),
+                rs.getString(INDEX_3),
+                rs.getInt(INDEX_4),
+                rs.getInt(INDEX_5),
+                rs.getObject(INDEX_6, LocalDateTime.class),
+                rs.getString(INDEX_7));
+    }
+
+    /**
+     * Create a screen.
+     *
+     * @param userName  the user name
+     * @param theatreId the theatre id
+     * @param screen    the screen
+     * @return the screen
+     */
+    public Screen createScreen(final String userName, final UUID theatreId,
+                               final Screen screen) {
+        if (screen.rows() <= 0 || screen.seatsPerRow() <= 0
+                || (long) screen.rows() * screen.seatsPerRow() > MAX_SEATS) {
+            throw new BadRequestException("Invalid seat layout");
+        }
+        final UUID screenId = UUID.randomUUID();
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            jdbcClient.sql("""
+                            INSERT INTO screens(id, theatre_id, title,
+                            seat_rows, seats_per_row, created_by)
+                            VALUES (?, ?, ?, ?, ?, ?)
+                            """)
+                    .param(INDEX_1, screenId)
+                    .param(INDEX_2, theatreId)
+                    .param(INDEX_3, screen.title())
+                    .param(INDEX_4, screen.rows())
+                    .param(INDEX_5, screen.seatsPerRow())
+                    .param(INDEX_6, userName)
+                    .update(keyHolder, WrittenColumns.CREATED);
+        } catch (final DataIntegrityViolationException ex) {
+            throw new BadRequestException("Theatre not found", ex);
+        }
+        logger.info("Screen Created {}", screenId);
+        return new Screen(screenId, theatreId, screen.title(), screen.rows(),
+                screen.seatsPerRow(),
+                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                userName);
+    }
+
+    /**
+     * Create a show of a movie on a screen of a theatre.
+     *
+     * @param userName  the user name
+     * @param theatreId the theatre id
+     * @param show      the show
+     * @return the show
+     */
+    public Show createShow(final String userName, final UUID theatreId,
+                           final Show show) {
+        final Screen screen = jdbcClient.sql("""
+                        SELECT id, theatre_id, title, seat_rows,
+                        seats_per_row, created_at, created_by
+                        FROM screens
+                        WHERE id = ? AND theatre_id = ?
+                        """)
+                .param(INDEX_1, show.screenId())
+                .param(INDEX_2, theatreId)
+                .query(this::screenMapper).optional()
+                .orElseThrow(() -> new BadRequestException(
+                        "Screen not found"));
+        if (show.startsAt() == null) {
+            throw new BadRequestException("Start time is required");
+        }
+        final UUID showId = UUID.randomUUID();
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            jdbcClient.sql("""
+                            INSERT INTO shows(id, movie_id, screen_id,
+                            starts_at, created_by)
+                            VALUES (?, ?, ?, ?, ?)
+                            """)
+                    .param(INDEX_1, showId)
+                    .param(INDEX_2, show.movieId())
+                    .param(INDEX_3, screen.id())
+                    .param(INDEX_4, show.startsAt())
+                    .param(INDEX_5, userName)
+                    .update(keyHolder, WrittenColumns.CREATED);
+        } catch (final DataIntegrityViolationException ex) {
+            throw new BadRequestException("Movie not found", ex);
+        }
+        final Show created = new Show(showId, show.movieId(), screen.id(),
+                show.startsAt(),
+                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                userName);
+        add(new Inventory(created, theatreId, screen.seatsPerRow(),
+                new SeatMap(screen.rows() * screen.seatsPerRow())));
+        logger.info("Show Created {}", showId);
+        return created;
+    }
+
+    /**
+     * Cancel a show of a theatre. The show leaves the seat maps, the
+     * schedule and the waitlists; its bookings are kept.
+     *
+     * @param userName  the user name
+     * @param theatreId the theatre id
+     * @param showId    the show id
+     * @return true if cancelled, false if not found or cancelled already
+     */
+    public boolean cancelShow(final String userName, final UUID theatreId,
+                              final UUID showId) {
+        final int cancelled = jdbcClient.sql("""
+                        UPDATE shows
+                        SET cancelled_at = CURRENT_TIMESTAMP,
+                        cancelled_by = ?
+                        WHERE id = ? AND cancelled_at IS NULL
+                        AND screen_id IN (
+                            SELECT id FROM screens WHERE theatre_id = ?
+                        )
+                        """)
+                .param(INDEX_1, userName)
+                .param(INDEX_2, showId)
+                .param(INDEX_3, theatreId)
+                .update();
+        if (cancelled == 0) {
+            return false;
+        }
+        final Inventory inventory = inventories.remove(showId);
+        if (inventory != null) {
+            schedule.remove(inventory);
+            eventPublisher.publishEvent(new ShowsClosedEvent(
+                    List.of(showId)));
+        }
+        logger.info("Show Cancelled {}", showId);
+        return true;
+    }
+
+    /**
+     * Gets the seat availability of a show of a theatre, from memory.
+     *
+     * @param theatreId the theatre id
+     * @param showId    the show id
+     * @return the seat availability, empty if the show is not upcoming
+     */
+    public Optional<SeatAvailability> seats(final UUID theatreId,
+                                            final UUID showId) {
+        return inventory(showId)
+                .filter(inventory -> inventory.theatreId().equals(theatreId))
+                .map(inventory -> new SeatAvailability(showId,
+                        inventory.seats().available(),
+                        inventory.seats().rows(inventory.seatsPerRow())));
+    }
+
+    /**
+     * Gets the inventory of an upcoming show.
+     *
+     * @param showId the show id
+     * @return the inventory
+     */
+    Optional<Inventory> inventory(final UUID showId) {
+        return Optional.ofNullable(inventories.get(showId));
+    }
+
+    /**
+     * Finds the upcoming shows of a day, in order of start time. Shows
+     * started since the last sweep are left out.
+     *
+     * @param movieId    the movie, null for any
+     * @param theatreIds the theatres, empty for any
+     * @param date       the date
+     * @return the inventories of the shows
+     */
+    List<Inventory> scheduled(final UUID movieId,
+                              final Collection<UUID> theatreIds,
+                              final LocalDate date) {
+        return schedule.find(movieId, theatreIds, date, LocalDateTime.now());
+    }
+
+    /**
+     * Drops the shows started by a time from the seat maps and the
+     * schedule, which so keeps no past days. Their holds and waitlists are
+     * then dropped as those of cancelled shows are.
+     *
+     * @param now the time
+     */
+    void sweep(final LocalDateTime now) {
+        final List<Inventory> started = inventories.values().stream()
+                .filter(inventory -> hasStarted(inventory, now))
+                .toList();
+        started.forEach(inventory -> {
+            inventories.remove(inventory.show().id(), inventory);
+            schedule.remove(inventory);
+        });
+        if (!started.isEmpty()) {
+            eventPublisher.publishEvent(new ShowsClosedEvent(started.stream()
+                    .map(inventory -> inventory.show().id()).toList()));
+            logger.info("Started Shows Dropped {}", started.size());
+        }
+    }
+
+    /**
+     * Whether a show has started by a time.
+     *
+     * @param inventory the show
+     * @param now       the time
+     * @return true if started
+     */
+    static boolean hasStarted(final Inventory inventory,
+                              final LocalDateTime now) {
+        return !inventory.show().startsAt().isAfter(now);
+    }
+
+    /**
+     * Delete all the shows and screens, along with their bookings.
+     */
+    public void delete() {
+        jdbcClient.sql("DELETE FROM show_seats").update();
+        jdbcClient.sql("DELETE FROM bookings").update();
+        jdbcClient.sql("DELETE FROM shows").update();
+        jdbcClient.sql("DELETE FROM screens").update();
+        inventories.clear();
+        schedule.clear();
+    }
+
+    private void add(final Inventory inventory) {
+        inventories.put(inventory.show().id(), inventory);
+        schedule.add(inventory);
+    }
+
+    /**
+     * Seats of an upcoming show.
+     *
+     * @param show        the show
+     * @param theatreId   the theatre of the show
+     * @param seatsPerRow the seats of a row
+     * @param seats       the seat map
+     */
+    record Inventory(Show show, UUID theatreId, int seatsPerRow,
+                     SeatMap seats) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.sample.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel. Timeouts are dropped into the bucket of the tick
+ * they are due on, and a single worker thread expires one bucket a tick,
+ * so that scheduling and cancelling cost O(1) and nothing is polled.
+ * Timeouts fire at most one tick late.
+ */
+public final class TimerWheel implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+    /**
+     * Length of a tick.
+     */
+    private final long tickNanos;
+
+    /**
+     * Timeouts by tick, modulo the size of the wheel. Touched by the worker
+     * only.
+     */
+    private final List<Queue<Timeout>> buckets;
+
+    /**
+     * Selects the bucket of a tick.
+     */
+    private final int mask;
+
+    /**
+     * Timeouts scheduled since the last tick.
+     */
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Time of tick zero.
+     */
+    private final long start;
+
+    /**
+     * Worker.
+     */
+    private final Thread worker;
+
+    /**
+     * Current tick. Touched by the worker only.
+     */
+    private long tick;
+
+    /**
+     * Whether the worker runs.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Starts a wheel.
+     *
+     * @param name     the name of the worker thread
+     * @param tickMsec the length of a tick
+     * @param size     the ticks of a turn, rounded down to a power of two
+     */
+    public TimerWheel(final String name, final long tickMsec,
+                      final int size) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMsec));
+        final int ticks = Integer.highestOneBit(Math.max(1, size));
+        this.buckets = new ArrayList<>(ticks);
+        for (int i = 0; i < ticks; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.mask = ticks - 1;
+        this.start = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task      the task, run on the worker thread
+     * @param delayMsec the delay
+     * @return the timeout of the task
+     */
+    public Timeout schedule(final Runnable task, final long delayMsec) {
+        final Timeout timeout = new Timeout(task, System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(delayMsec));
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the worker. Pending timeouts never fire.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            final long deadline = start + (tick + 1) * tickNanos;
+            long sleep = deadline - System.nanoTime();
+            while (sleep > 0 && running) {
+                LockSupport.parkNanos(sleep);
+                sleep = deadline - System.nanoTime();
+            }
+            transfer();
+            expire(buckets.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transfer() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+            final long due = Math.max(tick,
+                    (timeout.deadline - start) / tickNanos);
+            timeout.rounds = (due - tick) / buckets.size();
+            buckets.get((int) (due & mask)).add(timeout);
+        }
+    }
+
+    private void expire(final Queue<Timeout> bucket) {
+        final Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            final Timeout timeout = iterator.next();
+            if (timeout.state.get() != Timeout.PENDING) {
+                iterator.remove();
+            } else if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else {
+                iterator.remove();
+                if (timeout.state.compareAndSet(Timeout.PENDING,
+                        Timeout.EXPIRED)) {
+                    try {
+                        timeout.task.run();
+                    } catch (final RuntimeException ex) {
+                        logger.error("Timeout task failed", ex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A scheduled task, that either expires or is cancelled, once.
+     */
+    public static final class Timeout {
+
+        /**
+         * Neither expired nor cancelled.
+         */
+        private static final int PENDING = 0;
+
+        /**
+         * Task run, or running.
+         */
+        private static final int EXPIRED = 1;
+
+        /**
+         * Task never to run.
+         */
+        private static final int CANCELLED = 2;
+
+        /**
+         * State.
+         */
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        /**
+         * Task.
+         */
+        private final Runnable task;
+
+        /**
+         * Time the task is due.
+         */
+        private final long deadline;
+
+        /**
+         * Turns of the wheel left. Touched by the worker only.
+         */
+        private long rounds;
+
+        private Timeout(final Runnable aTask, final long aDeadline) {
+            this.task = aTask;
+            this.deadline = aDeadline;
+        }
+
+        /**
+         * Cancels the task, unless it has expired.
+         *
+         * @return true if cancelled
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        /**
+         * Tells if the task has run, or is running.
+         *
+         * @return true if expired
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.sample.service;
 
+import com.sample.event.UserChangedEvent;
 import com.sample.model.UserProfile;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
@@ -18,25 +20,42 @@ import java.util.Optional;
 public class UserProfileService {
 
 
-    /**
-     * this is the connection for the database.
-     */
-    private final DataSource dataSource;
     /**
      * this helps to execute sql queries.
      */
     private final JdbcTemplate jdbcTemplate;
 
     /**
-     * this is the constructor.
+     * Inserts a profile, compiled once.
+     */
+    private final SimpleJdbcInsert profileInsert;
+
+    /**
+     * Publishes profile changes.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * this is the constructor. The insert names its columns, so that it is
+     * compiled here without reading the metadata of the table.
      *
      * @param anDataSource
      * @param anJdbcTemplate
+     * @param anEventPublisher
      */
     public UserProfileService(final DataSource anDataSource,
-                              final JdbcTemplate anJdbcTemplate) {
-        this.dataSource = anDataSource;
+                              final JdbcTemplate anJdbcTemplate,
+                              final ApplicationEventPublisher
+                                      anEventPublisher) {
         this.jdbcTemplate = anJdbcTemplate;
+        this.profileInsert = new SimpleJdbcInsert(anDataSource)
+                .withTableName("user_profile")
+                .usingColumns("user_handle",
+                        "first_name",
+                        "last_name", "dob")
+                .withoutTableColumnMetaDataAccess();
+        this.profileInsert.compile();
+        this.eventPublisher = anEventPublisher;
     }
 
     /**
@@ -62,27 +81,21 @@ public class UserProfileService {
 
     /**
      * @param userProfile
-     * @return userProfile
+     * @return userProfile, as written, so that it is not read back
      */
     public UserProfile create(final UserProfile userProfile) {
 
-        final SimpleJdbcInsert insert = new SimpleJdbcInsert(dataSource)
-                .withTableName("user_profile")
-                .usingColumns("user_handle",
-                        "first_name",
-                        "last_name", "dob");
         final Map<String, Object> valueMap = new HashMap<>();
         valueMap.put("user_handle", userProfile.userHandle());
         valueMap.put("first_name", userProfile.firstName());
         valueMap.put("last_name", userProfile.lastName());
         valueMap.put("dob", userProfile.dob());
 
-        insert.execute(valueMap);
-
-        final Optional<UserProfile> createdUser =
-                read(userProfile.userHandle());
+        profileInsert.execute(valueMap);
+        eventPublisher.publishEvent(
+                new UserChangedEvent(userProfile.userHandle()));
 
-        return createdUser.get();
+        return userProfile;
     }
 
     /**
@@ -1,13 +1,15 @@
 package com.sample.service;
+import com.sample.event.UserChangedEvent;
 import com.sample.model.AuthProvider;
-import com.sample.model.Handle;
 import com.sample.model.User;
+import com.sample.model.UserProfile;
 import com.sample.starter.security.payload.SignupRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
@@ -36,34 +38,68 @@ public class UserService {
     private final Logger logger =
             LoggerFactory.getLogger(UserService.class);
 
-    /**
-     * this is the connection for the database.
-     */
-    private final DataSource dataSource;
     /**
      * this helps to execute sql queries.
      */
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * Inserts a handle, compiled once.
+     */
+    private final SimpleJdbcInsert handleInsert;
+
+    /**
+     * Inserts a user, compiled once.
+     */
+    private final SimpleJdbcInsert userInsert;
+
+    /**
+     * Creates the profile of a user signing up with one.
+     */
+    private final UserProfileService userProfileService;
+
     /**
      * Bean Validator.
      */
     private final Validator validator;
 
     /**
-     * this is the constructor.
+     * Publishes user changes.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * this is the constructor. The inserts name their columns, so that
+     * they are compiled here without reading the metadata of the tables.
      *
      * @param anDataSource
      * @param anJdbcTemplate
+     * @param aUserProfileService
      * @param pValidator
+     * @param anEventPublisher
      */
     public UserService(final DataSource anDataSource,
                        final JdbcTemplate anJdbcTemplate,
+                       final UserProfileService aUserProfileService,
                        final Validator
-                                  pValidator) {
-        this.dataSource = anDataSource;
+                                  pValidator,
+                       final ApplicationEventPublisher anEventPublisher) {
         this.jdbcTemplate = anJdbcTemplate;
+        this.handleInsert = new SimpleJdbcInsert(anDataSource)
+                .withTableName("handle")
+                .usingColumns("user_handle", "type")
+                .withoutTableColumnMetaDataAccess();
+        this.handleInsert.compile();
+        this.userInsert = new SimpleJdbcInsert(anDataSource)
+                .withTableName("\"user\"")
+                .usingColumns("user_handle", "email",
+                        "pword",
+                        "provider", "image_url")
+                .withoutTableColumnMetaDataAccess();
+        this.userInsert.compile();
+        this.userProfileService = aUserProfileService;
         this.validator = pValidator;
+        this.eventPublisher = anEventPublisher;
     }
 
     /**
@@ -97,18 +133,35 @@ public class UserService {
     @Transactional
     public void signUp(final SignupRequest signUpRequest,
                        final Function<String, String> encoderFunction) {
+        signUp(signUpRequest, encoderFunction, null);
+    }
+
+    /**
+     * Sigup an User along with the profile, the handle, user and profile
+     * inserted in one transaction and none read back.
+     *
+     * @param signUpRequest
+     * @param encoderFunction
+     * @param userProfile the profile, null for none
+     */
+    @Transactional
+    public void signUp(final SignupRequest signUpRequest,
+                       final Function<String, String> encoderFunction,
+                       final UserProfile userProfile) {
         Set<ConstraintViolation<SignupRequest>> violations =
                 validator.validate(signUpRequest);
         if (violations.isEmpty()) {
             String userHandle = signUpRequest.getEmail().split("@")[0];
-            Optional<Handle> handle = createHandle(userHandle);
-            if (handle.isPresent()) {
-                create(
-                        new User(userHandle, signUpRequest.getEmail(),
+            createHandle(userHandle);
+            create(
+                    new User(userHandle, signUpRequest.getEmail(),
                     encoderFunction.apply(signUpRequest.getPassword()),
-                                signUpRequest.getImageUrl(),
-                                signUpRequest.getAuthProvider(), null, null));
+                            signUpRequest.getImageUrl(),
+                            signUpRequest.getAuthProvider(), null, null));
+            if (userProfile != null) {
+                userProfileService.create(userProfile);
             }
+            eventPublisher.publishEvent(new UserChangedEvent(userHandle));
         } else {
             StringBuilder sb = new StringBuilder();
             for (ConstraintViolation<SignupRequest>
@@ -123,14 +176,8 @@ public class UserService {
 
     /**
      * @param user
-     * @return user
      */
-    private User create(final User user) {
-        final SimpleJdbcInsert insert = new SimpleJdbcInsert(dataSource)
-                .withTableName("\"user\"")
-                .usingColumns("user_handle", "email",
-                        "pword",
-                        "provider", "image_url");
+    private void create(final User user) {
         final Map<String, Object> valueMap = new HashMap<>();
         valueMap.put("email", user.email());
         valueMap.put("pword", user.password());
@@ -138,11 +185,9 @@ public class UserService {
         valueMap.put("provider", user.provider().toString());
         String userHandle = user.userHandle();
         valueMap.put("user_handle", userHandle);
-        insert.execute(valueMap);
+        userInsert.execute(valueMap);
 
-        final Optional<User> createdUser = read(userHandle);
         logger.info("Created user {}", userHandle);
-        return createdUser.get();
     }
 
     /**
@@ -201,31 +246,17 @@ public class UserService {
             logger.error("User not found to update {}", userHandle);
             throw new IllegalArgumentException("User not found");
         }
+        eventPublisher.publishEvent(new UserChangedEvent(userHandle));
         return read(userHandle).get();
     }
 
 
-    private Optional<Handle> createHandle(final String userHandle) {
-        final SimpleJdbcInsert insert = new SimpleJdbcInsert(dataSource)
-                .withTableName("handle")
-                .usingColumns("user_handle", "type");
+    private void createHandle(final String userHandle) {
         final Map<String, Object> valueMap = new HashMap<>();
         valueMap.put("user_handle", userHandle);
         valueMap.put("type", "User");
 
-        insert.execute(valueMap);
-
-        return readHandle(userHandle);
-    }
-
-    private Optional<Handle> readHandle(final String userHandle) {
-        final String query = "SELECT user_handle,type,created_at"
-                + " FROM handle WHERE user_handle = ?";
-
-        final Handle p = jdbcTemplate.queryForObject(query,
-                this::rowMapperHandle, userHandle);
-        return Optional.of(p);
-
+        handleInsert.execute(valueMap);
     }
 
     /**
@@ -236,14 +267,5 @@ public class UserService {
         jdbcTemplate.update("DELETE FROM \"user\"");
         jdbcTemplate.update("DELETE FROM HANDLE WHERE type='User'");
     }
-
-    private Handle rowMapperHandle(final ResultSet resultSet,
-                                   final int i)
-            throws SQLException {
-        return new Handle(resultSet.getString("user_handle"),
-                resultSet.getString("type"),
-                resultSet.getObject("created_at", LocalDateTime.class)
-        );
-    }
 }
 
@@ -0,0 +1,298 @@
+package com.sample.service;
+
+import com.sample.event.SeatsReleasedEvent;
+import com.sample.event.ShowsClosedEvent;
+import com.sample.model.Hold;
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.exception.BadRequestException;
+import com.sample.starter.security.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Waitlists of sold out shows. Users queue for a number of seats, in a
+ * bounded queue a show, and are offered seats as holds, first come first
+ * served, when held seats are released. Released seats are matched to the
+ * head of the queue only, so that the work of a release grows with the
+ * seats released and not with the users waiting, and nobody polls. The
+ * waitlist of a show is dropped once the show starts or is cancelled, and
+ * its waiters are told so.
+ */
+@Service
+public class WaitlistService {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger =
+            LoggerFactory.getLogger(WaitlistService.class);
+
+    /**
+     * Booking service.
+     */
+    private final BookingService bookingService;
+
+    /**
+     * Show service.
+     */
+    private final ShowService showService;
+
+    /**
+     * App properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Waitlists by show id.
+     */
+    private final Map<UUID, Waitlist> waitlists = new ConcurrentHashMap<>();
+
+    /**
+     * Offers the released seats, off the thread that released them.
+     */
+    private final ExecutorService dispatcher =
+            Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Instantiates a new Waitlist service.
+     *
+     * @param aBookingService the booking service
+     * @param aShowService    the show service
+     * @param anAppProperties the app properties
+     */
+    public WaitlistService(final BookingService aBookingService,
+                           final ShowService aShowService,
+                           final AppProperties anAppProperties) {
+        this.bookingService = aBookingService;
+        this.showService = aShowService;
+        this.appProperties = anAppProperties;
+    }
+
+    /**
+     * Stops offering seats.
+     */
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Waits for seats of a show that has too few available.
+     *
+     * @param userName the user name
+     * @param showId   the show id
+     * @param seats    the number of seats
+     * @param listener is offered a hold of the seats, at most once
+     * @param closed   is run instead when the show closes first
+     * @return the waiter, empty if the waitlist is full
+     */
+    public Optional<Waiter> join(final String userName, final UUID showId,
+                                 final int seats,
+                                 final Consumer<Hold> listener,
+                                 final Runnable closed) {
+        if (seats <= 0
+                || seats > appProperties.getBooking().getMaxSeatsPerHold()) {
+            throw new BadRequestException("Invalid number of seats");
+        }
+        final SeatMap seatMap = showService.inventory(showId)
+                .orElseThrow(() -> new ResourceNotFoundException("Show",
+                        "id", showId))
+                .seats();
+        if (seatMap.available() >= seats) {
+            throw new BadRequestException("Seats are available");
+        }
+        final Waiter waiter = new Waiter(showId, userName, seats, listener,
+                closed);
+        final Waitlist waitlist = waitlists.computeIfAbsent(showId,
+                id -> new Waitlist(
+                        appProperties.getBooking().getWaitlistCapacity()));
+        if (!waitlist.waiters.offer(waiter)) {
+            return Optional.empty();
+        }
+        if (showService.inventory(showId).isEmpty()) {
+            // closed while joining, after the event dropped the waitlist
+            close(showId);
+        }
+        return Optional.of(waiter);
+    }
+
+    /**
+     * Leaves a waitlist, when the user stops waiting.
+     *
+     * @param waiter the waiter
+     */
+    public void leave(final Waiter waiter) {
+        final Waitlist waitlist = waitlists.get(waiter.showId());
+        if (waitlist != null) {
+            waitlist.waiters.remove(waiter);
+        }
+    }
+
+    /**
+     * Offers released seats to the waitlist of their show, if any.
+     *
+     * @param event the seats released
+     */
+    @EventListener
+    public void onSeatsReleased(final SeatsReleasedEvent event) {
+        final Waitlist waitlist = waitlists.get(event.showId());
+        if (waitlist != null && !waitlist.waiters.isEmpty()) {
+            dispatcher.execute(() -> offer(event, waitlist));
+        }
+    }
+
+    /**
+     * Drops the waitlists of closed shows and tells their waiters.
+     *
+     * @param event the shows closed
+     */
+    @EventListener
+    public void onShowsClosed(final ShowsClosedEvent event) {
+        event.showIds().forEach(this::close);
+    }
+
+    /**
+     * Delete all the waitlists.
+     */
+    public void delete() {
+        waitlists.clear();
+    }
+
+    /**
+     * Holds the released seats for the waiters at the head of the queue,
+     * as long as the head wants no more seats than are left, then hands
+     * each its hold. Seats left over are kept for the next release. A hold
+     * that cannot be handed is released, and so is offered again.
+     *
+     * @param event    the seats released
+     * @param waitlist the waitlist of the show
+     */
+    private void offer(final SeatsReleasedEvent event,
+                       final Waitlist waitlist) {
+        final SeatMap seatMap = showService.inventory(event.showId())
+                .map(ShowService.Inventory::seats).orElse(null);
+        if (seatMap == null) {
+            return;
+        }
+        final List<Offer> offers = new ArrayList<>();
+        waitlist.lock.lock();
+        try {
+            final List<Integer> free = new ArrayList<>(waitlist.spare);
+            event.seats().stream().filter(seat -> !free.contains(seat))
+                    .forEach(free::add);
+            free.removeIf(seat -> !seatMap.isAvailable(seat));
+            Waiter head;
+            while ((head = waitlist.waiters.peek()) != null
+                    && head.seats() <= free.size()) {
+                final List<Integer> block = List.copyOf(
+                        free.subList(0, head.seats()));
+                free.subList(0, head.seats()).clear();
+                final Optional<Hold> hold = bookingService.hold(
+                        head.userName(), new Hold(null, event.showId(),
+                                block, null, null));
+                if (hold.isPresent()) {
+                    waitlist.waiters.poll();
+                    offers.add(new Offer(head, hold.get()));
+                }
+            }
+            waitlist.spare = free;
+        } finally {
+            waitlist.lock.unlock();
+        }
+        offers.forEach(this::send);
+    }
+
+    private void close(final UUID showId) {
+        final Waitlist waitlist = waitlists.remove(showId);
+        if (waitlist == null) {
+            return;
+        }
+        final List<Waiter> waiters = new ArrayList<>();
+        waitlist.waiters.drainTo(waiters);
+        if (!waiters.isEmpty()) {
+            dispatcher.execute(() -> waiters.forEach(this::closed));
+        }
+    }
+
+    private void closed(final Waiter waiter) {
+        try {
+            waiter.closed().run();
+        } catch (final RuntimeException ex) {
+            logger.debug("Close not delivered {}", waiter.showId(), ex);
+        }
+    }
+
+    private void send(final Offer offer) {
+        try {
+            offer.waiter().listener().accept(offer.hold());
+        } catch (final RuntimeException ex) {
+            logger.debug("Offer not delivered {}", offer.hold().id(), ex);
+            bookingService.release(offer.waiter().userName(),
+                    offer.hold().id());
+        }
+    }
+
+    /**
+     * A user waiting for seats of a show.
+     *
+     * @param showId   the show id
+     * @param userName the user name
+     * @param seats    the number of seats
+     * @param listener is offered a hold of the seats
+     * @param closed   is run when the show closes first
+     */
+    public record Waiter(UUID showId, String userName, int seats,
+                         Consumer<Hold> listener, Runnable closed) {
+    }
+
+    /**
+     * A hold for a waiter, to be handed over.
+     *
+     * @param waiter the waiter
+     * @param hold   the hold
+     */
+    private record Offer(Waiter waiter, Hold hold) {
+    }
+
+    /**
+     * Users waiting on a show, in arrival order.
+     */
+    private static final class Waitlist {
+
+        /**
+         * Waiters.
+         */
+        private final BlockingQueue<Waiter> waiters;
+
+        /**
+         * Matches released seats to one batch of waiters at a time.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Seats released too few for the head of the queue. Guarded by
+         * the lock.
+         */
+        private List<Integer> spare = List.of();
+
+        Waitlist(final int capacity) {
+            this.waiters = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
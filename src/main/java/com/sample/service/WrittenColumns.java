@@ -0,0 +1,71 @@
+package com.sample.service;
+
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Columns that an INSERT or UPDATE hands back as generated keys, so that
+ * the written row need not be selected again.
+ */
+final class WrittenColumns {
+
+    /**
+     * Columns defaulted by the database on insert.
+     */
+    static final String[] CREATED = {"created_at"};
+
+    /**
+     * Columns of the default language and of the audit kept on update.
+     */
+    static final String[] UPDATED = {"title", "description",
+            "created_at", "created_by", "modified_at"};
+
+    private WrittenColumns() {
+    }
+
+    /**
+     * Gets a timestamp column.
+     *
+     * @param keyHolder the key holder of the statement
+     * @param column    the column
+     * @return the timestamp, null if absent
+     */
+    static LocalDateTime localDateTime(final KeyHolder keyHolder,
+                                       final String column) {
+        final Object value = columnsOf(keyHolder).get(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    /**
+     * Gets a text column.
+     *
+     * @param keyHolder the key holder of the statement
+     * @param column    the column
+     * @return the text, null if absent
+     */
+    static String string(final KeyHolder keyHolder, final String column) {
+        return (String) columnsOf(keyHolder).get(column);
+    }
+
+    /**
+     * Gets the value written, or the column it falls back to when null.
+     *
+     * @param value    the value
+     * @param fallback the fallback
+     * @return the value, or the fallback when null
+     */
+    static String coalesce(final String value, final String fallback) {
+        return value == null ? fallback : value;
+    }
+
+    private static Map<String, Object> columnsOf(final KeyHolder keyHolder) {
+        final Map<String, Object> columns = keyHolder.getKeys();
+        return columns == null ? Map.of() : columns;
+    }
+}
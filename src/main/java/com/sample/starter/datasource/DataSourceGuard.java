@@ -0,0 +1,103 @@
+package com.sample.starter.datasource;
+
+import com.sample.starter.security.config.AppProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Guards the data source when requests run on virtual threads, see
+ * {@code spring.threads.virtual.enabled} in application.yml. The data
+ * source is wrapped in a {@link GuardedDataSource}, letting in as many
+ * threads as {@code app.datasource.maxConcurrentConnections} or, when 0,
+ * as the pool has connections. The guard wraps the data source ahead of
+ * the other post processors, so their wrappers count the waiting for it.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled",
+        havingValue = "true")
+public class DataSourceGuard implements BeanPostProcessor, Ordered {
+
+    /**
+     * Order of the guard among the post processors, those wrapping the
+     * data source after it ordered past it.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    /**
+     * App properties, looked up late as post processors are created early.
+     */
+    private final ObjectProvider<AppProperties> appProperties;
+
+    /**
+     * Instantiates a new Data source guard.
+     *
+     * @param anAppProperties the app properties
+     */
+    public DataSourceGuard(
+            final ObjectProvider<AppProperties> anAppProperties) {
+        this.appProperties = anAppProperties;
+    }
+
+    /**
+     * Gets the order of the guard.
+     *
+     * @return the order
+     */
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Wraps the data source.
+     *
+     * @param bean     the bean
+     * @param beanName the bean name
+     * @return the guarded data source, or the bean if no data source
+     */
+    @Override
+    public Object postProcessAfterInitialization(final Object bean,
+                                                 final String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+                || bean instanceof GuardedDataSource) {
+            return bean;
+        }
+        final AppProperties.Datasource spec =
+                appProperties.getObject().getDatasource();
+        return new GuardedDataSource(dataSource,
+                maxConnections(dataSource, spec),
+                spec.getAcquireTimeoutMsec());
+    }
+
+    /**
+     * Gets the connections held at once, the size of the Hikari pool
+     * unless set, the pool looked up through any wrappers of it.
+     *
+     * @param dataSource the data source
+     * @param spec       the guard spec
+     * @return the connections held at once
+     */
+    static int maxConnections(final DataSource dataSource,
+                              final AppProperties.Datasource spec) {
+        if (spec.getMaxConcurrentConnections() > 0) {
+            return spec.getMaxConcurrentConnections();
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class)
+                        .getMaximumPoolSize();
+            }
+        } catch (final SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        throw new IllegalStateException(
+                "app.datasource.maxConcurrentConnections is required");
+    }
+}
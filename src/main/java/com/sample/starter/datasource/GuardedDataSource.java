@@ -0,0 +1,136 @@
+package com.sample.starter.datasource;
+
+import com.sample.starter.security.exception.ConnectionsExhaustedException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets a bounded number of threads hold connections at once. Virtual
+ * threads are cheap enough that requests no longer queue for a thread of
+ * the server, so without the guard they would all queue inside the pool,
+ * each holding its request open until the pool times out. Threads past
+ * the limit wait in arrival order for a permit, and give up early with a
+ * {@link ConnectionsExhaustedException}. A permit is held from getting a
+ * connection until closing it.
+ */
+public final class GuardedDataSource extends DelegatingDataSource {
+
+    /**
+     * Permits, one a connection held.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Time a thread waits for a permit.
+     */
+    private final long acquireTimeoutMsec;
+
+    /**
+     * Guards a data source.
+     *
+     * @param target              the data source
+     * @param maxConnections      the connections held at once
+     * @param anAcquireTimeoutMsec the time a thread waits for a permit
+     */
+    public GuardedDataSource(final DataSource target,
+                             final int maxConnections,
+                             final long anAcquireTimeoutMsec) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeoutMsec = anAcquireTimeoutMsec;
+    }
+
+    /**
+     * Gets the permits not held.
+     *
+     * @return the available permits
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guard(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username,
+                                    final String password)
+            throws SQLException {
+        acquire();
+        return guard(() -> obtainTargetDataSource()
+                .getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMsec,
+                    TimeUnit.MILLISECONDS)) {
+                throw new ConnectionsExhaustedException(
+                        "No connection available in " + acquireTimeoutMsec
+                                + "ms");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted", ex);
+        }
+    }
+
+    private Connection guard(final ConnectionSupplier supplier)
+            throws SQLException {
+        final Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (final SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+        final AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> invoke(connection, closed, method,
+                        args));
+    }
+
+    private Object invoke(final Connection connection,
+                          final AtomicBoolean closed, final Method method,
+                          final Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        } finally {
+            if ("close".equals(method.getName())
+                    && closed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Gets a connection of the target.
+     */
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+
+        /**
+         * Gets a connection.
+         *
+         * @return the connection
+         * @throws SQLException if the target fails
+         */
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * package info.
+ */
+package com.sample.starter.datasource;
@@ -0,0 +1,550 @@
+package com.sample.starter.metrics;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A statement each execution of which is metered, from executing it until
+ * it is bound, executed again or closed, so that the reading of the rows of
+ * a query is included. An execution records the rows it wrote, or the
+ * fetch size of the rows it read, and the parameters it was bound.
+ * Statements are used by one thread at a time.
+ *
+ * @param <S> the type of the statement
+ */
+abstract class AbstractMeteredStatement<S extends Statement>
+        implements Statement {
+
+    /**
+     * The statement of the driver.
+     */
+    private final S delegate;
+
+    /**
+     * The connection of the statement, as wrapped.
+     */
+    private final Connection connection;
+
+    /**
+     * Meters of the statements.
+     */
+    private final StatementMetrics metrics;
+
+    /**
+     * Parameters bound, by index from 0, kept for the executions to come.
+     */
+    private final List<Object> bound = new ArrayList<>();
+
+    /**
+     * The SQL prepared, or of the last execution.
+     */
+    private String executedSql;
+
+    /**
+     * Start of the execution, 0 when none is running.
+     */
+    private long startNanos;
+
+    /**
+     * Rows the execution wrote, negative for none.
+     */
+    private long written = -1;
+
+    /**
+     * Fetch size of the rows the execution read, negative for none.
+     */
+    private int resultFetchSize = -1;
+
+    /**
+     * Meters a statement.
+     *
+     * @param aDelegate   the statement of the driver
+     * @param aConnection the connection of the statement, as wrapped
+     * @param aSql        the SQL prepared, null for none
+     * @param aMetrics    the meters of the statements
+     */
+    AbstractMeteredStatement(final S aDelegate, final Connection aConnection,
+                             final String aSql,
+                             final StatementMetrics aMetrics) {
+        this.delegate = aDelegate;
+        this.connection = aConnection;
+        this.executedSql = aSql;
+        this.metrics = aMetrics;
+    }
+
+    /**
+     * Gets the statement of the driver.
+     *
+     * @return the statement
+     */
+    final S delegate() {
+        return delegate;
+    }
+
+    /**
+     * Starts an execution, finishing the one running.
+     *
+     * @param sql the SQL executed, null for the one prepared
+     */
+    final void executing(final String sql) {
+        finish();
+        if (sql != null) {
+            executedSql = sql;
+        }
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Notes the rows the running execution read, by their fetch size.
+     *
+     * @throws SQLException if the statement is closed
+     */
+    final void queried() throws SQLException {
+        resultFetchSize = delegate.getFetchSize();
+    }
+
+    /**
+     * Notes the outcome of the running execution.
+     *
+     * @param hasResultSet whether it returned rows, or else wrote them
+     * @throws SQLException if the statement is closed
+     */
+    final void executed(final boolean hasResultSet) throws SQLException {
+        if (hasResultSet) {
+            queried();
+        } else {
+            wrote(delegate.getUpdateCount());
+        }
+    }
+
+    /**
+     * Notes rows the running execution wrote.
+     *
+     * @param count the rows, negative when unknown
+     */
+    final void wrote(final long count) {
+        written = Math.max(0, written) + Math.max(0, count);
+    }
+
+    /**
+     * Notes rows the running batch wrote.
+     *
+     * @param counts the rows of each statement of the batch
+     */
+    final void wrote(final int[] counts) {
+        for (int count : counts) {
+            wrote(count);
+        }
+    }
+
+    /**
+     * Notes rows the running batch wrote.
+     *
+     * @param counts the rows of each statement of the batch
+     */
+    final void wrote(final long[] counts) {
+        for (long count : counts) {
+            wrote(count);
+        }
+    }
+
+    /**
+     * Keeps a parameter bound, finishing the running execution first as
+     * binding parameters ends it.
+     *
+     * @param index the index of the parameter, from 1
+     * @param value the value
+     */
+    final void bind(final int index, final Object value) {
+        if (startNanos != 0) {
+            finish();
+        }
+        while (bound.size() < index) {
+            bound.add(null);
+        }
+        bound.set(index - 1, value);
+    }
+
+    /**
+     * Drops the parameters bound, finishing the running execution first.
+     */
+    final void unbind() {
+        if (startNanos != 0) {
+            finish();
+        }
+        bound.clear();
+    }
+
+    private void finish() {
+        if (startNanos != 0 && executedSql != null) {
+            metrics.record(metrics.meters(executedSql),
+                    System.nanoTime() - startNanos, written,
+                    resultFetchSize, bound);
+        }
+        startNanos = 0;
+        written = -1;
+        resultFetchSize = -1;
+    }
+
+    @Override
+    public final ResultSet executeQuery(final String sql) throws SQLException {
+        executing(sql);
+        final ResultSet resultSet = delegate.executeQuery(sql);
+        queried();
+        return resultSet;
+    }
+
+    @Override
+    public final int executeUpdate(final String sql) throws SQLException {
+        executing(sql);
+        final int count = delegate.executeUpdate(sql);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final void close() throws SQLException {
+        try {
+            delegate.close();
+        } finally {
+            finish();
+            bound.clear();
+        }
+    }
+
+    @Override
+    public final int getMaxFieldSize() throws SQLException {
+        return delegate.getMaxFieldSize();
+    }
+
+    @Override
+    public final void setMaxFieldSize(final int max) throws SQLException {
+        delegate.setMaxFieldSize(max);
+    }
+
+    @Override
+    public final int getMaxRows() throws SQLException {
+        return delegate.getMaxRows();
+    }
+
+    @Override
+    public final void setMaxRows(final int max) throws SQLException {
+        delegate.setMaxRows(max);
+    }
+
+    @Override
+    public final void setEscapeProcessing(final boolean enable)
+            throws SQLException {
+        delegate.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public final int getQueryTimeout() throws SQLException {
+        return delegate.getQueryTimeout();
+    }
+
+    @Override
+    public final void setQueryTimeout(final int seconds) throws SQLException {
+        delegate.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public final void cancel() throws SQLException {
+        delegate.cancel();
+    }
+
+    @Override
+    public final SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    @Override
+    public final void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    @Override
+    public final void setCursorName(final String name) throws SQLException {
+        delegate.setCursorName(name);
+    }
+
+    @Override
+    public final boolean execute(final String sql) throws SQLException {
+        executing(sql);
+        final boolean hasResultSet = delegate.execute(sql);
+        executed(hasResultSet);
+        return hasResultSet;
+    }
+
+    @Override
+    public final ResultSet getResultSet() throws SQLException {
+        return delegate.getResultSet();
+    }
+
+    @Override
+    public final int getUpdateCount() throws SQLException {
+        return delegate.getUpdateCount();
+    }
+
+    @Override
+    public final boolean getMoreResults() throws SQLException {
+        return delegate.getMoreResults();
+    }
+
+    @Override
+    public final void setFetchDirection(final int direction)
+            throws SQLException {
+        delegate.setFetchDirection(direction);
+    }
+
+    @Override
+    public final int getFetchDirection() throws SQLException {
+        return delegate.getFetchDirection();
+    }
+
+    @Override
+    public final void setFetchSize(final int rows) throws SQLException {
+        delegate.setFetchSize(rows);
+    }
+
+    @Override
+    public final int getFetchSize() throws SQLException {
+        return delegate.getFetchSize();
+    }
+
+    @Override
+    public final int getResultSetConcurrency() throws SQLException {
+        return delegate.getResultSetConcurrency();
+    }
+
+    @Override
+    public final int getResultSetType() throws SQLException {
+        return delegate.getResultSetType();
+    }
+
+    @Override
+    public final void addBatch(final String sql) throws SQLException {
+        delegate.addBatch(sql);
+    }
+
+    @Override
+    public final void clearBatch() throws SQLException {
+        delegate.clearBatch();
+    }
+
+    @Override
+    public final int[] executeBatch() throws SQLException {
+        executing(null);
+        final int[] counts = delegate.executeBatch();
+        wrote(counts);
+        return counts;
+    }
+
+    @Override
+    public final Connection getConnection() throws SQLException {
+        // the wrapper, as the transaction holds it
+        return connection;
+    }
+
+    @Override
+    public final boolean getMoreResults(final int current) throws SQLException {
+        return delegate.getMoreResults(current);
+    }
+
+    @Override
+    public final ResultSet getGeneratedKeys() throws SQLException {
+        return delegate.getGeneratedKeys();
+    }
+
+    @Override
+    public final int executeUpdate(final String sql,
+                                   final int autoGeneratedKeys)
+            throws SQLException {
+        executing(sql);
+        final int count = delegate.executeUpdate(sql, autoGeneratedKeys);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final int executeUpdate(final String sql,
+                                   final int[] columnIndexes)
+            throws SQLException {
+        executing(sql);
+        final int count = delegate.executeUpdate(sql, columnIndexes);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final int executeUpdate(final String sql,
+                                   final String[] columnNames)
+            throws SQLException {
+        executing(sql);
+        final int count = delegate.executeUpdate(sql, columnNames);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final boolean execute(final String sql,
+                                 final int autoGeneratedKeys)
+            throws SQLException {
+        executing(sql);
+        final boolean hasResultSet = delegate.execute(sql, autoGeneratedKeys);
+        executed(hasResultSet);
+        return hasResultSet;
+    }
+
+    @Override
+    public final boolean execute(final String sql,
+                                 final int[] columnIndexes)
+            throws SQLException {
+        executing(sql);
+        final boolean hasResultSet = delegate.execute(sql, columnIndexes);
+        executed(hasResultSet);
+        return hasResultSet;
+    }
+
+    @Override
+    public final boolean execute(final String sql,
+                                 final String[] columnNames)
+            throws SQLException {
+        executing(sql);
+        final boolean hasResultSet = delegate.execute(sql, columnNames);
+        executed(hasResultSet);
+        return hasResultSet;
+    }
+
+    @Override
+    public final int getResultSetHoldability() throws SQLException {
+        return delegate.getResultSetHoldability();
+    }
+
+    @Override
+    public final boolean isClosed() throws SQLException {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public final void setPoolable(final boolean poolable) throws SQLException {
+        delegate.setPoolable(poolable);
+    }
+
+    @Override
+    public final boolean isPoolable() throws SQLException {
+        return delegate.isPoolable();
+    }
+
+    @Override
+    public final void closeOnCompletion() throws SQLException {
+        delegate.closeOnCompletion();
+    }
+
+    @Override
+    public final boolean isCloseOnCompletion() throws SQLException {
+        return delegate.isCloseOnCompletion();
+    }
+
+    @Override
+    public final long getLargeUpdateCount() throws SQLException {
+        return delegate.getLargeUpdateCount();
+    }
+
+    @Override
+    public final void setLargeMaxRows(final long max) throws SQLException {
+        delegate.setLargeMaxRows(max);
+    }
+
+    @Override
+    public final long getLargeMaxRows() throws SQLException {
+        return delegate.getLargeMaxRows();
+    }
+
+    @Override
+    public final long[] executeLargeBatch() throws SQLException {
+        executing(null);
+        final long[] counts = delegate.executeLargeBatch();
+        wrote(counts);
+        return counts;
+    }
+
+    @Override
+    public final long executeLargeUpdate(final String sql) throws SQLException {
+        executing(sql);
+        final long count = delegate.executeLargeUpdate(sql);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final long executeLargeUpdate(final String sql,
+                                         final int autoGeneratedKeys)
+            throws SQLException {
+        executing(sql);
+        final long count = delegate.executeLargeUpdate(sql, autoGeneratedKeys);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final long executeLargeUpdate(final String sql,
+                                         final int[] columnIndexes)
+            throws SQLException {
+        executing(sql);
+        final long count = delegate.executeLargeUpdate(sql, columnIndexes);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final long executeLargeUpdate(final String sql,
+                                         final String[] columnNames)
+            throws SQLException {
+        executing(sql);
+        final long count = delegate.executeLargeUpdate(sql, columnNames);
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public final String enquoteLiteral(final String val) throws SQLException {
+        return delegate.enquoteLiteral(val);
+    }
+
+    @Override
+    public final String enquoteIdentifier(final String identifier,
+                                          final boolean alwaysQuote)
+            throws SQLException {
+        return delegate.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public final boolean isSimpleIdentifier(final String identifier)
+            throws SQLException {
+        return delegate.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public final String enquoteNCharLiteral(final String val)
+            throws SQLException {
+        return delegate.enquoteNCharLiteral(val);
+    }
+
+    @Override
+    public final <T> T unwrap(final Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this)
+                : delegate.unwrap(iface);
+    }
+
+    @Override
+    public final boolean isWrapperFor(final Class<?> iface)
+            throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
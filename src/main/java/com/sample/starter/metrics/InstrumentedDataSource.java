@@ -0,0 +1,62 @@
+package com.sample.starter.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Meters the JDBC work done on its connections. Each connection is timed,
+ * from asking for it until closing it, on the service method that used it:
+ * outside of a transaction that is one query and the reading of its rows,
+ * waiting for the pool included; inside one, the whole transaction. Each
+ * execution of a statement is metered on the statement, see
+ * {@link AbstractMeteredStatement}. Connections and statements are wrapped
+ * by plain delegation and result sets not at all, so that reading rows
+ * costs nothing more.
+ */
+public final class InstrumentedDataSource extends DelegatingDataSource {
+
+    /**
+     * Timers of the service methods.
+     */
+    private final QueryTimers queryTimers;
+
+    /**
+     * Meters of the statements.
+     */
+    private final StatementMetrics statementMetrics;
+
+    /**
+     * Instruments a data source.
+     *
+     * @param target            the data source
+     * @param aQueryTimers      the timers of the service methods
+     * @param aStatementMetrics the meters of the statements
+     */
+    public InstrumentedDataSource(final DataSource target,
+                                  final QueryTimers aQueryTimers,
+                                  final StatementMetrics aStatementMetrics) {
+        super(target);
+        this.queryTimers = aQueryTimers;
+        this.statementMetrics = aStatementMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long start = System.nanoTime();
+        return new MeteredConnection(obtainTargetDataSource().getConnection(),
+                start, queryTimers, statementMetrics);
+    }
+
+    @Override
+    public Connection getConnection(final String username,
+                                    final String password)
+            throws SQLException {
+        final long start = System.nanoTime();
+        return new MeteredConnection(obtainTargetDataSource()
+                .getConnection(username, password), start, queryTimers,
+                statementMetrics);
+    }
+}
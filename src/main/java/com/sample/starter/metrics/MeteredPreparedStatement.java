@@ -0,0 +1,479 @@
+package com.sample.starter.metrics;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * A prepared statement each execution of which is metered, see
+ * {@link AbstractMeteredStatement}.
+ */
+final class MeteredPreparedStatement
+        extends AbstractMeteredStatement<PreparedStatement>
+        implements PreparedStatement {
+
+    /**
+     * Meters a prepared statement.
+     *
+     * @param aDelegate   the statement of the driver
+     * @param aConnection the connection of the statement, as wrapped
+     * @param aSql        the SQL prepared
+     * @param aMetrics    the meters of the statements
+     */
+    MeteredPreparedStatement(final PreparedStatement aDelegate,
+                             final Connection aConnection,
+                             final String aSql,
+                             final StatementMetrics aMetrics) {
+        super(aDelegate, aConnection, aSql, aMetrics);
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        executing(null);
+        final ResultSet resultSet = delegate().executeQuery();
+        queried();
+        return resultSet;
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        executing(null);
+        final int count = delegate().executeUpdate();
+        wrote(count);
+        return count;
+    }
+
+    @Override
+    public void setNull(final int parameterIndex,
+                        final int sqlType) throws SQLException {
+        delegate().setNull(parameterIndex, sqlType);
+        bind(parameterIndex, null);
+    }
+
+    @Override
+    public void setBoolean(final int parameterIndex,
+                           final boolean x) throws SQLException {
+        delegate().setBoolean(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setByte(final int parameterIndex,
+                        final byte x) throws SQLException {
+        delegate().setByte(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setShort(final int parameterIndex,
+                         final short x) throws SQLException {
+        delegate().setShort(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(final int parameterIndex,
+                       final int x) throws SQLException {
+        delegate().setInt(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(final int parameterIndex,
+                        final long x) throws SQLException {
+        delegate().setLong(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setFloat(final int parameterIndex,
+                         final float x) throws SQLException {
+        delegate().setFloat(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(final int parameterIndex,
+                          final double x) throws SQLException {
+        delegate().setDouble(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setBigDecimal(final int parameterIndex,
+                              final BigDecimal x) throws SQLException {
+        delegate().setBigDecimal(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setString(final int parameterIndex,
+                          final String x) throws SQLException {
+        delegate().setString(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setBytes(final int parameterIndex,
+                         final byte[] x) throws SQLException {
+        delegate().setBytes(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(final int parameterIndex,
+                        final Date x) throws SQLException {
+        delegate().setDate(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(final int parameterIndex,
+                        final Time x) throws SQLException {
+        delegate().setTime(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(final int parameterIndex,
+                             final Timestamp x) throws SQLException {
+        delegate().setTimestamp(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(final int parameterIndex,
+                               final InputStream x,
+                               final int length) throws SQLException {
+        delegate().setAsciiStream(parameterIndex, x, length);
+        bind(parameterIndex, x);
+    }
+
+    /**
+     * Binds a stream of Unicode characters.
+     *
+     * @deprecated as of JDBC 2.0, in favor of
+     * {@link #setCharacterStream}
+     */
+    @Deprecated(since = "1.2")
+    @Override
+    public void setUnicodeStream(final int parameterIndex,
+                                 final InputStream x,
+                                 final int length) throws SQLException {
+        delegate().setUnicodeStream(parameterIndex, x, length);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(final int parameterIndex,
+                                final InputStream x,
+                                final int length) throws SQLException {
+        delegate().setBinaryStream(parameterIndex, x, length);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        delegate().clearParameters();
+        unbind();
+    }
+
+    @Override
+    public void setObject(final int parameterIndex,
+                          final Object x,
+                          final int targetSqlType) throws SQLException {
+        delegate().setObject(parameterIndex, x, targetSqlType);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(final int parameterIndex,
+                          final Object x) throws SQLException {
+        delegate().setObject(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        executing(null);
+        final boolean hasResultSet = delegate().execute();
+        executed(hasResultSet);
+        return hasResultSet;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        delegate().addBatch();
+    }
+
+    @Override
+    public void setCharacterStream(final int parameterIndex,
+                                   final Reader reader,
+                                   final int length) throws SQLException {
+        delegate().setCharacterStream(parameterIndex, reader, length);
+        bind(parameterIndex, reader);
+    }
+
+    @Override
+    public void setRef(final int parameterIndex,
+                       final Ref x) throws SQLException {
+        delegate().setRef(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setBlob(final int parameterIndex,
+                        final Blob x) throws SQLException {
+        delegate().setBlob(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setClob(final int parameterIndex,
+                        final Clob x) throws SQLException {
+        delegate().setClob(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setArray(final int parameterIndex,
+                         final Array x) throws SQLException {
+        delegate().setArray(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return delegate().getMetaData();
+    }
+
+    @Override
+    public void setDate(final int parameterIndex,
+                        final Date x,
+                        final Calendar cal) throws SQLException {
+        delegate().setDate(parameterIndex, x, cal);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(final int parameterIndex,
+                        final Time x,
+                        final Calendar cal) throws SQLException {
+        delegate().setTime(parameterIndex, x, cal);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(final int parameterIndex,
+                             final Timestamp x,
+                             final Calendar cal) throws SQLException {
+        delegate().setTimestamp(parameterIndex, x, cal);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setNull(final int parameterIndex,
+                        final int sqlType,
+                        final String typeName) throws SQLException {
+        delegate().setNull(parameterIndex, sqlType, typeName);
+        bind(parameterIndex, null);
+    }
+
+    @Override
+    public void setURL(final int parameterIndex,
+                       final URL x) throws SQLException {
+        delegate().setURL(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return delegate().getParameterMetaData();
+    }
+
+    @Override
+    public void setRowId(final int parameterIndex,
+                         final RowId x) throws SQLException {
+        delegate().setRowId(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setNString(final int parameterIndex,
+                           final String value) throws SQLException {
+        delegate().setNString(parameterIndex, value);
+        bind(parameterIndex, value);
+    }
+
+    @Override
+    public void setNCharacterStream(final int parameterIndex,
+                                    final Reader value,
+                                    final long length) throws SQLException {
+        delegate().setNCharacterStream(parameterIndex, value, length);
+        bind(parameterIndex, value);
+    }
+
+    @Override
+    public void setNClob(final int parameterIndex,
+                         final NClob value) throws SQLException {
+        delegate().setNClob(parameterIndex, value);
+        bind(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(final int parameterIndex,
+                        final Reader reader,
+                        final long length) throws SQLException {
+        delegate().setClob(parameterIndex, reader, length);
+        bind(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBlob(final int parameterIndex,
+                        final InputStream inputStream,
+                        final long length) throws SQLException {
+        delegate().setBlob(parameterIndex, inputStream, length);
+        bind(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setNClob(final int parameterIndex,
+                         final Reader reader,
+                         final long length) throws SQLException {
+        delegate().setNClob(parameterIndex, reader, length);
+        bind(parameterIndex, reader);
+    }
+
+    @Override
+    public void setSQLXML(final int parameterIndex,
+                          final SQLXML xmlObject) throws SQLException {
+        delegate().setSQLXML(parameterIndex, xmlObject);
+        bind(parameterIndex, xmlObject);
+    }
+
+    @Override
+    public void setObject(final int parameterIndex,
+                          final Object x,
+                          final int targetSqlType,
+                          final int scaleOrLength) throws SQLException {
+        delegate().setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(final int parameterIndex,
+                               final InputStream x,
+                               final long length) throws SQLException {
+        delegate().setAsciiStream(parameterIndex, x, length);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(final int parameterIndex,
+                                final InputStream x,
+                                final long length) throws SQLException {
+        delegate().setBinaryStream(parameterIndex, x, length);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(final int parameterIndex,
+                                   final Reader reader,
+                                   final long length) throws SQLException {
+        delegate().setCharacterStream(parameterIndex, reader, length);
+        bind(parameterIndex, reader);
+    }
+
+    @Override
+    public void setAsciiStream(final int parameterIndex,
+                               final InputStream x) throws SQLException {
+        delegate().setAsciiStream(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(final int parameterIndex,
+                                final InputStream x) throws SQLException {
+        delegate().setBinaryStream(parameterIndex, x);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(final int parameterIndex,
+                                   final Reader reader) throws SQLException {
+        delegate().setCharacterStream(parameterIndex, reader);
+        bind(parameterIndex, reader);
+    }
+
+    @Override
+    public void setNCharacterStream(final int parameterIndex,
+                                    final Reader value) throws SQLException {
+        delegate().setNCharacterStream(parameterIndex, value);
+        bind(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(final int parameterIndex,
+                        final Reader reader) throws SQLException {
+        delegate().setClob(parameterIndex, reader);
+        bind(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBlob(final int parameterIndex,
+                        final InputStream inputStream) throws SQLException {
+        delegate().setBlob(parameterIndex, inputStream);
+        bind(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setNClob(final int parameterIndex,
+                         final Reader reader) throws SQLException {
+        delegate().setNClob(parameterIndex, reader);
+        bind(parameterIndex, reader);
+    }
+
+    @Override
+    public void setObject(final int parameterIndex,
+                          final Object x,
+                          final SQLType targetSqlType,
+                          final int scaleOrLength) throws SQLException {
+        delegate().setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(final int parameterIndex,
+                          final Object x,
+                          final SQLType targetSqlType) throws SQLException {
+        delegate().setObject(parameterIndex, x, targetSqlType);
+        bind(parameterIndex, x);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        executing(null);
+        final long count = delegate().executeLargeUpdate();
+        wrote(count);
+        return count;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sample.starter.metrics;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * A statement each execution of which is metered, see
+ * {@link AbstractMeteredStatement}. Batches of SQL added to it are not, as
+ * they have no one statement to be metered on.
+ */
+final class MeteredStatement extends AbstractMeteredStatement<Statement> {
+
+    /**
+     * Meters a statement.
+     *
+     * @param aDelegate   the statement of the driver
+     * @param aConnection the connection of the statement, as wrapped
+     * @param aMetrics    the meters of the statements
+     */
+    MeteredStatement(final Statement aDelegate, final Connection aConnection,
+                     final StatementMetrics aMetrics) {
+        super(aDelegate, aConnection, null, aMetrics);
+    }
+}
@@ -0,0 +1,117 @@
+package com.sample.starter.metrics;
+
+import com.sample.starter.datasource.DataSourceGuard;
+import com.sample.starter.security.cache.TokenStore;
+import com.sample.starter.security.cache.TokenType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Meters of the application, next to those Spring Boot binds itself: the
+ * latency of the endpoints (http.server.requests), the caches (cache.gets)
+ * and the connection pool (hikaricp.connections); and its own, among them
+ * those of each SQL statement (jdbc.statement). All are served on
+ * /api/metrics in the Prometheus text format.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times the JDBC work of the service methods, and meters each of the
+     * statements they run. The data source is wrapped after the
+     * {@link DataSourceGuard}, so that waiting for it is timed too. Static,
+     * and looking the meters up once the data source is created, as post
+     * processors are created ahead of the other beans.
+     *
+     * @param queryTimers      the query timers
+     * @param statementMetrics the statement metrics
+     * @return the post processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(
+            final ObjectProvider<QueryTimers> queryTimers,
+            final ObjectProvider<StatementMetrics> statementMetrics) {
+        return new InstrumentedDataSourcePostProcessor(queryTimers,
+                statementMetrics);
+    }
+
+    /**
+     * Hit ratio of each cache.
+     *
+     * @param cacheManager the cache manager
+     * @return the binder
+     */
+    @Bean
+    public MeterBinder cacheHitRatios(final CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.hit.ratio", cache.getNativeCache(),
+                                nativeCache -> nativeCache.stats().hitRate())
+                        .description("Ratio of the gets that hit")
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        });
+    }
+
+    /**
+     * Size and evictions of the token store.
+     *
+     * @param tokenStore the token store
+     * @return the binder
+     */
+    @Bean
+    public MeterBinder tokenStoreMetrics(final TokenStore tokenStore) {
+        return registry -> {
+            for (TokenType type : TokenType.values()) {
+                Gauge.builder("auth.token.store.size", tokenStore,
+                                store -> store.size(type))
+                        .description("Tokens stored, expired or not")
+                        .tag("type", type.name())
+                        .register(registry);
+            }
+            FunctionCounter.builder("auth.token.store.evictions",
+                            tokenStore, TokenStore::getEvictionCount)
+                    .description("Expired tokens purged")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Wraps the data source in an {@link InstrumentedDataSource}.
+     *
+     * @param queryTimers      the query timers
+     * @param statementMetrics the statement metrics
+     */
+    private record InstrumentedDataSourcePostProcessor(
+            ObjectProvider<QueryTimers> queryTimers,
+            ObjectProvider<StatementMetrics> statementMetrics)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(final Object bean,
+                                                     final String name) {
+            return bean instanceof DataSource dataSource
+                    && !(bean instanceof InstrumentedDataSource)
+                    ? new InstrumentedDataSource(dataSource,
+                            queryTimers.getObject(),
+                            statementMetrics.getObject())
+                    : bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return DataSourceGuard.ORDER + 1;
+        }
+    }
+}
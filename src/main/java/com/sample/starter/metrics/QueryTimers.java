@@ -0,0 +1,110 @@
+package com.sample.starter.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of the JDBC work of each service method. A service method marks
+ * its thread while it runs, and the time the thread holds a connection is
+ * recorded on the timer of that method. A timer is registered on the first
+ * call of its method, so that recording allocates nothing after.
+ */
+@Component
+public final class QueryTimers {
+
+    /**
+     * Name of the timers.
+     */
+    static final String NAME = "service.jdbc";
+
+    /**
+     * Registry, looked up late as post processors use the timers.
+     */
+    private final ObjectProvider<MeterRegistry> registry;
+
+    /**
+     * Timers by service method.
+     */
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Timer of the service method running on the thread, if any.
+     */
+    private final ThreadLocal<Timer> current = new ThreadLocal<>();
+
+    /**
+     * Timer of the JDBC work outside of service methods.
+     */
+    private volatile Timer unattributed;
+
+    /**
+     * Instantiates new Query timers.
+     *
+     * @param aRegistry the meter registry
+     */
+    public QueryTimers(final ObjectProvider<MeterRegistry> aRegistry) {
+        this.registry = aRegistry;
+    }
+
+    /**
+     * Marks the thread as running a service method.
+     *
+     * @param method the service method
+     * @return the mark it replaces, to be passed to {@link #exit}
+     */
+    Timer enter(final Method method) {
+        final Timer previous = current.get();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, this::register);
+        }
+        current.set(timer);
+        return previous;
+    }
+
+    /**
+     * Marks the thread as no longer running the service method.
+     *
+     * @param previous the mark returned by {@link #enter}
+     */
+    void exit(final Timer previous) {
+        current.set(previous);
+    }
+
+    /**
+     * Records JDBC work on the service method running on the thread.
+     *
+     * @param nanos the time the connection was held
+     */
+    void record(final long nanos) {
+        Timer timer = current.get();
+        if (timer == null) {
+            timer = unattributed;
+            if (timer == null) {
+                timer = timer("none", "none");
+                unattributed = timer;
+            }
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer register(final Method method) {
+        return timer(method.getDeclaringClass().getSimpleName(),
+                method.getName());
+    }
+
+    private Timer timer(final String service, final String method) {
+        return Timer.builder(NAME)
+                .description("Time service methods hold JDBC connections")
+                .tag("service", service)
+                .tag("method", method)
+                .register(registry.getObject());
+    }
+}
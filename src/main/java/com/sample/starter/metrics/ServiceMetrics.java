@@ -0,0 +1,55 @@
+package com.sample.starter.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * Marks the threads running the methods of the services of the
+ * application, so that their JDBC work is timed by method, see
+ * {@link QueryTimers}. Final services cannot be proxied and are skipped.
+ * The advice runs ahead of the advisors of a proxy already, so that the
+ * connection of a transaction is held within the method it is timed on.
+ */
+@Component
+public class ServiceMetrics
+        extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    /**
+     * Package of the application.
+     */
+    private static final String PACKAGE = "com.sample.";
+
+    /**
+     * Instantiates new Service metrics.
+     *
+     * @param queryTimers the query timers
+     */
+    public ServiceMetrics(final QueryTimers queryTimers) {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        final MethodInterceptor interceptor = invocation -> {
+            final Timer previous = queryTimers.enter(invocation.getMethod());
+            try {
+                return invocation.proceed();
+            } finally {
+                queryTimers.exit(previous);
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(
+                (ClassFilter) ServiceMetrics::isService), interceptor);
+    }
+
+    private static boolean isService(final Class<?> clazz) {
+        return clazz.isAnnotationPresent(Service.class)
+                && clazz.getName().startsWith(PACKAGE)
+                && !Modifier.isFinal(clazz.getModifiers());
+    }
+}
@@ -0,0 +1,257 @@
+package com.sample.starter.metrics;
+
+import com.sample.starter.security.config.AppProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Meters of each SQL statement, by fingerprint: the statement with its
+ * literals and lists of parameters collapsed. Each execution records its
+ * latency, and the rows it wrote or the fetch size of the rows it read, and
+ * is logged when slower than app.datasource.slowStatementMsec, with the
+ * types of its parameters and never their values. Meters are tagged with
+ * a short id of the fingerprint, which jdbc.statement.info maps to the
+ * fingerprint, so that the statement is not repeated on every series.
+ */
+@Component
+public final class StatementMetrics {
+
+    /**
+     * Name of the timers.
+     */
+    static final String NAME = "jdbc.statement";
+
+    /**
+     * Fingerprint of the statements past the distinct ones metered apart.
+     */
+    static final String OTHER = "other";
+
+    /**
+     * Hex digits of the id of a fingerprint.
+     */
+    private static final int ID_LENGTH = 12;
+
+    /**
+     * String literals.
+     */
+    private static final Pattern STRINGS = Pattern.compile("'(?:[^']|'')*'");
+
+    /**
+     * Number literals, outside of names.
+     */
+    private static final Pattern NUMBERS =
+            Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    /**
+     * Lists of parameters, as expanded for collections.
+     */
+    private static final Pattern LISTS =
+            Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    /**
+     * Runs of white space.
+     */
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /**
+     * Logger.
+     */
+    private final Logger logger =
+            LoggerFactory.getLogger(StatementMetrics.class);
+
+    /**
+     * Registry, looked up late as post processors use the meters.
+     */
+    private final ObjectProvider<MeterRegistry> registry;
+
+    /**
+     * App properties, looked up late for the same reason.
+     */
+    private final ObjectProvider<AppProperties> appProperties;
+
+    /**
+     * Meters by statement, as sent.
+     */
+    private final Map<String, Meters> bySql = new ConcurrentHashMap<>();
+
+    /**
+     * Meters by fingerprint.
+     */
+    private final Map<String, Meters> byFingerprint =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates new Statement metrics.
+     *
+     * @param aRegistry       the meter registry
+     * @param anAppProperties the app properties
+     */
+    public StatementMetrics(final ObjectProvider<MeterRegistry> aRegistry,
+                            final ObjectProvider<AppProperties>
+                                    anAppProperties) {
+        this.registry = aRegistry;
+        this.appProperties = anAppProperties;
+    }
+
+    /**
+     * Gets the meters of a statement. Statements are fingerprinted once,
+     * as sent, so that the statements of the services, which are
+     * constants, cost a lookup an execution.
+     *
+     * @param sql the statement
+     * @return the meters
+     */
+    Meters meters(final String sql) {
+        Meters meters = bySql.get(sql);
+        if (meters == null) {
+            meters = byFingerprint(fingerprint(sql));
+            if (bySql.size() < maxStatements() * 2) {
+                bySql.putIfAbsent(sql, meters);
+            }
+        }
+        return meters;
+    }
+
+    /**
+     * Records an execution of a statement.
+     *
+     * @param meters     the meters of the statement
+     * @param nanos      the time from executing it until done with its rows
+     * @param rows       the rows written, negative for none
+     * @param fetchSize  the fetch size of the rows read, negative for none
+     * @param parameters the parameters, by index from 0
+     */
+    void record(final Meters meters, final long nanos, final long rows,
+                final int fetchSize, final List<Object> parameters) {
+        meters.timer().record(nanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            meters.rows().record(rows);
+        }
+        if (fetchSize >= 0) {
+            meters.fetchSize().record(fetchSize);
+        }
+        final long slowMsec = appProperties.getObject().getDatasource()
+                .getSlowStatementMsec();
+        if (slowMsec > 0 && nanos >= TimeUnit.MILLISECONDS.toNanos(slowMsec)
+                && logger.isWarnEnabled()) {
+            logger.warn("Slow Statement {} {} ms {} rows written: {} {}",
+                    meters.id(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                    Math.max(0, rows), meters.fingerprint(),
+                    redact(parameters));
+        }
+    }
+
+    /**
+     * Fingerprints a statement: literals become parameters, lists of
+     * parameters one parameter and white space one space.
+     *
+     * @param sql the statement
+     * @return the fingerprint
+     */
+    static String fingerprint(final String sql) {
+        String fingerprint = STRINGS.matcher(sql).replaceAll("?");
+        fingerprint = NUMBERS.matcher(fingerprint).replaceAll("?");
+        fingerprint = SPACES.matcher(fingerprint).replaceAll(" ").trim();
+        return LISTS.matcher(fingerprint).replaceAll("(?)");
+    }
+
+    /**
+     * Redacts parameters to their types, with the length of strings.
+     *
+     * @param parameters the parameters
+     * @return the redacted parameters
+     */
+    static String redact(final List<Object> parameters) {
+        final StringJoiner redacted = new StringJoiner(", ", "[", "]");
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                redacted.add("null");
+            } else if (parameter instanceof CharSequence text) {
+                redacted.add("String(" + text.length() + ")");
+            } else {
+                redacted.add(parameter.getClass().getSimpleName());
+            }
+        }
+        return redacted.toString();
+    }
+
+    /**
+     * Gets the id of a fingerprint.
+     *
+     * @param fingerprint the fingerprint
+     * @return the id
+     */
+    static String id(final String fingerprint) {
+        return DigestUtils.md5DigestAsHex(fingerprint.getBytes(
+                StandardCharsets.UTF_8)).substring(0, ID_LENGTH);
+    }
+
+    private Meters byFingerprint(final String fingerprint) {
+        final Meters meters = byFingerprint.get(fingerprint);
+        if (meters != null) {
+            return meters;
+        }
+        if (byFingerprint.size() >= maxStatements()) {
+            return byFingerprint.computeIfAbsent(OTHER, this::register);
+        }
+        return byFingerprint.computeIfAbsent(fingerprint, this::register);
+    }
+
+    private int maxStatements() {
+        return appProperties.getObject().getDatasource().getMaxStatements();
+    }
+
+    private Meters register(final String fingerprint) {
+        final MeterRegistry meterRegistry = registry.getObject();
+        final String id = OTHER.equals(fingerprint) ? OTHER
+                : id(fingerprint);
+        Gauge.builder(NAME + ".info", () -> 1)
+                .description("Fingerprint of the statement of an id")
+                .tag("statement", id)
+                .tag("sql", fingerprint)
+                .register(meterRegistry);
+        return new Meters(id, fingerprint,
+                Timer.builder(NAME)
+                        .description("Time from executing a statement "
+                                + "until done with its rows")
+                        .tag("statement", id)
+                        .register(meterRegistry),
+                DistributionSummary.builder(NAME + ".rows")
+                        .description("Rows a statement wrote")
+                        .tag("statement", id)
+                        .register(meterRegistry),
+                DistributionSummary.builder(NAME + ".fetch.size")
+                        .description("Fetch size of the rows a statement "
+                                + "read")
+                        .tag("statement", id)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Meters of a statement.
+     *
+     * @param id          the id of the fingerprint
+     * @param fingerprint the fingerprint
+     * @param timer       the latency
+     * @param rows        the rows written
+     * @param fetchSize   the fetch size
+     */
+    record Meters(String id, String fingerprint, Timer timer,
+                  DistributionSummary rows, DistributionSummary fetchSize) {
+    }
+}
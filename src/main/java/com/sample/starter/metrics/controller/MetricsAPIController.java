@@ -0,0 +1,66 @@
+package com.sample.starter.metrics.controller;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The type Metrics api controller.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@Tag(name = "Metrics", description = "Resource to scrape the metrics")
+class MetricsAPIController {
+
+    /**
+     * Prometheus text format.
+     */
+    private static final MediaType TEXT_FORMAT = MediaType.parseMediaType(
+            "text/plain;version=0.0.4;charset=utf-8");
+
+    /**
+     * declare a prometheus registry, absent when export is disabled.
+     */
+    private final ObjectProvider<PrometheusMeterRegistry> registry;
+
+    /**
+     * Instantiates a new Metrics api controller.
+     *
+     * @param aRegistry the prometheus registry
+     */
+    MetricsAPIController(
+            final ObjectProvider<PrometheusMeterRegistry> aRegistry) {
+        this.registry = aRegistry;
+    }
+
+    /**
+     * Scrape the metrics.
+     *
+     * @return the metrics in the Prometheus text format
+     */
+    @Operation(summary = "Scrapes the metrics",
+            description = "Endpoint latencies, JDBC time by service "
+                    + "method, cache hit ratios, token store size and "
+                    + "connection pool usage, in the Prometheus text format")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "metrics scraped successfully"),
+            @ApiResponse(responseCode = "404",
+                    description = "metrics export is disabled")})
+    @GetMapping
+    public final ResponseEntity<String> scrape() {
+        final PrometheusMeterRegistry prometheus = registry.getIfAvailable();
+        if (prometheus == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(TEXT_FORMAT)
+                .body(prometheus.scrape());
+    }
+}
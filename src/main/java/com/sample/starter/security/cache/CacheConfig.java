@@ -1,9 +1,85 @@
 package com.sample.starter.security.cache;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sample.starter.security.config.AppProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
+/**
+ * Caffeine backed caches, each sized and expired by its spec under
+ * {@code app.cache} in application.yml.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    /**
+     * Principals by token subject.
+     */
+    public static final String PRINCIPALS = "principals";
+
+    /**
+     * Localized movies.
+     */
+    public static final String MOVIES = "movies";
+
+    /**
+     * Localized theatres.
+     */
+    public static final String THEATRES = "theatres";
+
+    /**
+     * Localized tags.
+     */
+    public static final String TAGS = "tags";
+
+    /**
+     * Localized genres.
+     */
+    public static final String GENRES = "genres";
+
+    /**
+     * Builds the cache manager with a cache per spec. Caches without a spec
+     * fall back to the defaults of {@link AppProperties.CacheSpec}.
+     *
+     * @param appProperties the app properties
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(final AppProperties appProperties) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(caffeine(new AppProperties.CacheSpec()));
+        appProperties.getCache().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, caffeine(spec).build()));
+        return cacheManager;
+    }
+
+    /**
+     * Builds the caffeine builder of a spec.
+     *
+     * @param spec the cache spec
+     * @return the caffeine builder
+     */
+    static Caffeine<Object, Object> caffeine(
+            final AppProperties.CacheSpec spec) {
+        final Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize());
+        if (spec.getExpireAfterWriteMsec() > 0) {
+            caffeine.expireAfterWrite(
+                    Duration.ofMillis(spec.getExpireAfterWriteMsec()));
+        }
+        if (spec.getExpireAfterAccessMsec() > 0) {
+            caffeine.expireAfterAccess(
+                    Duration.ofMillis(spec.getExpireAfterAccessMsec()));
+        }
+        if (spec.isRecordStats()) {
+            caffeine.recordStats();
+        }
+        return caffeine;
+    }
 }
@@ -0,0 +1,272 @@
+package com.sample.starter.security.cache;
+
+import com.sample.starter.security.config.AppProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In memory store of the auth tokens. Each token type is its own namespace,
+ * split into lock striped shards. Entries expire with the token lifetime
+ * and are purged on read and by a background sweeper.
+ */
+@Component
+public final class TokenStore {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(TokenStore.class);
+
+    /**
+     * App Properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Clock to expire entries with.
+     */
+    private final Clock clock;
+
+    /**
+     * Shards of each namespace.
+     */
+    private final Map<TokenType, Shard[]> namespaces;
+
+    /**
+     * Entries removed as they expired.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Sweeper of expired entries.
+     */
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Builds the token store from the auth properties.
+     *
+     * @param anAppProperties the app properties
+     */
+    @Autowired
+    public TokenStore(final AppProperties anAppProperties) {
+        this(anAppProperties, Clock.systemUTC());
+    }
+
+    /**
+     * Builds the token store with a clock.
+     *
+     * @param anAppProperties the app properties
+     * @param aClock          the clock
+     */
+    public TokenStore(final AppProperties anAppProperties,
+                      final Clock aClock) {
+        this.appProperties = anAppProperties;
+        this.clock = aClock;
+        this.namespaces = new EnumMap<>(TokenType.class);
+        final int shards = Integer.highestOneBit(
+                Math.max(1, anAppProperties.getAuth().getTokenStoreShards()));
+        for (TokenType type : TokenType.values()) {
+            final Shard[] namespace = new Shard[shards];
+            for (int i = 0; i < shards; i++) {
+                namespace[i] = new Shard();
+            }
+            namespaces.put(type, namespace);
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "token-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval =
+                anAppProperties.getAuth().getTokenStoreSweepIntervalMsec();
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stores a token.
+     *
+     * @param type  the token type
+     * @param token the token
+     * @param value the value of the token
+     */
+    public void put(final TokenType type, final String token,
+                    final String value) {
+        final long expiresAt = clock.millis() + getTimeToLive(type);
+        final Shard shard = shardOf(type, token);
+        synchronized (shard) {
+            shard.entries.put(token, new Entry(value, expiresAt));
+        }
+    }
+
+    /**
+     * Gets the value of a live token.
+     *
+     * @param type  the token type
+     * @param token the token
+     * @return the value, null when absent or expired
+     */
+    public String get(final TokenType type, final String token) {
+        final long now = clock.millis();
+        final Shard shard = shardOf(type, token);
+        synchronized (shard) {
+            final Entry entry = shard.entries.get(token);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= now) {
+                shard.entries.remove(token);
+                evictions.increment();
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    /**
+     * Removes a token.
+     *
+     * @param type  the token type
+     * @param token the token
+     */
+    public void remove(final TokenType type, final String token) {
+        final Shard shard = shardOf(type, token);
+        synchronized (shard) {
+            shard.entries.remove(token);
+        }
+    }
+
+    /**
+     * Gets the number of stored tokens of a type, expired or not.
+     *
+     * @param type the token type
+     * @return the size
+     */
+    public int size(final TokenType type) {
+        int size = 0;
+        for (Shard shard : namespaces.get(type)) {
+            synchronized (shard) {
+                size += shard.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of stored tokens.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (TokenType type : TokenType.values()) {
+            size += size(type);
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of tokens removed as they expired.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes the expired tokens, one shard at a time.
+     */
+    public void sweep() {
+        final long now = clock.millis();
+        long swept = 0;
+        for (Shard[] namespace : namespaces.values()) {
+            for (Shard shard : namespace) {
+                synchronized (shard) {
+                    final Iterator<Entry> iterator =
+                            shard.entries.values().iterator();
+                    while (iterator.hasNext()) {
+                        if (iterator.next().expiresAt() <= now) {
+                            iterator.remove();
+                            swept++;
+                        }
+                    }
+                }
+            }
+        }
+        if (swept > 0) {
+            evictions.add(swept);
+            logger.debug("Swept {} expired tokens", swept);
+        }
+    }
+
+    /**
+     * Stops the sweeper.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Gets the time to live of a token type. Access tokens outlive the
+     * JWT they map to so that they can be refreshed once expired.
+     *
+     * @param type the token type
+     * @return the time to live in msec
+     */
+    private long getTimeToLive(final TokenType type) {
+        final AppProperties.Auth auth = appProperties.getAuth();
+        return switch (type) {
+            case ACCESS, REFRESH -> Math.max(auth.getTokenExpirationMsec(),
+                    auth.getRefreshTokenExpirationMsec());
+            case WELCOME -> auth.getTokenExpirationMsec();
+        };
+    }
+
+    /**
+     * Gets the shard holding a token.
+     *
+     * @param type  the token type
+     * @param token the token
+     * @return the shard
+     */
+    private Shard shardOf(final TokenType type, final String token) {
+        final Shard[] namespace = namespaces.get(type);
+        final int hash = token.hashCode();
+        return namespace[(hash ^ (hash >>> Short.SIZE))
+                & (namespace.length - 1)];
+    }
+
+    /**
+     * Stored value with its expiry.
+     *
+     * @param value     the value
+     * @param expiresAt the expiry in epoch msec
+     */
+    private record Entry(String value, long expiresAt) {
+    }
+
+    /**
+     * A lock stripe of a namespace.
+     */
+    private static final class Shard {
+        /**
+         * Entries by token.
+         */
+        private final Map<String, Entry> entries = new HashMap<>();
+    }
+}
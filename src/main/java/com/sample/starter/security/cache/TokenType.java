@@ -0,0 +1,19 @@
+package com.sample.starter.security.cache;
+
+/**
+ * Namespaces of the token store.
+ */
+public enum TokenType {
+    /**
+     * Opaque access token to signed JWT.
+     */
+    ACCESS,
+    /**
+     * Refresh token to the access token it renews.
+     */
+    REFRESH,
+    /**
+     * One time welcome token to user name.
+     */
+    WELCOME
+}
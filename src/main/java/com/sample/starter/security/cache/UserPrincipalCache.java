@@ -0,0 +1,102 @@
+package com.sample.starter.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sample.event.UserChangedEvent;
+import com.sample.starter.security.config.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of the principals resolved from a token subject.
+ * Keeps per request authentication free of user and profile lookups.
+ */
+@Component
+public class UserPrincipalCache {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger =
+            LoggerFactory.getLogger(UserPrincipalCache.class);
+
+    /**
+     * Principals by token subject.
+     */
+    private final Cache<Object, Object> principals;
+
+    /**
+     * Binds to the principals cache of the cache manager.
+     *
+     * @param cacheManager the cache manager
+     */
+    public UserPrincipalCache(final CacheManager cacheManager) {
+        this.principals = ((CaffeineCache) cacheManager
+                .getCache(CacheConfig.PRINCIPALS)).getNativeCache();
+    }
+
+    /**
+     * Gets the principal for the subject, loading it on a miss.
+     *
+     * @param subject the token subject
+     * @param loader  loads the principal when it is not cached
+     * @return the principal
+     */
+    public UserPrincipal get(final String subject,
+                             final Function<String, UserPrincipal> loader) {
+        return (UserPrincipal) principals.get(subject,
+                key -> loader.apply((String) key));
+    }
+
+    /**
+     * Evicts the principals of a changed user.
+     *
+     * @param event the user changed event
+     */
+    @EventListener
+    public void onUserChanged(final UserChangedEvent event) {
+        logger.debug("Evicting principal of {}", event.userHandle());
+        principals.asMap().values().removeIf(principal ->
+                event.userHandle().equals(
+                        ((UserPrincipal) principal).getUserHandle()));
+    }
+
+    /**
+     * Evicts all the principals.
+     */
+    public void clear() {
+        principals.invalidateAll();
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return principals.stats().hitCount();
+    }
+
+    /**
+     * Gets the number of lookups that had to load the principal.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return principals.stats().missCount();
+    }
+
+    /**
+     * Gets the number of cached principals.
+     *
+     * @return the size
+     */
+    public long size() {
+        return principals.estimatedSize();
+    }
+}
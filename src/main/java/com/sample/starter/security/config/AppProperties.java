@@ -3,7 +3,9 @@ package com.sample.starter.security.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The type App properties.
@@ -19,6 +21,22 @@ public class AppProperties {
      * declaring an OAuth2 variable final.
      */
     private final OAuth2 oauth2 = new OAuth2();
+    /**
+     * declaring a Map of cache specs by cache name.
+     */
+    private final Map<String, CacheSpec> cache = new LinkedHashMap<>();
+    /**
+     * declaring a Catalog variable final.
+     */
+    private final Catalog catalog = new Catalog();
+    /**
+     * declaring a Booking variable final.
+     */
+    private final Booking booking = new Booking();
+    /**
+     * declaring a Datasource variable final.
+     */
+    private final Datasource datasource = new Datasource();
 
     /**
      * Gets auth.
@@ -38,10 +56,72 @@ public class AppProperties {
         return oauth2;
     }
 
+    /**
+     * Gets cache specs.
+     *
+     * @return the cache specs by cache name
+     */
+    public Map<String, CacheSpec> getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets catalog.
+     *
+     * @return the catalog
+     */
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Gets booking.
+     *
+     * @return the booking
+     */
+    public Booking getBooking() {
+        return booking;
+    }
+
+    /**
+     * Gets datasource.
+     *
+     * @return the datasource
+     */
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
     /**
      * The type Auth.
      */
     public static class Auth {
+        /**
+         * Default time a refresh token stays valid.
+         */
+        private static final long DEFAULT_REFRESH_TOKEN_EXPIRATION =
+                86_400_000L;
+        /**
+         * Default number of token store shards.
+         */
+        private static final int DEFAULT_TOKEN_STORE_SHARDS = 16;
+        /**
+         * Default interval of the token store sweeper.
+         */
+        private static final long DEFAULT_TOKEN_STORE_SWEEP_INTERVAL =
+                30_000L;
+        /**
+         * Default log rounds of BCrypt.
+         */
+        private static final int DEFAULT_BCRYPT_STRENGTH = 10;
+        /**
+         * Default number of passwords queued for hashing.
+         */
+        private static final int DEFAULT_HASH_QUEUE_CAPACITY = 64;
+        /**
+         * Default time a login waits for its password to be hashed.
+         */
+        private static final long DEFAULT_HASH_TIMEOUT = 2_000L;
         /**
          * declaring variable tokenSecret.
          */
@@ -50,6 +130,36 @@ public class AppProperties {
          * declaring variable tokenExpirationMsec.
          */
         private long tokenExpirationMsec;
+        /**
+         * declaring variable refreshTokenExpirationMsec.
+         */
+        private long refreshTokenExpirationMsec =
+                DEFAULT_REFRESH_TOKEN_EXPIRATION;
+        /**
+         * declaring variable tokenStoreShards.
+         */
+        private int tokenStoreShards = DEFAULT_TOKEN_STORE_SHARDS;
+        /**
+         * declaring variable tokenStoreSweepIntervalMsec.
+         */
+        private long tokenStoreSweepIntervalMsec =
+                DEFAULT_TOKEN_STORE_SWEEP_INTERVAL;
+        /**
+         * declaring variable bcryptStrength.
+         */
+        private int bcryptStrength = DEFAULT_BCRYPT_STRENGTH;
+        /**
+         * declaring variable hashThreads, 0 for one a core.
+         */
+        private int hashThreads;
+        /**
+         * declaring variable hashQueueCapacity.
+         */
+        private int hashQueueCapacity = DEFAULT_HASH_QUEUE_CAPACITY;
+        /**
+         * declaring variable hashTimeoutMsec.
+         */
+        private long hashTimeoutMsec = DEFAULT_HASH_TIMEOUT;
 
         /**
          * Gets token secret.
@@ -86,6 +196,627 @@ public class AppProperties {
         public void setTokenExpirationMsec(final long atokenExpirationMsec) {
             this.tokenExpirationMsec = atokenExpirationMsec;
         }
+
+        /**
+         * Gets refresh token expiration msec.
+         *
+         * @return the refresh token expiration msec
+         */
+        public long getRefreshTokenExpirationMsec() {
+            return refreshTokenExpirationMsec;
+        }
+
+        /**
+         * Sets refresh token expiration msec.
+         *
+         * @param arefreshTokenExpirationMsec the refresh token expiration msec
+         */
+        public void setRefreshTokenExpirationMsec(
+                final long arefreshTokenExpirationMsec) {
+            this.refreshTokenExpirationMsec = arefreshTokenExpirationMsec;
+        }
+
+        /**
+         * Gets token store shards.
+         *
+         * @return the token store shards
+         */
+        public int getTokenStoreShards() {
+            return tokenStoreShards;
+        }
+
+        /**
+         * Sets token store shards.
+         *
+         * @param atokenStoreShards the token store shards
+         */
+        public void setTokenStoreShards(final int atokenStoreShards) {
+            this.tokenStoreShards = atokenStoreShards;
+        }
+
+        /**
+         * Gets token store sweep interval msec.
+         *
+         * @return the token store sweep interval msec
+         */
+        public long getTokenStoreSweepIntervalMsec() {
+            return tokenStoreSweepIntervalMsec;
+        }
+
+        /**
+         * Sets token store sweep interval msec.
+         *
+         * @param atokenStoreSweepIntervalMsec the sweep interval msec
+         */
+        public void setTokenStoreSweepIntervalMsec(
+                final long atokenStoreSweepIntervalMsec) {
+            this.tokenStoreSweepIntervalMsec = atokenStoreSweepIntervalMsec;
+        }
+
+        /**
+         * Gets bcrypt strength.
+         *
+         * @return the bcrypt strength
+         */
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        /**
+         * Sets bcrypt strength.
+         *
+         * @param abcryptStrength the bcrypt strength
+         */
+        public void setBcryptStrength(final int abcryptStrength) {
+            this.bcryptStrength = abcryptStrength;
+        }
+
+        /**
+         * Gets hash threads, 0 for one a core.
+         *
+         * @return the hash threads
+         */
+        public int getHashThreads() {
+            return hashThreads;
+        }
+
+        /**
+         * Sets hash threads.
+         *
+         * @param ahashThreads the hash threads
+         */
+        public void setHashThreads(final int ahashThreads) {
+            this.hashThreads = ahashThreads;
+        }
+
+        /**
+         * Gets hash queue capacity.
+         *
+         * @return the hash queue capacity
+         */
+        public int getHashQueueCapacity() {
+            return hashQueueCapacity;
+        }
+
+        /**
+         * Sets hash queue capacity.
+         *
+         * @param ahashQueueCapacity the hash queue capacity
+         */
+        public void setHashQueueCapacity(final int ahashQueueCapacity) {
+            this.hashQueueCapacity = ahashQueueCapacity;
+        }
+
+        /**
+         * Gets hash timeout msec.
+         *
+         * @return the hash timeout msec
+         */
+        public long getHashTimeoutMsec() {
+            return hashTimeoutMsec;
+        }
+
+        /**
+         * Sets hash timeout msec.
+         *
+         * @param ahashTimeoutMsec the hash timeout msec
+         */
+        public void setHashTimeoutMsec(final long ahashTimeoutMsec) {
+            this.hashTimeoutMsec = ahashTimeoutMsec;
+        }
+    }
+
+    /**
+     * The type Catalog.
+     */
+    public static final class Catalog {
+        /**
+         * Default number of entries in a page.
+         */
+        private static final int DEFAULT_PAGE_SIZE = 20;
+        /**
+         * Default maximum number of entries in a page.
+         */
+        private static final int DEFAULT_MAX_PAGE_SIZE = 100;
+        /**
+         * Default number of statements in a JDBC batch.
+         */
+        private static final int DEFAULT_BATCH_SIZE = 500;
+        /**
+         * declaring variable pageSize.
+         */
+        private int pageSize = DEFAULT_PAGE_SIZE;
+        /**
+         * declaring variable maxPageSize.
+         */
+        private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+        /**
+         * declaring variable batchSize.
+         */
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Gets page size.
+         *
+         * @return the page size
+         */
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        /**
+         * Sets page size.
+         *
+         * @param apageSize the page size
+         */
+        public void setPageSize(final int apageSize) {
+            this.pageSize = apageSize;
+        }
+
+        /**
+         * Gets max page size.
+         *
+         * @return the max page size
+         */
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        /**
+         * Sets max page size.
+         *
+         * @param amaxPageSize the max page size
+         */
+        public void setMaxPageSize(final int amaxPageSize) {
+            this.maxPageSize = amaxPageSize;
+        }
+
+        /**
+         * Gets batch size.
+         *
+         * @return the batch size
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        /**
+         * Sets batch size.
+         *
+         * @param abatchSize the batch size
+         */
+        public void setBatchSize(final int abatchSize) {
+            this.batchSize = abatchSize;
+        }
+    }
+
+    /**
+     * The type Booking.
+     */
+    public static final class Booking {
+        /**
+         * Default time a hold keeps its seats.
+         */
+        private static final long DEFAULT_HOLD_TTL = 300_000L;
+        /**
+         * Default number of seats of a hold.
+         */
+        private static final int DEFAULT_MAX_SEATS_PER_HOLD = 10;
+        /**
+         * Default length of a tick of the hold expiry wheel.
+         */
+        private static final long DEFAULT_HOLD_TICK = 100L;
+        /**
+         * Default number of commands a show sequencer queues.
+         */
+        private static final int DEFAULT_SEQUENCER_QUEUE_CAPACITY = 4_096;
+        /**
+         * Default number of commands a show sequencer applies at once.
+         */
+        private static final int DEFAULT_SEQUENCER_BATCH_SIZE = 256;
+        /**
+         * Default milliseconds a booking waits on its show sequencer.
+         */
+        private static final long DEFAULT_SEQUENCER_TIMEOUT = 10_000L;
+        /**
+         * Default number of users waiting on a show.
+         */
+        private static final int DEFAULT_WAITLIST_CAPACITY = 1_000;
+        /**
+         * Default time a user waits for an offer.
+         */
+        private static final long DEFAULT_WAITLIST_TIMEOUT = 600_000L;
+        /**
+         * Default interval of the sweeper of started shows.
+         */
+        private static final long DEFAULT_SHOW_SWEEP_INTERVAL = 60_000L;
+        /**
+         * declaring variable mode.
+         */
+        private Mode mode = Mode.CAS;
+        /**
+         * declaring variable holdTtlMsec.
+         */
+        private long holdTtlMsec = DEFAULT_HOLD_TTL;
+        /**
+         * declaring variable maxSeatsPerHold.
+         */
+        private int maxSeatsPerHold = DEFAULT_MAX_SEATS_PER_HOLD;
+        /**
+         * declaring variable holdTickMsec.
+         */
+        private long holdTickMsec = DEFAULT_HOLD_TICK;
+        /**
+         * declaring variable sequencerPartitions, 0 for one a core.
+         */
+        private int sequencerPartitions;
+        /**
+         * declaring variable sequencerQueueCapacity.
+         */
+        private int sequencerQueueCapacity = DEFAULT_SEQUENCER_QUEUE_CAPACITY;
+        /**
+         * declaring variable sequencerBatchSize.
+         */
+        private int sequencerBatchSize = DEFAULT_SEQUENCER_BATCH_SIZE;
+        /**
+         * declaring variable sequencerTimeoutMsec.
+         */
+        private long sequencerTimeoutMsec = DEFAULT_SEQUENCER_TIMEOUT;
+        /**
+         * declaring variable waitlistCapacity.
+         */
+        private int waitlistCapacity = DEFAULT_WAITLIST_CAPACITY;
+        /**
+         * declaring variable waitlistTimeoutMsec.
+         */
+        private long waitlistTimeoutMsec = DEFAULT_WAITLIST_TIMEOUT;
+        /**
+         * declaring variable showSweepIntervalMsec.
+         */
+        private long showSweepIntervalMsec = DEFAULT_SHOW_SWEEP_INTERVAL;
+
+        /**
+         * Gets mode.
+         *
+         * @return the mode
+         */
+        public Mode getMode() {
+            return mode;
+        }
+
+        /**
+         * Sets mode.
+         *
+         * @param amode the mode
+         */
+        public void setMode(final Mode amode) {
+            this.mode = amode;
+        }
+
+        /**
+         * Gets hold ttl msec.
+         *
+         * @return the hold ttl msec
+         */
+        public long getHoldTtlMsec() {
+            return holdTtlMsec;
+        }
+
+        /**
+         * Sets hold ttl msec.
+         *
+         * @param aholdTtlMsec the hold ttl msec
+         */
+        public void setHoldTtlMsec(final long aholdTtlMsec) {
+            this.holdTtlMsec = aholdTtlMsec;
+        }
+
+        /**
+         * Gets max seats per hold.
+         *
+         * @return the max seats per hold
+         */
+        public int getMaxSeatsPerHold() {
+            return maxSeatsPerHold;
+        }
+
+        /**
+         * Sets max seats per hold.
+         *
+         * @param amaxSeatsPerHold the max seats per hold
+         */
+        public void setMaxSeatsPerHold(final int amaxSeatsPerHold) {
+            this.maxSeatsPerHold = amaxSeatsPerHold;
+        }
+
+        /**
+         * Gets hold tick msec.
+         *
+         * @return the hold tick msec
+         */
+        public long getHoldTickMsec() {
+            return holdTickMsec;
+        }
+
+        /**
+         * Sets hold tick msec.
+         *
+         * @param aholdTickMsec the hold tick msec
+         */
+        public void setHoldTickMsec(final long aholdTickMsec) {
+            this.holdTickMsec = aholdTickMsec;
+        }
+
+        /**
+         * Gets sequencer partitions, 0 for one a core.
+         *
+         * @return the sequencer partitions
+         */
+        public int getSequencerPartitions() {
+            return sequencerPartitions;
+        }
+
+        /**
+         * Sets sequencer partitions.
+         *
+         * @param asequencerPartitions the sequencer partitions
+         */
+        public void setSequencerPartitions(final int asequencerPartitions) {
+            this.sequencerPartitions = asequencerPartitions;
+        }
+
+        /**
+         * Gets sequencer queue capacity.
+         *
+         * @return the sequencer queue capacity
+         */
+        public int getSequencerQueueCapacity() {
+            return sequencerQueueCapacity;
+        }
+
+        /**
+         * Sets sequencer queue capacity.
+         *
+         * @param asequencerQueueCapacity the sequencer queue capacity
+         */
+        public void setSequencerQueueCapacity(
+                final int asequencerQueueCapacity) {
+            this.sequencerQueueCapacity = asequencerQueueCapacity;
+        }
+
+        /**
+         * Gets sequencer batch size.
+         *
+         * @return the sequencer batch size
+         */
+        public int getSequencerBatchSize() {
+            return sequencerBatchSize;
+        }
+
+        /**
+         * Sets sequencer batch size.
+         *
+         * @param asequencerBatchSize the sequencer batch size
+         */
+        public void setSequencerBatchSize(final int asequencerBatchSize) {
+            this.sequencerBatchSize = asequencerBatchSize;
+        }
+
+        /**
+         * Gets sequencer timeout msec.
+         *
+         * @return the sequencer timeout msec
+         */
+        public long getSequencerTimeoutMsec() {
+            return sequencerTimeoutMsec;
+        }
+
+        /**
+         * Sets sequencer timeout msec.
+         *
+         * @param asequencerTimeoutMsec the sequencer timeout msec
+         */
+        public void setSequencerTimeoutMsec(
+                final long asequencerTimeoutMsec) {
+            this.sequencerTimeoutMsec = asequencerTimeoutMsec;
+        }
+
+        /**
+         * Gets waitlist capacity.
+         *
+         * @return the waitlist capacity
+         */
+        public int getWaitlistCapacity() {
+            return waitlistCapacity;
+        }
+
+        /**
+         * Sets waitlist capacity.
+         *
+         * @param awaitlistCapacity the waitlist capacity
+         */
+        public void setWaitlistCapacity(final int awaitlistCapacity) {
+            this.waitlistCapacity = awaitlistCapacity;
+        }
+
+        /**
+         * Gets waitlist timeout msec.
+         *
+         * @return the waitlist timeout msec
+         */
+        public long getWaitlistTimeoutMsec() {
+            return waitlistTimeoutMsec;
+        }
+
+        /**
+         * Sets waitlist timeout msec.
+         *
+         * @param awaitlistTimeoutMsec the waitlist timeout msec
+         */
+        public void setWaitlistTimeoutMsec(final long awaitlistTimeoutMsec) {
+            this.waitlistTimeoutMsec = awaitlistTimeoutMsec;
+        }
+
+        /**
+         * Gets show sweep interval msec.
+         *
+         * @return the show sweep interval msec
+         */
+        public long getShowSweepIntervalMsec() {
+            return showSweepIntervalMsec;
+        }
+
+        /**
+         * Sets show sweep interval msec.
+         *
+         * @param ashowSweepIntervalMsec the show sweep interval msec
+         */
+        public void setShowSweepIntervalMsec(
+                final long ashowSweepIntervalMsec) {
+            this.showSweepIntervalMsec = ashowSweepIntervalMsec;
+        }
+
+        /**
+         * How concurrent bookings of a show are applied.
+         */
+        public enum Mode {
+            /**
+             * Each request thread applies its own, with compare and set.
+             */
+            CAS,
+            /**
+             * One sequencer thread a show applies them in order, and
+             * writes confirmations in batches.
+             */
+            SEQUENCED
+        }
+    }
+
+    /**
+     * Guard of the connection pool, when requests run on virtual threads.
+     */
+    public static final class Datasource {
+        /**
+         * Default time a thread waits to enter the pool.
+         */
+        private static final long DEFAULT_ACQUIRE_TIMEOUT = 2_000L;
+        /**
+         * Default time past which a statement is logged as slow.
+         */
+        private static final long DEFAULT_SLOW_STATEMENT = 500L;
+        /**
+         * Default number of statements metered apart.
+         */
+        private static final int DEFAULT_MAX_STATEMENTS = 500;
+        /**
+         * declaring variable maxConcurrentConnections, 0 for the pool size.
+         */
+        private int maxConcurrentConnections;
+        /**
+         * declaring variable acquireTimeoutMsec.
+         */
+        private long acquireTimeoutMsec = DEFAULT_ACQUIRE_TIMEOUT;
+        /**
+         * declaring variable slowStatementMsec, 0 to log none.
+         */
+        private long slowStatementMsec = DEFAULT_SLOW_STATEMENT;
+        /**
+         * declaring variable maxStatements.
+         */
+        private int maxStatements = DEFAULT_MAX_STATEMENTS;
+
+        /**
+         * Gets max concurrent connections, 0 for the pool size.
+         *
+         * @return the max concurrent connections
+         */
+        public int getMaxConcurrentConnections() {
+            return maxConcurrentConnections;
+        }
+
+        /**
+         * Sets max concurrent connections.
+         *
+         * @param amaxConcurrentConnections the max concurrent connections
+         */
+        public void setMaxConcurrentConnections(
+                final int amaxConcurrentConnections) {
+            this.maxConcurrentConnections = amaxConcurrentConnections;
+        }
+
+        /**
+         * Gets acquire timeout msec.
+         *
+         * @return the acquire timeout msec
+         */
+        public long getAcquireTimeoutMsec() {
+            return acquireTimeoutMsec;
+        }
+
+        /**
+         * Sets acquire timeout msec.
+         *
+         * @param aacquireTimeoutMsec the acquire timeout msec
+         */
+        public void setAcquireTimeoutMsec(final long aacquireTimeoutMsec) {
+            this.acquireTimeoutMsec = aacquireTimeoutMsec;
+        }
+
+        /**
+         * Gets slow statement msec, 0 to log none.
+         *
+         * @return the slow statement msec
+         */
+        public long getSlowStatementMsec() {
+            return slowStatementMsec;
+        }
+
+        /**
+         * Sets slow statement msec.
+         *
+         * @param aslowStatementMsec the slow statement msec
+         */
+        public void setSlowStatementMsec(final long aslowStatementMsec) {
+            this.slowStatementMsec = aslowStatementMsec;
+        }
+
+        /**
+         * Gets max statements.
+         *
+         * @return the max statements
+         */
+        public int getMaxStatements() {
+            return maxStatements;
+        }
+
+        /**
+         * Sets max statements.
+         *
+         * @param amaxStatements the max statements
+         */
+        public void setMaxStatements(final int amaxStatements) {
+            this.maxStatements = amaxStatements;
+        }
     }
 
     /**
@@ -97,6 +828,11 @@ public class AppProperties {
          */
         private List<String> authorizedRedirectUris = new ArrayList<>();
 
+        /**
+         * declaring variable compressAuthorizationRequest.
+         */
+        private boolean compressAuthorizationRequest;
+
         /**
          * Gets authorized redirect uris.
          *
@@ -119,5 +855,145 @@ public class AppProperties {
             this.authorizedRedirectUris = anauthorizedRedirectUris;
             return this;
         }
+
+        /**
+         * Gets compress authorization request.
+         *
+         * @return whether the authorization request cookie is deflated
+         */
+        public boolean isCompressAuthorizationRequest() {
+            return compressAuthorizationRequest;
+        }
+
+        /**
+         * Sets compress authorization request.
+         *
+         * @param acompressAuthorizationRequest whether to deflate
+         */
+        public void setCompressAuthorizationRequest(
+                final boolean acompressAuthorizationRequest) {
+            this.compressAuthorizationRequest = acompressAuthorizationRequest;
+        }
+    }
+
+    /**
+     * The type Cache spec.
+     */
+    public static final class CacheSpec {
+        /**
+         * Default number of entries held by a cache.
+         */
+        private static final long DEFAULT_MAXIMUM_SIZE = 1_000L;
+        /**
+         * declaring variable maximumSize.
+         */
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        /**
+         * declaring variable expireAfterWriteMsec.
+         */
+        private long expireAfterWriteMsec;
+        /**
+         * declaring variable expireAfterAccessMsec.
+         */
+        private long expireAfterAccessMsec;
+        /**
+         * declaring variable recordStats.
+         */
+        private boolean recordStats = true;
+        /**
+         * declaring a List of languages to load at startup.
+         */
+        private List<String> warmupLanguages = new ArrayList<>();
+
+        /**
+         * Gets maximum size.
+         *
+         * @return the maximum size
+         */
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        /**
+         * Sets maximum size.
+         *
+         * @param amaximumSize the maximum size
+         */
+        public void setMaximumSize(final long amaximumSize) {
+            this.maximumSize = amaximumSize;
+        }
+
+        /**
+         * Gets expire after write msec, 0 when entries do not expire.
+         *
+         * @return the expire after write msec
+         */
+        public long getExpireAfterWriteMsec() {
+            return expireAfterWriteMsec;
+        }
+
+        /**
+         * Sets expire after write msec.
+         *
+         * @param aexpireAfterWriteMsec the expire after write msec
+         */
+        public void setExpireAfterWriteMsec(final long aexpireAfterWriteMsec) {
+            this.expireAfterWriteMsec = aexpireAfterWriteMsec;
+        }
+
+        /**
+         * Gets expire after access msec, 0 when entries do not expire.
+         *
+         * @return the expire after access msec
+         */
+        public long getExpireAfterAccessMsec() {
+            return expireAfterAccessMsec;
+        }
+
+        /**
+         * Sets expire after access msec.
+         *
+         * @param aexpireAfterAccessMsec the expire after access msec
+         */
+        public void setExpireAfterAccessMsec(
+                final long aexpireAfterAccessMsec) {
+            this.expireAfterAccessMsec = aexpireAfterAccessMsec;
+        }
+
+        /**
+         * Is record stats.
+         *
+         * @return the record stats
+         */
+        public boolean isRecordStats() {
+            return recordStats;
+        }
+
+        /**
+         * Sets record stats.
+         *
+         * @param arecordStats the record stats
+         */
+        public void setRecordStats(final boolean arecordStats) {
+            this.recordStats = arecordStats;
+        }
+
+        /**
+         * Gets warmup languages.
+         *
+         * @return the languages to load at startup
+         */
+        public List<String> getWarmupLanguages() {
+            return warmupLanguages;
+        }
+
+        /**
+         * Sets warmup languages.
+         *
+         * @param awarmupLanguages the languages to load at startup
+         */
+        public void setWarmupLanguages(final List<String> awarmupLanguages) {
+            this.warmupLanguages = awarmupLanguages;
+        }
     }
 }
@@ -3,7 +3,10 @@ package com.sample.starter.security.config;
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.starter.security.cache.TokenStore;
+import com.sample.starter.security.cache.UserPrincipalCache;
 import com.sample.starter.security.oauth2.HttpCookieOAuth2AuthorizationRequestRepository;
+import com.sample.starter.security.oauth2.RedirectPolicy;
 import com.sample.starter.security.filter.TokenAuthenticationFilter;
 import com.sample.starter.security.oauth2.service.CustomOAuth2UserService;
 import com.sample.starter.security.oauth2.service.OAuth2AuthenticationFailureHandler;
@@ -11,8 +14,8 @@ import com.sample.starter.security.oauth2.service.OAuth2AuthenticationSuccessHan
 import com.sample.service.UserProfileService;
 import com.sample.service.UserService;
 import com.sample.starter.security.service.AuthenticationService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -75,6 +78,11 @@ public class SecurityConfig {
      */
     private final CustomOAuth2UserService customOAuth2UserService;
 
+    /**
+     * Authorized redirect URIs of OAuth2 logins.
+     */
+    private final RedirectPolicy redirectPolicy;
+
     /**
      * inject the oAuth2AuthenticationSuccessHandler object dependency.
      */
@@ -88,7 +96,7 @@ public class SecurityConfig {
      * the authorization request. But, since our service is stateless,
      * we can't save it in
      * the session. We'll save the request in a
-     * Base64 encoded cookie instead.
+     * signed cookie instead.
      */
     private final HttpCookieOAuth2AuthorizationRequestRepository
             cookieAuthRepo;
@@ -105,23 +113,25 @@ public class SecurityConfig {
      * @param auserService
      * @param auserProfileService
      * @param appProperties          properties
-     * @param aCacheManager          aCacheManager
+     * @param tokenStore             the token store
      * @param objectMapper
      * @param auserDetailsService
+     * @param principalCache
      */
     public SecurityConfig(final UserService auserService,
                           final UserProfileService auserProfileService,
                           final AppProperties appProperties,
-                          final CacheManager aCacheManager,
+                          final TokenStore tokenStore,
                           final ObjectMapper objectMapper,
-                          final UserDetailsService auserDetailsService) {
+                          final UserDetailsService auserDetailsService,
+                          final UserPrincipalCache principalCache) {
         this.userService = auserService;
         this.userProfileService = auserProfileService;
 
         userDetailsService = auserDetailsService;
         authenticationService = new AuthenticationService(appProperties,
-                aCacheManager, objectMapper, userDetailsService,
-                userProfileService);
+                tokenStore, objectMapper, userDetailsService,
+                userProfileService, principalCache);
 
 
         tokenAuthenticationFilter = new TokenAuthenticationFilter(
@@ -129,10 +139,13 @@ public class SecurityConfig {
 
 
         cookieAuthRepo = new
-                HttpCookieOAuth2AuthorizationRequestRepository();
+                HttpCookieOAuth2AuthorizationRequestRepository(appProperties);
+        authenticationService.addTokenSecretListener(
+                cookieAuthRepo::rotateTokenSecret);
+        redirectPolicy = new RedirectPolicy(appProperties);
         oAuth2AuthenticationSuccessHandler = new
                 OAuth2AuthenticationSuccessHandler(authenticationService,
-                appProperties,
+                redirectPolicy,
                 cookieAuthRepo);
         oAuth2AuthenticationFailureHandler = new
                 OAuth2AuthenticationFailureHandler(
@@ -154,6 +167,16 @@ public class SecurityConfig {
         return authenticationService;
     }
 
+    /**
+     * Redirect policy of OAuth2 logins.
+     *
+     * @return redirectPolicy
+     */
+    @Bean
+    public RedirectPolicy redirectPolicy() {
+        return redirectPolicy;
+    }
+
     /**
      * Hi.
      *
@@ -187,6 +210,10 @@ public class SecurityConfig {
             final HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(authorize -> authorize
+                        // streamed responses finish on an async dispatch
+                        // of the request authorized already
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                        .permitAll()
                         .requestMatchers(antMatcher("/api/auth/login"),
                                 antMatcher("/api/auth/signup"),
                                 antMatcher("/api/auth/welcome"),
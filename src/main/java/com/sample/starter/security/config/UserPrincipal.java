@@ -22,6 +22,11 @@ public class UserPrincipal implements OAuth2User, UserDetails {
      * declares variable name.
      */
     private String name;
+
+    /**
+     * declares variable userHandle.
+     */
+    private String userHandle;
     /**
      * declares variable password.
      */
@@ -51,12 +56,14 @@ public class UserPrincipal implements OAuth2User, UserDetails {
      * Instantiates a new User principal.
      *
      * @param theName        the name
+     * @param theUserHandle  the user handle
      * @param thePassword    the password
      * @param theProfilePicture
      * @param registered
      * @param theAuthorities the authorities
      */
     public UserPrincipal(final String theName,
+                         final String theUserHandle,
                          final String thePassword,
                          final String theProfilePicture,
                          final boolean registered,
@@ -64,6 +71,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
                                  theAuthorities) {
 
         this.name = theName;
+        this.userHandle = theUserHandle;
         this.password = thePassword;
         this.profilePicture = theProfilePicture;
         this.isRegistered = registered;
@@ -84,6 +92,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
 
         return new UserPrincipal(
                 user.email(),
+                user.userHandle(),
                 user.password(),
                 user.imageUrl(),
                 profile.isPresent(),
@@ -106,6 +115,14 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         userPrincipal.setAttributes(attributes);
         return userPrincipal;
     }
+    /**
+     * gets the userHandle.
+     *
+     * @return userHandle
+     */
+    public String getUserHandle() {
+        return userHandle;
+    }
     /**
      * gets the profilePicture.
      *
@@ -0,0 +1,66 @@
+package com.sample.starter.security.controller;
+
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.oauth2.RedirectPolicy;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reads and replaces the authorized redirect URIs of OAuth2 logins, as the
+ * redirecturis actuator endpoint. Replacing them compiles the allowlist
+ * the callbacks read. The endpoint is for operators: it is served over
+ * JMX, and on the web only once exposed, which is to be done behind a
+ * management port of its own.
+ */
+@Component
+@Endpoint(id = "redirecturis")
+public final class RedirectUrisEndpoint {
+
+    /**
+     * App Properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Redirect policy.
+     */
+    private final RedirectPolicy redirectPolicy;
+
+    /**
+     * Instantiates a new Redirect uris endpoint.
+     *
+     * @param anAppProperties  the app properties
+     * @param aRedirectPolicy  the redirect policy
+     */
+    public RedirectUrisEndpoint(final AppProperties anAppProperties,
+                                final RedirectPolicy aRedirectPolicy) {
+        this.appProperties = anAppProperties;
+        this.redirectPolicy = aRedirectPolicy;
+    }
+
+    /**
+     * Gets the authorized redirect URIs.
+     *
+     * @return the authorized redirect URIs
+     */
+    @ReadOperation
+    public List<String> redirectUris() {
+        return List.copyOf(appProperties.getOauth2()
+                .getAuthorizedRedirectUris());
+    }
+
+    /**
+     * Replaces the authorized redirect URIs.
+     *
+     * @param redirectUris the authorized redirect URIs, entries that do not
+     *                     parse are ignored
+     */
+    @WriteOperation
+    public void authorize(final List<String> redirectUris) {
+        redirectPolicy.authorize(redirectUris);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sample.starter.security.controller;
+
+import com.sample.starter.security.service.AuthenticationService;
+import io.jsonwebtoken.JwtException;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rotates the token secret, as the tokensecret actuator endpoint. Tokens
+ * signed with the previous secret keep verifying until they expire. The
+ * endpoint is for operators: it is served over JMX, and on the web only
+ * once exposed, which is to be done behind a management port of its own.
+ */
+@Component
+@Endpoint(id = "tokensecret")
+public final class TokenSecretEndpoint {
+
+    /**
+     * Authentication service.
+     */
+    private final AuthenticationService authenticationService;
+
+    /**
+     * Instantiates a new Token secret endpoint.
+     *
+     * @param anAuthenticationService the authentication service
+     */
+    public TokenSecretEndpoint(
+            final AuthenticationService anAuthenticationService) {
+        this.authenticationService = anAuthenticationService;
+    }
+
+    /**
+     * Rotates the token secret.
+     *
+     * @param tokenSecret the new base64 encoded token secret, of 256 bits
+     *                    at least
+     */
+    @WriteOperation
+    public void rotate(final String tokenSecret) {
+        try {
+            authenticationService.rotateTokenSecret(tokenSecret);
+        } catch (final JwtException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(),
+                    "Invalid token secret");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sample.starter.security.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * The type Connections exhausted exception. Thrown when no connection of
+ * the pool frees up in time, so that the request fails fast and may be
+ * retried.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ConnectionsExhaustedException
+        extends SQLTransientConnectionException {
+    /**
+     * Basic.
+     *
+     * @param message the message
+     */
+    public ConnectionsExhaustedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sample.starter.security.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The type Too many requests exception. Thrown when the server sheds load
+ * rather than queue the request, so that the client may retry later.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+    /**
+     * Basic.
+     *
+     * @param message the message
+     */
+    public TooManyRequestsException(final String message) {
+        super(message);
+    }
+
+    /**
+     * With another error.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public TooManyRequestsException(final String message,
+                                    final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,12 +1,17 @@
 package com.sample.starter.security.oauth2;
 
 import com.nimbusds.oauth2.sdk.util.StringUtils;
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.oauth2.util.AuthorizationRequestCodec;
 import com.sample.starter.security.oauth2.util.CookieUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 
+import java.time.Clock;
+import java.time.Duration;
+
 
 public class HttpCookieOAuth2AuthorizationRequestRepository
         implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
@@ -24,6 +29,33 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
      */
     private static final int COOKIE_EXPIRE_SECONDS = 180;
 
+    /**
+     * Codec of the authorization request cookie.
+     */
+    private final AuthorizationRequestCodec codec;
+
+    /**
+     * Instantiates a new repository keeping authorization requests in
+     * signed cookies, which expire with the cookies.
+     *
+     * @param appProperties the app properties
+     */
+    public HttpCookieOAuth2AuthorizationRequestRepository(
+            final AppProperties appProperties) {
+        this.codec = new AuthorizationRequestCodec(appProperties,
+                Duration.ofSeconds(COOKIE_EXPIRE_SECONDS),
+                Clock.systemUTC());
+    }
+
+    /**
+     * Signs the cookies with a key of a rotated token secret.
+     *
+     * @param tokenSecret the new base64 encoded token secret
+     */
+    public void rotateTokenSecret(final String tokenSecret) {
+        codec.rotate(tokenSecret);
+    }
+
     /**
      * loads the authorisation request.
      *
@@ -35,8 +67,7 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
             final HttpServletRequest request) {
         return CookieUtils
                 .getCookie(request, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME)
-                .map(cookie -> CookieUtils
-                        .deserialize(cookie, OAuth2AuthorizationRequest.class))
+                .map(cookie -> codec.decode(cookie.getValue()))
                 .orElse(null);
     }
 
@@ -62,7 +93,7 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
 
         CookieUtils
                 .addCookie(response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME,
-                        CookieUtils.serialize(authorizationRequest),
+                        codec.encode(authorizationRequest),
                         COOKIE_EXPIRE_SECONDS);
         final String redirectUriAfterLogin =
                 request.getParameter(REDIRECT_URI_PARAM_COOKIE_NAME);
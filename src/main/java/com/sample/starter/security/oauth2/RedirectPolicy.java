@@ -0,0 +1,239 @@
+package com.sample.starter.security.oauth2;
+
+import com.sample.starter.security.config.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Decides the URIs the client may be redirected to after an OAuth2 login,
+ * from app.oauth2.authorizedRedirectUris. The entries are compiled into a
+ * set of keys at startup, and again only when an operator replaces them,
+ * so that a callback costs one or two lookups.
+ * <p>
+ * Web entries only validate host and port, letting the clients use
+ * different paths: https://example.com/welcome allows any URI of
+ * example.com on port 443. Entries of other schemes, as of mobile
+ * apps, validate the scheme with the host, as myandroidapp://oauth/redirect
+ * allows myandroidapp://oauth, or the scheme alone, as myandroidapp://
+ * allows any URI of it. Redirect URIs with user info, or characters a
+ * browser may read differently, are never authorized.
+ */
+public final class RedirectPolicy {
+
+    /**
+     * Default port of http.
+     */
+    private static final int HTTP_PORT = 80;
+
+    /**
+     * Default port of https.
+     */
+    private static final int HTTPS_PORT = 443;
+
+    /**
+     * Highest port.
+     */
+    private static final int MAX_PORT = 65535;
+
+    /**
+     * Radix of ports.
+     */
+    private static final int RADIX = 10;
+
+    /**
+     * Separator of a scheme and its authority.
+     */
+    private static final String SLASHES = "://";
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(RedirectPolicy.class);
+
+    /**
+     * App Properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Keys compiled from the current entries.
+     */
+    private volatile Set<String> keys;
+
+    /**
+     * Compiles the authorized redirect URIs.
+     *
+     * @param anAppProperties the app properties
+     */
+    public RedirectPolicy(final AppProperties anAppProperties) {
+        this.appProperties = anAppProperties;
+        this.keys = compile(anAppProperties.getOauth2()
+                .getAuthorizedRedirectUris());
+    }
+
+    /**
+     * Checks a redirect URI against the authorized ones.
+     *
+     * @param redirectUri the redirect URI the client asked for
+     * @return whether the client may be redirected to it
+     */
+    public boolean isAuthorized(final String redirectUri) {
+        final Target target = Target.parse(redirectUri);
+        if (target == null) {
+            return false;
+        }
+        final Set<String> current = this.keys;
+        return current.contains(target.key())
+                || !target.isWeb()
+                && current.contains(target.scheme() + SLASHES);
+    }
+
+    /**
+     * Replaces the authorized redirect URIs. The entries are compiled
+     * before anything is replaced, and then rebound for the others reading
+     * them.
+     *
+     * @param entries the authorized redirect URIs
+     */
+    public synchronized void authorize(final List<String> entries) {
+        final Set<String> compiled = compile(entries);
+        appProperties.getOauth2()
+                .authorizedRedirectUris(new ArrayList<>(entries));
+        this.keys = compiled;
+    }
+
+    private Set<String> compile(final List<String> entries) {
+        final Set<String> compiled = new HashSet<>();
+        for (String entry : entries) {
+            final Target target = Target.parse(entry);
+            if (target == null || target.isWeb() && target.host().isEmpty()) {
+                logger.warn("Ignoring authorized redirect URI {}", entry);
+            } else if (!target.isWeb() && target.host().isEmpty()) {
+                compiled.add(target.scheme() + SLASHES);
+            } else {
+                compiled.add(target.key());
+            }
+        }
+        logger.info("Compiled {} authorized redirect URIs", compiled.size());
+        return Set.copyOf(compiled);
+    }
+
+    /**
+     * Scheme, host and port of an URI.
+     *
+     * @param scheme the scheme, in lower case
+     * @param host   the host, in lower case, empty for none
+     * @param port   the port, the default one of web schemes when none
+     */
+    private record Target(String scheme, String host, int port) {
+
+        /**
+         * Parses the scheme and authority of an URI. Only hierarchical
+         * URIs whose authority is a plain host, IPv6 address or port are
+         * parsed.
+         *
+         * @param uri the URI
+         * @return the target, null when not parsed
+         */
+        static Target parse(final String uri) {
+            final int colon = uri == null ? -1 : uri.indexOf(':');
+            if (colon <= 0 || !uri.startsWith("//", colon + 1)
+                    || !isScheme(uri, colon)) {
+                return null;
+            }
+            final int start = colon + SLASHES.length();
+            int end = start;
+            int portAt = -1;
+            boolean bracketed = false;
+            for (; end < uri.length(); end++) {
+                final char c = uri.charAt(end);
+                if (c == '/' || c == '?' || c == '#') {
+                    break;
+                } else if (c == '[' && end == start) {
+                    bracketed = true;
+                } else if (c == ']' && bracketed) {
+                    bracketed = false;
+                } else if (c == ':' && !bracketed) {
+                    portAt = end;
+                } else if (!(isAlphanumeric(c) || c == '.' || c == '-'
+                        || c == ':' && bracketed)) {
+                    // user info, escapes, back slashes and white space
+                    return null;
+                }
+            }
+            if (bracketed) {
+                return null;
+            }
+            final String scheme = uri.substring(0, colon)
+                    .toLowerCase(Locale.ROOT);
+            final String host = uri.substring(start,
+                    portAt < 0 ? end : portAt).toLowerCase(Locale.ROOT);
+            int port = switch (scheme) {
+                case "http" -> HTTP_PORT;
+                case "https" -> HTTPS_PORT;
+                default -> -1;
+            };
+            if (portAt >= 0 && portAt + 1 < end) {
+                port = 0;
+                for (int i = portAt + 1; i < end; i++) {
+                    final char c = uri.charAt(i);
+                    if (c < '0' || c > '9') {
+                        return null;
+                    }
+                    port = port * RADIX + c - '0';
+                    if (port > MAX_PORT) {
+                        return null;
+                    }
+                }
+            }
+            return new Target(scheme, host, port);
+        }
+
+        private static boolean isScheme(final String uri, final int colon) {
+            for (int i = 0; i < colon; i++) {
+                final char c = uri.charAt(i);
+                final boolean letter = c >= 'a' && c <= 'z'
+                        || c >= 'A' && c <= 'Z';
+                if (!(letter || i > 0 && (isAlphanumeric(c)
+                        || c == '+' || c == '-' || c == '.'))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isAlphanumeric(final char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+                    || c >= '0' && c <= '9';
+        }
+
+        /**
+         * Whether of a web scheme, as validated by host and port alone.
+         *
+         * @return whether http or https
+         */
+        boolean isWeb() {
+            return "http".equals(scheme) || "https".equals(scheme);
+        }
+
+        /**
+         * Gets the key of the target, host and port for the web and with
+         * the scheme otherwise.
+         *
+         * @return the key
+         */
+        String key() {
+            if (isWeb()) {
+                return host + ":" + port;
+            }
+            return port < 0 ? scheme + SLASHES + host
+                    : scheme + SLASHES + host + ":" + port;
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.sample.starter.security.oauth2.service;
 
 
-import com.sample.starter.security.config.AppProperties;
 import com.sample.starter.security.exception.BadRequestException;
 import com.sample.starter.security.oauth2.HttpCookieOAuth2AuthorizationRequestRepository;
+import com.sample.starter.security.oauth2.RedirectPolicy;
 import com.sample.starter.security.oauth2.util.CookieUtils;
 import com.sample.starter.security.service.AuthenticationService;
 import jakarta.servlet.http.Cookie;
@@ -15,7 +15,6 @@ import org.springframework.security.web.authentication.SimpleUrlAuthenticationSu
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
-import java.net.URI;
 import java.util.Optional;
 
 /**
@@ -30,9 +29,9 @@ public class OAuth2AuthenticationSuccessHandler
     private final AuthenticationService authenticationService;
 
     /**
-     * declare a AppProperties.
+     * declare a RedirectPolicy.
      */
-    private final AppProperties appProperties;
+    private final RedirectPolicy redirectPolicy;
 
     /**
      * declare a HttpCookieOAuth2AuthorizationRequestRepository.
@@ -45,7 +44,8 @@ public class OAuth2AuthenticationSuccessHandler
      * Instantiates a new O auth 2 authentication success handler.
      *
      * @param atokenProvider                                  the token provider
-     * @param theappProperties                                the app properties
+     * @param aredirectPolicy                                 the redirect
+     *                                                        policy
      * @param ahttpCookieOAuth2AuthorizationRequestRepository the http
      *                                                        cookie o auth
      *                                                        2 authorization
@@ -54,11 +54,11 @@ public class OAuth2AuthenticationSuccessHandler
     @Autowired
     public OAuth2AuthenticationSuccessHandler(
             final AuthenticationService atokenProvider,
-            final AppProperties theappProperties,
+            final RedirectPolicy aredirectPolicy,
             final HttpCookieOAuth2AuthorizationRequestRepository
                     ahttpCookieOAuth2AuthorizationRequestRepository) {
         this.authenticationService = atokenProvider;
-        this.appProperties = theappProperties;
+        this.redirectPolicy = aredirectPolicy;
         this.httpCookieOAuth2AuthorizationRequestRepository =
                 ahttpCookieOAuth2AuthorizationRequestRepository;
     }
@@ -109,7 +109,7 @@ public class OAuth2AuthenticationSuccessHandler
                         .map(Cookie::getValue);
 
         if (redirectUri.isPresent()
-                && !isAuthorizedRedirectUri(redirectUri.get())) {
+                && !redirectPolicy.isAuthorized(redirectUri.get())) {
             throw new BadRequestException(
                     "Sorry! We've got an Unauthorized Redirect URI and"
                             + " can't proceed with the authentication: "
@@ -140,21 +140,4 @@ public class OAuth2AuthenticationSuccessHandler
         httpCookieOAuth2AuthorizationRequestRepository
                 .removeAuthorizationRequestCookies(arequest, aresponse);
     }
-
-    private boolean isAuthorizedRedirectUri(final String uri) {
-        final URI clientRedirectUri = URI.create(uri);
-
-        return appProperties.getOauth2().getAuthorizedRedirectUris()
-                .stream()
-                .anyMatch(authorizedRedirectUri -> {
-                    // Only validate host and port. Let the clients use
-                    // different paths if they want to
-                    final URI authorizedURI =
-                            URI.create(authorizedRedirectUri);
-                    return authorizedURI.getHost()
-                            .equalsIgnoreCase(clientRedirectUri.getHost())
-                            && authorizedURI.getPort()
-                            == clientRedirectUri.getPort();
-                });
-    }
 }
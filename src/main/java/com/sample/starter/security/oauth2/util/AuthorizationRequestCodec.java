@@ -0,0 +1,371 @@
+package com.sample.starter.security.oauth2.util;
+
+import com.sample.starter.security.config.AppProperties;
+import io.jsonwebtoken.io.Decoders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codec of the OAuth2 authorization request kept in a cookie from the
+ * redirect to the provider until its callback. The request is written field
+ * by field, stamped with the time it was issued, deflated when that makes it
+ * shorter and signed with an HMAC of a key derived from the token secret.
+ * Cookies are verified in constant time before any of their bytes are read,
+ * and rejected when longer than a cookie may be, inflating past a bound or
+ * older than their max age, so that nothing a client sends is deserialized.
+ */
+public final class AuthorizationRequestCodec {
+
+    /**
+     * Version of the format, the first byte.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Flag of a deflated payload, in the second byte.
+     */
+    private static final byte DEFLATED = 1;
+
+    /**
+     * Bytes ahead of the payload, the version and flags.
+     */
+    private static final int HEADER_LENGTH = 2;
+
+    /**
+     * The HMAC.
+     */
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Bytes of the HMAC, trailing the payload.
+     */
+    private static final int MAC_LENGTH = 32;
+
+    /**
+     * Purpose the key is derived for, apart from the tokens signed with
+     * the same secret.
+     */
+    private static final byte[] KEY_PURPOSE =
+            "oauth2_auth_request".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Longest cookie value, as browsers keep at most 4096 bytes a cookie
+     * with its name and attributes.
+     */
+    static final int MAX_COOKIE_LENGTH = 3800;
+
+    /**
+     * Most bytes a payload inflates to.
+     */
+    private static final int MAX_PAYLOAD_LENGTH = 8192;
+
+    /**
+     * Logger.
+     */
+    private final Logger logger =
+            LoggerFactory.getLogger(AuthorizationRequestCodec.class);
+
+    /**
+     * App Properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Age past which a request is rejected.
+     */
+    private final Duration maxAge;
+
+    /**
+     * Clock the requests are stamped by.
+     */
+    private final Clock clock;
+
+    /**
+     * HMAC initialised with the key derived from the current token secret,
+     * cloned for each cookie so that the key is derived and the HMAC
+     * initialised on rotation only.
+     */
+    private volatile Mac prototype;
+
+    /**
+     * Instantiates a new Authorization request codec.
+     *
+     * @param anAppProperties the app properties
+     * @param aMaxAge         the age past which a request is rejected
+     * @param aClock          the clock requests are stamped by
+     */
+    public AuthorizationRequestCodec(final AppProperties anAppProperties,
+                                     final Duration aMaxAge,
+                                     final Clock aClock) {
+        this.appProperties = anAppProperties;
+        this.maxAge = aMaxAge;
+        this.clock = aClock;
+        this.prototype = prototype(anAppProperties.getAuth()
+                .getTokenSecret());
+    }
+
+    /**
+     * Signs with a key derived from a rotated token secret. Cookies signed
+     * with the previous one are rejected.
+     *
+     * @param tokenSecret the new base64 encoded token secret
+     */
+    public void rotate(final String tokenSecret) {
+        this.prototype = prototype(tokenSecret);
+    }
+
+    /**
+     * Encodes an authorization request to a cookie value.
+     *
+     * @param authorizationRequest the authorization request
+     * @return the cookie value
+     */
+    public String encode(final OAuth2AuthorizationRequest
+                                 authorizationRequest) {
+        final byte[] payload = write(authorizationRequest);
+        byte flags = 0;
+        byte[] body = payload;
+        if (appProperties.getOauth2().isCompressAuthorizationRequest()) {
+            final byte[] deflated = deflate(payload);
+            if (deflated.length < payload.length) {
+                flags = DEFLATED;
+                body = deflated;
+            }
+        }
+        final byte[] signed = new byte[HEADER_LENGTH + body.length
+                + MAC_LENGTH];
+        signed[0] = VERSION;
+        signed[1] = flags;
+        System.arraycopy(body, 0, signed, HEADER_LENGTH, body.length);
+        final Mac mac = mac();
+        mac.update(signed, 0, HEADER_LENGTH + body.length);
+        try {
+            mac.doFinal(signed, HEADER_LENGTH + body.length);
+        } catch (final GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+        final String value = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(signed);
+        if (value.length() > MAX_COOKIE_LENGTH) {
+            throw new IllegalArgumentException("Authorization request of "
+                    + value.length() + " characters is over the cookie limit");
+        }
+        return value;
+    }
+
+    /**
+     * Decodes a cookie value to the authorization request it was encoded
+     * from.
+     *
+     * @param value the cookie value
+     * @return the authorization request, null when the value is not one
+     *         this codec signed or has expired
+     */
+    public OAuth2AuthorizationRequest decode(final String value) {
+        if (value == null || value.length() > MAX_COOKIE_LENGTH) {
+            return reject("length");
+        }
+        final byte[] signed;
+        try {
+            signed = Base64.getUrlDecoder().decode(value);
+        } catch (final IllegalArgumentException ex) {
+            return reject("encoding");
+        }
+        final int macAt = signed.length - MAC_LENGTH;
+        if (macAt < HEADER_LENGTH) {
+            return reject("length");
+        }
+        final Mac mac = mac();
+        mac.update(signed, 0, macAt);
+        if (!MessageDigest.isEqual(mac.doFinal(),
+                Arrays.copyOfRange(signed, macAt, signed.length))) {
+            return reject("signature");
+        }
+        if (signed[0] != VERSION) {
+            return reject("version");
+        }
+        try {
+            final byte[] payload = (signed[1] & DEFLATED) == 0
+                    ? Arrays.copyOfRange(signed, HEADER_LENGTH, macAt)
+                    : inflate(signed, HEADER_LENGTH, macAt - HEADER_LENGTH);
+            return read(payload);
+        } catch (final IOException | DataFormatException ex) {
+            return reject("payload");
+        }
+    }
+
+    private byte[] write(final OAuth2AuthorizationRequest request) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(clock.millis());
+            out.writeUTF(request.getAuthorizationUri());
+            out.writeUTF(request.getClientId());
+            writeNullable(out, request.getRedirectUri());
+            writeNullable(out, request.getState());
+            out.writeShort(request.getScopes().size());
+            for (String scope : request.getScopes()) {
+                out.writeUTF(scope);
+            }
+            writeMap(out, request.getAdditionalParameters());
+            writeMap(out, request.getAttributes());
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private OAuth2AuthorizationRequest read(final byte[] payload)
+            throws IOException {
+        final DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(payload));
+        final long age = clock.millis() - in.readLong();
+        if (age < 0 || age > maxAge.toMillis()) {
+            return reject("age");
+        }
+        final OAuth2AuthorizationRequest.Builder builder =
+                OAuth2AuthorizationRequest.authorizationCode()
+                        .authorizationUri(in.readUTF())
+                        .clientId(in.readUTF())
+                        .redirectUri(readNullable(in))
+                        .state(readNullable(in));
+        final int scopeCount = in.readUnsignedShort();
+        final Set<String> scopes = new LinkedHashSet<>();
+        for (int i = 0; i < scopeCount; i++) {
+            scopes.add(in.readUTF());
+        }
+        return builder.scopes(scopes)
+                .additionalParameters(readMap(in))
+                .attributes(readMap(in))
+                .build();
+    }
+
+    private static void writeNullable(final DataOutputStream out,
+                                      final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(final DataInputStream in)
+            throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeMap(final DataOutputStream out,
+                                 final Map<String, Object> map)
+            throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (!(entry.getValue() instanceof String value)) {
+                throw new IllegalArgumentException("Parameter "
+                        + entry.getKey() + " is not a string");
+            }
+            out.writeUTF(entry.getKey());
+            out.writeUTF(value);
+        }
+    }
+
+    private static Map<String, Object> readMap(final DataInputStream in)
+            throws IOException {
+        final int size = in.readUnsignedShort();
+        final Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+
+    private static byte[] deflate(final byte[] payload) {
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION,
+                true);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            final byte[] buffer = new byte[payload.length];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length,
+                        buffer.length - length);
+            }
+            // no shorter than the payload, which is then kept as is
+            return deflater.finished() ? Arrays.copyOf(buffer, length)
+                    : payload;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] bytes, final int offset,
+                                  final int length)
+            throws DataFormatException {
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, offset, length);
+            final byte[] buffer = new byte[MAX_PAYLOAD_LENGTH];
+            int inflated = 0;
+            while (!inflater.finished()) {
+                final int read = inflater.inflate(buffer, inflated,
+                        buffer.length - inflated);
+                inflated += read;
+                if (read == 0 && (inflater.needsInput()
+                        || inflater.needsDictionary()
+                        || inflated == buffer.length)) {
+                    throw new DataFormatException("Truncated or too long");
+                }
+            }
+            return Arrays.copyOf(buffer, inflated);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (final CloneNotSupportedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Mac prototype(final String tokenSecret) {
+        try {
+            final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(Decoders.BASE64.decode(tokenSecret),
+                    MAC_ALGORITHM));
+            mac.init(new SecretKeySpec(mac.doFinal(KEY_PURPOSE),
+                    MAC_ALGORITHM));
+            return mac;
+        } catch (final GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private <T> T reject(final String reason) {
+        logger.debug("Rejected authorization request cookie: {}", reason);
+        return null;
+    }
+}
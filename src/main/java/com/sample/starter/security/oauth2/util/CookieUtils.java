@@ -3,10 +3,7 @@ package com.sample.starter.security.oauth2.util;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.apache.commons.lang3.SerializationUtils;
 
-import java.io.Serializable;
-import java.util.Base64;
 import java.util.Optional;
 
 /**
@@ -86,30 +83,4 @@ public final class CookieUtils {
             }
         }
     }
-
-    /**
-     * aa.
-     *
-     * @param object the object
-     * @return nn. string
-     */
-    public static String serialize(final Serializable object) {
-        return Base64.getUrlEncoder()
-                .encodeToString(SerializationUtils.serialize(object));
-    }
-
-    /**
-     * aaa.
-     *
-     * @param <T>    the type parameter
-     * @param cookie the cookie
-     * @param cls    the cls
-     * @return mm. t
-     */
-    public static <T> T deserialize(final Cookie cookie, final Class<T> cls) {
-        return cls.cast(SerializationUtils.deserialize(
-                Base64.getUrlDecoder().decode(cookie.getValue())));
-    }
-
-
 }
@@ -3,6 +3,9 @@ package com.sample.starter.security.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sample.model.UserProfile;
+import com.sample.starter.security.cache.TokenStore;
+import com.sample.starter.security.cache.TokenType;
+import com.sample.starter.security.cache.UserPrincipalCache;
 import com.sample.starter.security.config.AppProperties;
 import com.sample.starter.security.config.UserPrincipal;
 import com.sample.starter.security.payload.AuthenticationResponse;
@@ -15,14 +18,10 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -31,13 +30,13 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
-import java.security.Key;
 import java.security.Principal;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * The type Token provider.
@@ -49,11 +48,6 @@ public class AuthenticationService {
      */
     private static final int VALUE = 7;
 
-    /**
-     * Cache Manager.
-     */
-    private final CacheManager cacheManager;
-
     /**
      * Object Mapper.
      */
@@ -66,9 +60,9 @@ public class AuthenticationService {
     private Validator validator;
 
     /**
-     * Cache to hold auth tokens.
+     * Store to hold auth tokens.
      */
-    private final Cache authCache;
+    private final TokenStore tokenStore;
     /***
      * hhh.
      */
@@ -84,26 +78,39 @@ public class AuthenticationService {
      */
     private UserProfileService userProfileService;
 
+    /**
+     * Principals resolved from token subjects.
+     */
+    private final UserPrincipalCache principalCache;
+
+    /**
+     * Signing key and parser of the token secret.
+     */
+    private final SigningKeys signingKeys;
+
     /**
      * gg.
      *
      * @param appPropertie           the app propertie
-     * @param acacheManager
+     * @param atokenStore
      * @param aobjectMapper
      * @param auserDetailsService
      * @param auserProfileService
+     * @param aprincipalCache
      */
     public AuthenticationService(final AppProperties appPropertie,
-                     final CacheManager acacheManager,
+                     final TokenStore atokenStore,
                      final ObjectMapper aobjectMapper,
                      final UserDetailsService auserDetailsService,
-                     final UserProfileService auserProfileService) {
+                     final UserProfileService auserProfileService,
+                     final UserPrincipalCache aprincipalCache) {
         this.objectMapper = aobjectMapper;
         this.appProperties = appPropertie;
-        this.cacheManager = acacheManager;
+        this.tokenStore = atokenStore;
         this.userDetailsService = auserDetailsService;
-        this.authCache = cacheManager.getCache("Auth");
         this.userProfileService = auserProfileService;
+        this.principalCache = aprincipalCache;
+        this.signingKeys = new SigningKeys(appPropertie);
     }
 
     /**
@@ -118,8 +125,9 @@ public class AuthenticationService {
         final String userName =
                 getUserNameFromToken(requestURI, jwt);
 
-        final UserDetails userDetails =
-                userDetailsService.loadUserByUsername(userName);
+        final UserDetails userDetails = principalCache.get(userName,
+                subject -> (UserPrincipal) userDetailsService
+                        .loadUserByUsername(subject));
         final UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(
                         userDetails, userDetails.getPassword(),
@@ -147,15 +155,15 @@ public class AuthenticationService {
      */
     public AuthenticationResponse getWelcomeResponse(
             final String authHeader) {
-        Cache.ValueWrapper valueWrapper = authCache.get(authHeader);
+        String userName = tokenStore.get(TokenType.WELCOME, authHeader);
 
-        if (valueWrapper == null) {
+        if (userName == null) {
             throw new BadCredentialsException("Invalid Token");
         }
         AuthenticationResponse response =
-                getAuthenticationResponse(valueWrapper.get().toString());
+                getAuthenticationResponse(userName);
 
-        authCache.evict(authHeader);
+        tokenStore.remove(TokenType.WELCOME, authHeader);
 
         return response;
     }
@@ -166,7 +174,7 @@ public class AuthenticationService {
      */
     public String generateWelcomeToken(final String userName) {
         String welcomeToken = UUID.randomUUID().toString();
-        this.authCache.put(welcomeToken, userName);
+        this.tokenStore.put(TokenType.WELCOME, welcomeToken, userName);
         return welcomeToken;
     }
 
@@ -178,7 +186,7 @@ public class AuthenticationService {
      */
     private String generateToken(final String userName) {
         String token = UUID.randomUUID().toString();
-        this.authCache.put(token, getJWTCompact(userName,
+        this.tokenStore.put(TokenType.ACCESS, token, getJWTCompact(userName,
                 appProperties.getAuth().getTokenExpirationMsec()));
         return token;
 
@@ -193,14 +201,26 @@ public class AuthenticationService {
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now
                         + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(signingKeys.getSigningKey(),
+                        SignatureAlgorithm.HS256).compact();
     }
 
+    /**
+     * Rotates the token secret.
+     *
+     * @param tokenSecret the new base64 encoded token secret
+     */
+    public void rotateTokenSecret(final String tokenSecret) {
+        signingKeys.rotate(tokenSecret);
+    }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(appProperties.getAuth()
-                .getTokenSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Adds a listener told the new token secret on each rotation.
+     *
+     * @param listener the listener
+     */
+    public void addTokenSecretListener(final Consumer<String> listener) {
+        signingKeys.addRotationListener(listener);
     }
 
     /**
@@ -214,22 +234,16 @@ public class AuthenticationService {
                                        final String token) {
 
 
-        Cache.ValueWrapper valueWrapper = authCache.get(token);
+        String jwtToken = tokenStore.get(TokenType.ACCESS, token);
 
-        if (valueWrapper == null) {
+        if (jwtToken == null) {
             throw new BadCredentialsException("Invalid Token");
         }
 
-        String jwtToken = valueWrapper.get().toString();
-
 
 
         try {
-            final Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(jwtToken)
-                    .getBody();
+            final Claims claims = signingKeys.parse(jwtToken);
             return claims.getSubject();
         } catch (final MalformedJwtException | UnsupportedJwtException
                        | IllegalArgumentException ex) {
@@ -237,7 +251,7 @@ public class AuthenticationService {
         } catch (final ExpiredJwtException ex) {
             if (requestURI.equals("/api/auth/logout")
                    || requestURI.equals("/api/auth/refresh")) {
-                return getUserNameFromExpiredToken(jwtToken);
+                return ex.getClaims().getSubject();
             } else {
                 throw new BadCredentialsException("Expired Token", ex);
             }
@@ -274,9 +288,7 @@ public class AuthenticationService {
      */
     private boolean isExpired(final String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey()).build()
-                    .parseClaimsJws(token);
+            signingKeys.parse(token);
         } catch (final MalformedJwtException | UnsupportedJwtException
                        | IllegalArgumentException ex) {
             throw new BadCredentialsException("Invalid Token", ex);
@@ -292,7 +304,7 @@ public class AuthenticationService {
      * @param authHeader
      */
     public void logout(final String authHeader) {
-        authCache.evict(getBearer(authHeader));
+        tokenStore.remove(TokenType.ACCESS, getBearer(authHeader));
     }
 
 
@@ -311,7 +323,7 @@ public class AuthenticationService {
      */
     public String generateRefreshToken(final String token) {
         String refreshToken = UUID.randomUUID().toString();
-        this.authCache.put(refreshToken, token);
+        this.tokenStore.put(TokenType.REFRESH, refreshToken, token);
         return refreshToken;
     }
 
@@ -345,7 +357,7 @@ public class AuthenticationService {
 
         userProfileService.create(userProfile);
 
-        authCache.evict(authToken);
+        tokenStore.remove(TokenType.ACCESS, authToken);
         return getAuthenticationResponse(userName.getName());
     }
 
@@ -361,23 +373,20 @@ public class AuthenticationService {
                                 final RefreshToken refreshToken) {
 
         // Cleanup Existing Tokens.
-        Cache.ValueWrapper refreshTokenCache = authCache
-                .get(refreshToken.getToken());
+        String authToken = tokenStore.get(TokenType.REFRESH,
+                refreshToken.getToken());
 
 
-        if (refreshTokenCache == null) {
+        if (authToken == null) {
             throw new BadCredentialsException("Refresh Token unavailable");
         } else {
-            String authToken = refreshTokenCache.get().toString();
-
-            Cache.ValueWrapper authTokenCache = authCache
-                    .get(authToken);
+            String jwtToken = tokenStore.get(TokenType.ACCESS, authToken);
 
-            if (authTokenCache == null) {
+            if (jwtToken == null) {
                 throw new BadCredentialsException("Invalid Token");
             }
 
-            if (!isExpired(authTokenCache.get().toString())) {
+            if (!isExpired(jwtToken)) {
                 throw new BadCredentialsException("Token is not Expired Yet");
             }
 
@@ -385,8 +394,8 @@ public class AuthenticationService {
                 throw new BadCredentialsException("Tokens are not matching");
             }
 
-            authCache.evict(refreshToken.getToken());
-            authCache.evict(authToken);
+            tokenStore.remove(TokenType.REFRESH, refreshToken.getToken());
+            tokenStore.remove(TokenType.ACCESS, authToken);
 
             return getAuthenticationResponse(userName.getName());
         }
@@ -395,9 +404,19 @@ public class AuthenticationService {
 
     private AuthenticationResponse getAuthenticationResponse(
             final String userName) {
-        UserPrincipal userPrincipal =
-                (UserPrincipal) userDetailsService
-                        .loadUserByUsername(userName);
+        return getAuthenticationResponse((UserPrincipal) userDetailsService
+                        .loadUserByUsername(userName));
+    }
+
+    /**
+     * generate AuthenticationResponse for a principal already loaded.
+     *
+     * @param userPrincipal the user principal
+     * @return the authentication response
+     */
+    public AuthenticationResponse getAuthenticationResponse(
+            final UserPrincipal userPrincipal) {
+        final String userName = userPrincipal.getUsername();
         String authToken = generateToken(userName);
 
         if (userPrincipal.isRegistered()) {
@@ -13,7 +13,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -44,23 +43,16 @@ public class CustomUserDetailsService implements UserDetailsService {
      *
      * @param auserService
      * @param profileService
+     * @param apasswordEncoder
      */
     public CustomUserDetailsService(final UserService auserService,
-                                final UserProfileService profileService) {
+                                final UserProfileService profileService,
+                                final PasswordEncoder apasswordEncoder) {
         this.userProfileService = profileService;
-        passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordEncoder = apasswordEncoder;
         this.userService = auserService;
     }
 
-    /**
-     * passwordEncoder.
-     * @return passwordEncoder
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return this.passwordEncoder;
-    }
-
     /**
      * authenticationManager.
      * @param config
@@ -1,20 +1,24 @@
 package com.sample.starter.security.service;
 
+import com.sample.model.User;
+import com.sample.starter.security.config.UserPrincipal;
 import com.sample.starter.security.payload.AuthenticationRequest;
 import com.sample.starter.security.payload.AuthenticationResponse;
 import com.sample.starter.security.payload.SignupRequest;
 import com.sample.model.AuthProvider;
+import com.sample.service.UserProfileService;
 import com.sample.service.UserService;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
+import java.util.Optional;
 
 /**
- * The type Login service.
+ * The type Login service. Logs in an user, or registers one on the first
+ * login, with one lookup by email and one hash of the password.
  */
 @Service
 public class LoginService {
@@ -25,14 +29,14 @@ public class LoginService {
     private final UserService userService;
 
     /**
-     * PasswordEncoder instance.
+     * UserProfileService instance.
      */
-    private final PasswordEncoder passwordEncoder;
+    private final UserProfileService userProfileService;
 
     /**
-     * AuthenticationManager instance.
+     * PasswordEncoder instance.
      */
-    private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
 
     /**
      * TokenProvider instance.
@@ -42,64 +46,80 @@ public class LoginService {
     /**
      * Instantiates a new Login service.
      *
-     * @param aUserService        the a user service
+     * @param aUserService           the a user service
+     * @param aUserProfileService    the a user profile service
      * @param aPasswordEncoder       the a password encoder
-     * @param aAuthenticationManager the a authentication manager
-     * @param aAuthenticationService         the a token provider
+     * @param aAuthenticationService the a token provider
      */
     public LoginService(final UserService aUserService,
+                        final UserProfileService aUserProfileService,
                         final PasswordEncoder aPasswordEncoder,
-                        final AuthenticationManager aAuthenticationManager,
                         final AuthenticationService aAuthenticationService) {
         this.userService = aUserService;
+        this.userProfileService = aUserProfileService;
         this.passwordEncoder = aPasswordEncoder;
-        this.authenticationManager = aAuthenticationManager;
         this.authenticationService = aAuthenticationService;
     }
 
     /**
-     * Sign up.
+     * Sign up, with the password hashed once.
      *
      * @param authenticationRequest authenticationRequest
+     * @return the user signed up
      */
-    private void signUp(final AuthenticationRequest
-                                authenticationRequest) throws SQLException {
-        // Then Sign Up
+    private User signUp(final AuthenticationRequest
+                                authenticationRequest) {
+        final String email = authenticationRequest.getUserName();
+        final String userHandle = email.split("@")[0];
+        final String password = passwordEncoder.encode(
+                authenticationRequest.getPassword());
         SignupRequest signupRequest = new SignupRequest();
-        signupRequest.setEmail(authenticationRequest.getUserName());
+        signupRequest.setEmail(email);
         signupRequest.setPassword(authenticationRequest.getPassword());
         signupRequest.setAuthProvider(AuthProvider.local);
-        signupRequest.setImageUrl("/images/"
-                + authenticationRequest.getUserName().split("@")[0]
-                + ".png");
-        userService.signUp(signupRequest,
-                passwordEncoder::encode);
+        signupRequest.setImageUrl("/images/" + userHandle + ".png");
+        userService.signUp(signupRequest, rawPassword -> password);
+        return new User(userHandle, email, password,
+                signupRequest.getImageUrl(), AuthProvider.local,
+                null, null);
     }
 
     /**
-     * Login authentication response.
+     * Login authentication response. An existing user is checked against
+     * the password; a new one is signed up, and is yet to register.
      *
      * @param authenticationRequest the authentication request
      * @return the authentication response
      */
     public AuthenticationResponse login(final AuthenticationRequest
                                     authenticationRequest) throws SQLException {
+        final Optional<User> existing = userService.readByEmail(
+                authenticationRequest.getUserName());
+        if (existing.isPresent()) {
+            return login(authenticationRequest, existing.get());
+        }
+        final User user;
         try {
-            return authenticationService.getAuthenticationResponse(
-                    this.authenticationManager
-                    .authenticate(
-                        new UsernamePasswordAuthenticationToken(
-                                authenticationRequest.getUserName(),
-                                authenticationRequest.getPassword())));
-        } catch (final BadCredentialsException credentialsException) {
-            // If New User
-            if (userService.readByEmail(
-                    authenticationRequest.getUserName()).isEmpty()) {
-                // Then Sign Up
-                signUp(authenticationRequest);
-                return login(authenticationRequest);
-            }
+            user = signUp(authenticationRequest);
+        } catch (final DuplicateKeyException duplicateKeyException) {
+            // Signed up meanwhile, by a concurrent first login
+            return login(authenticationRequest, userService.readByEmail(
+                    authenticationRequest.getUserName())
+                    .orElseThrow(() -> duplicateKeyException));
+        }
+        return authenticationService.getAuthenticationResponse(
+                UserPrincipal.create(user, Optional.empty()));
+    }
+
+    private AuthenticationResponse login(final AuthenticationRequest
+                                                 authenticationRequest,
+                                         final User user) {
+        if (!passwordEncoder.matches(authenticationRequest.getPassword(),
+                user.password())) {
             throw new BadCredentialsException("Invalid Login Credentials");
         }
+        return authenticationService.getAuthenticationResponse(
+                UserPrincipal.create(user,
+                        userProfileService.read(user.userHandle())));
     }
 }
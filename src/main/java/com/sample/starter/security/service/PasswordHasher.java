@@ -0,0 +1,162 @@
+package com.sample.starter.security.service;
+
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt password encoder that hashes on a bounded pool of its own. Hashing
+ * is slow by design, so a burst of logins on the request threads would take
+ * every core from the rest of the traffic. Here at most one hash a thread
+ * runs, a bounded number wait, and a login past those, or waiting longer
+ * than its timeout, fails fast with a {@link TooManyRequestsException}.
+ */
+@Service
+public final class PasswordHasher implements PasswordEncoder {
+
+    /**
+     * Hashes the passwords.
+     */
+    private final BCryptPasswordEncoder encoder;
+
+    /**
+     * Runs the hashes, rejecting those past its queue.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Time a caller waits for its hash.
+     */
+    private final long timeoutMsec;
+
+    /**
+     * Time to encode a password.
+     */
+    private final Timer encodeTimer;
+
+    /**
+     * Time to match a password.
+     */
+    private final Timer matchTimer;
+
+    /**
+     * Hashes rejected or timed out.
+     */
+    private final Counter rejected;
+
+    /**
+     * Instantiates a new Password hasher.
+     *
+     * @param appProperties the app properties
+     * @param registry      the meter registry
+     */
+    public PasswordHasher(final AppProperties appProperties,
+                          final MeterRegistry registry) {
+        final AppProperties.Auth auth = appProperties.getAuth();
+        this.encoder = new BCryptPasswordEncoder(auth.getBcryptStrength());
+        this.timeoutMsec = auth.getHashTimeoutMsec();
+        final int threads = auth.getHashThreads() > 0
+                ? auth.getHashThreads()
+                : Runtime.getRuntime().availableProcessors();
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(auth.getHashQueueCapacity()),
+                runnable -> {
+                    final Thread thread = new Thread(runnable,
+                            "password-hasher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.encodeTimer = Timer.builder("auth.hash")
+                .description("Time to hash a password")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.matchTimer = Timer.builder("auth.hash")
+                .description("Time to hash a password")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("auth.hash.rejected")
+                .description("Hashes rejected as the hasher is busy")
+                .register(registry);
+        Gauge.builder("auth.hash.queue", executor,
+                        pool -> pool.getQueue().size())
+                .description("Hashes waiting for a thread")
+                .register(registry);
+        Gauge.builder("auth.hash.active", executor,
+                        ThreadPoolExecutor::getActiveCount)
+                .description("Hashes running")
+                .register(registry);
+    }
+
+    /**
+     * Stops hashing.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return hash(() -> encodeTimer.record(() ->
+                encoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword,
+                           final String encodedPassword) {
+        return hash(() -> matchTimer.record(() ->
+                encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(final Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (final RejectedExecutionException ex) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many logins", ex);
+        }
+        try {
+            return future.get(timeoutMsec, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many logins", ex);
+        } catch (final InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
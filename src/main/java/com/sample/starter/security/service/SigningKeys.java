@@ -0,0 +1,140 @@
+package com.sample.starter.security.service;
+
+import com.sample.starter.security.config.AppProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Holds the HMAC signing key and the JWT parser built from the token secret.
+ * Both are built once and rebuilt only when the secret is rotated, on the
+ * tokensecret actuator endpoint, keeping the previous key to verify tokens
+ * issued before the rotation.
+ */
+public final class SigningKeys {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(SigningKeys.class);
+
+    /**
+     * App Properties.
+     */
+    private final AppProperties appProperties;
+
+    /**
+     * Current key ring, replaced on rotation only.
+     */
+    private volatile KeyRing keyRing;
+
+    /**
+     * Told the new token secret on rotation, as others derive keys of it.
+     */
+    private final List<Consumer<String>> listeners =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * Builds the signing keys from the auth properties.
+     *
+     * @param anAppProperties the app properties
+     */
+    public SigningKeys(final AppProperties anAppProperties) {
+        this.appProperties = anAppProperties;
+        this.keyRing = new KeyRing(anAppProperties.getAuth().getTokenSecret(),
+                null);
+    }
+
+    /**
+     * Gets the key to sign new tokens with.
+     *
+     * @return the signing key
+     */
+    public Key getSigningKey() {
+        return keyRing.key();
+    }
+
+    /**
+     * Verifies a signed token and gets its claims.
+     *
+     * @param jwt the signed token
+     * @return the claims
+     */
+    public Claims parse(final String jwt) {
+        final KeyRing ring = this.keyRing;
+        try {
+            return ring.parser().parseClaimsJws(jwt).getBody();
+        } catch (final SecurityException ex) {
+            if (ring.previous() == null) {
+                throw ex;
+            }
+            return ring.previous().parseClaimsJws(jwt).getBody();
+        }
+    }
+
+    /**
+     * Rotates the token secret. Tokens signed with the old secret keep
+     * verifying until they expire. The secret is checked before anything
+     * is rotated, and then rebound for the others signing with it.
+     *
+     * @param tokenSecret the new base64 encoded token secret
+     */
+    public synchronized void rotate(final String tokenSecret) {
+        final KeyRing ring = new KeyRing(tokenSecret, keyRing.parser());
+        appProperties.getAuth().setTokenSecret(tokenSecret);
+        this.keyRing = ring;
+        listeners.forEach(listener -> listener.accept(tokenSecret));
+        logger.info("Token secret rotated");
+    }
+
+    /**
+     * Adds a listener told the new token secret on each rotation.
+     *
+     * @param listener the listener
+     */
+    public void addRotationListener(final Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Key and parser of a token secret.
+     *
+     * @param key      the signing key
+     * @param parser   the parser verifying with the key
+     * @param previous the parser of the previous secret, if any
+     */
+    private record KeyRing(Key key, JwtParser parser, JwtParser previous) {
+
+        /**
+         * Builds the key ring of a secret.
+         *
+         * @param aSecret   the base64 encoded token secret
+         * @param aPrevious the parser of the previous secret
+         */
+        KeyRing(final String aSecret, final JwtParser aPrevious) {
+            this(Keys.hmacShaKeyFor(Decoders.BASE64.decode(aSecret)),
+                    aPrevious);
+        }
+
+        /**
+         * Builds the key ring of a key.
+         *
+         * @param aKey      the signing key
+         * @param aPrevious the parser of the previous secret
+         */
+        KeyRing(final Key aKey, final JwtParser aPrevious) {
+            this(aKey, Jwts.parserBuilder().setSigningKey(aKey).build(),
+                    aPrevious);
+        }
+    }
+}
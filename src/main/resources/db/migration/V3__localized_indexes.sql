@@ -0,0 +1,16 @@
+-- Localized reads join a single locale:
+--   LEFT JOIN x_localized el ON el.x_id = e.id AND el.locale = ?
+-- The primary key (x_id, locale) serves the lookup of one row, while
+-- (locale, x_id) lets a list scan only the rows of the requested locale.
+
+CREATE INDEX movies_localized_locale_idx
+    ON movies_localized (locale, movie_id);
+
+CREATE INDEX tags_localized_locale_idx
+    ON tags_localized (locale, tag_id);
+
+CREATE INDEX genres_localized_locale_idx
+    ON genres_localized (locale, genre_id);
+
+CREATE INDEX theatres_localized_locale_idx
+    ON theatres_localized (locale, theatre_id);
@@ -0,0 +1,19 @@
+-- Catalog lists are paged by seeking past the last row of the previous page:
+--   WHERE (e.created_at, e.id) > (?, ?) ORDER BY e.created_at, e.id LIMIT ?
+-- (created_at, id) serves both the seek and the order without a sort, and
+-- the id breaks ties between rows created in the same instant.
+
+CREATE INDEX movies_created_idx
+    ON movies (created_at, id);
+
+CREATE INDEX movies_release_date_idx
+    ON movies (release_date);
+
+CREATE INDEX tags_created_idx
+    ON tags (created_at, id);
+
+CREATE INDEX genres_created_idx
+    ON genres (created_at, id);
+
+CREATE INDEX theatres_created_idx
+    ON theatres (created_at, id);
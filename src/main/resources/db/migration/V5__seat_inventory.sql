@@ -0,0 +1,39 @@
+-- Seat inventory. A screen lays its seats out in rows of equal length and
+-- numbers them row by row from 0. Seat availability is served from memory;
+-- only sold seats are stored, one row each, so that the primary key
+-- rejects a seat sold twice.
+
+CREATE TABLE screens (
+    id UUID PRIMARY KEY,
+    theatre_id UUID NOT NULL,
+    title VARCHAR(55),
+    seat_rows INT NOT NULL,
+    seats_per_row INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(55) NOT NULL,
+    FOREIGN KEY (theatre_id) REFERENCES theatres (id)
+);
+
+CREATE INDEX screens_theatre_idx
+    ON screens (theatre_id);
+
+CREATE TABLE shows (
+    id UUID PRIMARY KEY,
+    movie_id UUID NOT NULL,
+    screen_id UUID NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(55) NOT NULL,
+    FOREIGN KEY (movie_id) REFERENCES movies (id),
+    FOREIGN KEY (screen_id) REFERENCES screens (id)
+);
+
+CREATE INDEX shows_starts_at_idx
+    ON shows (starts_at);
+
+CREATE TABLE show_seats (
+    show_id UUID NOT NULL,
+    seat INT NOT NULL,
+    FOREIGN KEY (show_id) REFERENCES shows (id),
+    PRIMARY KEY (show_id, seat)
+);
@@ -0,0 +1,16 @@
+-- Bookings. Holds live in memory only; a confirmed hold becomes a booking
+-- and its sold seats, written in one transaction.
+
+CREATE TABLE bookings (
+    id UUID PRIMARY KEY,
+    show_id UUID NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(55) NOT NULL,
+    FOREIGN KEY (show_id) REFERENCES shows (id)
+);
+
+CREATE INDEX bookings_show_idx
+    ON bookings (show_id);
+
+ALTER TABLE show_seats ADD COLUMN booking_id UUID
+    REFERENCES bookings (id);
@@ -0,0 +1,6 @@
+-- Cancelled shows are kept, along with their bookings, but leave the
+-- seat maps and the schedule.
+
+ALTER TABLE shows ADD COLUMN cancelled_at TIMESTAMP;
+
+ALTER TABLE shows ADD COLUMN cancelled_by VARCHAR(55);
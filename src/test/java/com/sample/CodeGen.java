@@ -33,6 +33,8 @@ public class CodeGen {
                 ."""
 package com.sample.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.model.Page;
 import com.sample.model.\{name};
 import com.sample.service.\{name}Service;
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,6 +42,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -50,8 +53,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.security.Principal;
@@ -69,8 +75,15 @@ class \{name}APIController {
      */
     private final \{name}Service \{name.toLowerCase()}Service;
 
-    \{name}APIController(final \{name}Service a\{name}Service) {
+    /**
+     * Writes the rows of exports.
+     */
+    private final ObjectMapper objectMapper;
+
+    \{name}APIController(final \{name}Service a\{name}Service,
+                       final ObjectMapper anObjectMapper) {
         this.\{name.toLowerCase()}Service = a\{name}Service;
+        this.objectMapper = anObjectMapper;
     }
 
     /**
@@ -193,10 +206,13 @@ class \{name}APIController {
     }
 
     /**
-     * List the \{name}.
+     * List a page of the \{name}.
      *
-     * @param principal
-     * @param locale
+     * @param principal the principal
+     * @param locale    the locale
+     * @param title     the title prefix
+     * @param cursor    the cursor of the page
+     * @param size      the page size
      * @return list of \{name.toLowerCase()}
      */
     @Operation(summary = "lists the \{name.toLowerCase()}",
@@ -206,17 +222,56 @@ class \{name}APIController {
             description = "Listing the \{name.toLowerCase()}"),
             @ApiResponse(responseCode = "204",
                     description = "\{name.toLowerCase()} are not available"),
+            @ApiResponse(responseCode = "400",
+                    description = "cursor is invalid"),
             @ApiResponse(responseCode = "401",
                     description = "invalid credentials")})
     @GetMapping(produces = "application/json")
     public final ResponseEntity<List<\{name}>> list(final Principal
                                                     principal,
                                       @RequestHeader(name = "Accept-Language",
-                                    required = false) final Locale locale) {
-        final List<\{name}> \{name.toLowerCase()}List = \{name.toLowerCase()}Service.list(
-                principal.getName(), locale);
-        return \{name.toLowerCase()}List.isEmpty() ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(\{name.toLowerCase()}List);
+                                    required = false) final Locale locale,
+                    @RequestParam(required = false) final String title,
+                    @RequestParam(required = false) final String cursor,
+                    @RequestParam(required = false) final Integer size) {
+        final Page<\{name}> page = \{name.toLowerCase()}Service.page(
+                principal.getName(), locale, title, cursor, size);
+        if (page.content().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(HttpHeaders.LINK, "<"
+                    + ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.next())
+                    .toUriString() + ">; rel=\\\"next\\\"");
+        }
+        return response.body(page.content());
+    }
+
+    /**
+     * Export all the \{name} as newline delimited JSON.
+     *
+     * @param principal the principal
+     * @param locale    the locale
+     * @return the stream of \{name.toLowerCase()}
+     */
+    @Operation(summary = "exports the \{name.toLowerCase()}",
+            description = "Streams one \{name.toLowerCase()} per line, "
+                    + "when requested with Accept: application/x-ndjson",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Exporting the \{name.toLowerCase()}"),
+            @ApiResponse(responseCode = "401",
+                    description = "invalid credentials")})
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public final ResponseEntity<StreamingResponseBody> export(
+            final Principal principal,
+            @RequestHeader(name = "Accept-Language",
+                    required = false) final Locale locale) {
+        final String userName = principal.getName();
+        return Ndjson.<\{name}>stream(objectMapper, consumer ->
+                \{name.toLowerCase()}Service.export(userName, locale, consumer));
     }
 
 }
@@ -435,19 +490,31 @@ public class \{name}ServiceTest {
                 ."""
                 package com.sample.service;
 
+                import com.sample.model.Page;
                 import com.sample.model.\{name};
+                import com.sample.starter.security.config.AppProperties;
                 import org.slf4j.Logger;
                 import org.slf4j.LoggerFactory;
+                import org.springframework.boot.context.event.ApplicationReadyEvent;
+                import org.springframework.cache.CacheManager;
+                import org.springframework.context.event.EventListener;
                 import org.springframework.jdbc.core.simple.JdbcClient;
+                import org.springframework.jdbc.support.GeneratedKeyHolder;
+                import org.springframework.jdbc.support.KeyHolder;
                 import org.springframework.stereotype.Service;
+                import org.springframework.transaction.annotation.Transactional;
 
                 import java.sql.ResultSet;
                 import java.sql.SQLException;
                 import java.time.LocalDateTime;
+                import java.util.ArrayList;
+                import java.util.Arrays;
                 import java.util.List;
                 import java.util.Locale;
                 import java.util.Optional;
                 import java.util.UUID;
+                import java.util.function.Consumer;
+                import java.util.stream.Stream;
 
                 /**
                  * The type \{name} service.
@@ -493,14 +560,38 @@ public class \{name}ServiceTest {
                      * JdbcClient.
                      */
                     private final JdbcClient jdbcClient;
+                    /**
+                     * Cache of localized \{pluralName.toLowerCase()}.
+                     */
+                    private final CatalogCache<\{name}> cache;
+                    /**
+                     * Keyset pagination.
+                     */
+                    private final Keyset keyset;
 
                     /**
                      * Instantiates a new \{name} service.
                      *
-                     * @param aJdbcClient the jdbc client
+                     * @param aJdbcClient     the jdbc client
+                     * @param aCacheManager   the cache manager
+                     * @param anAppProperties the app properties
                      */
-                    public \{name}Service(final JdbcClient aJdbcClient) {
+                    public \{name}Service(final JdbcClient aJdbcClient,
+                                        final CacheManager aCacheManager,
+                                        final AppProperties anAppProperties) {
                         this.jdbcClient = aJdbcClient;
+                        this.cache = new CatalogCache<>(aCacheManager, anAppProperties,
+                                "\{pluralName.toLowerCase()}", \{name}::id);
+                        this.keyset = new Keyset(anAppProperties);
+                    }
+
+                    /**
+                     * Loads the \{pluralName.toLowerCase()} of the warmup languages into the cache.
+                     */
+                    @EventListener(ApplicationReadyEvent.class)
+                    public void warmUp() {
+                        cache.warmUp(this::selectAll);
+                        logger.info("\{name} cache warmed up");
                     }
 
                     private \{name} rowMapper(final ResultSet rs, final Integer rowNum)
@@ -527,6 +618,7 @@ public class \{name}ServiceTest {
                                         final \{name} \{name.toLowerCase()}) {
                         final UUID \{name.toLowerCase()}Id = UUID.randomUUID();
 
+                        final KeyHolder keyHolder = new GeneratedKeyHolder();
                         String insertEventSQL = ""\"
                                 INSERT INTO \{pluralName.toLowerCase()}(id, title,
                                 description, created_by)
@@ -537,17 +629,18 @@ public class \{name}ServiceTest {
                                 .param(INDEX_2, \{name.toLowerCase()}.title())
                                 .param(INDEX_3, \{name.toLowerCase()}.description())
                                 .param(INDEX_4, userName)
-                                .update();
+                                .update(keyHolder, WrittenColumns.CREATED);
 
                         if (locale != null) {
                             createLocalizedEvent(\{name.toLowerCase()}Id, \{name.toLowerCase()}, locale);
                         }
+                        cache.evictLists();
 
-                        final Optional<\{name}> createdEvent
-                        = read(userName, locale, \{name.toLowerCase()}Id);
                         logger.info("\{name} Created {}", \{name.toLowerCase()}Id);
 
-                        return createdEvent.get();
+                        return new \{name}(\{name.toLowerCase()}Id, \{name.toLowerCase()}.title(), \{name.toLowerCase()}.description(),
+                                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                                userName, null, null);
                     }
 
                     private int createLocalizedEvent(final UUID \{name.toLowerCase()}Id,
@@ -576,6 +669,10 @@ public class \{name}ServiceTest {
                      */
                     public Optional<\{name}> read(final String userName, final Locale locale,
                                                 final UUID id) {
+                        return cache.read(locale, id, () -> select(locale, id));
+                    }
+
+                    private Optional<\{name}> select(final Locale locale, final UUID id) {
                         final String query = locale == null
                                 ? ""\"
                                 SELECT id, title, description, created_at,
@@ -584,21 +681,15 @@ public class \{name}ServiceTest {
                                 WHERE id = ?
                                 ""\"
                                 : ""\"
-                                SELECT DISTINCT e.id,
-                                    CASE WHEN el.locale = ? THEN el.title
-                                    ELSE e.title END AS title,
-                                    CASE WHEN el.locale = ? THEN el.description
-                                    ELSE e.description END AS description,
+                                SELECT e.id,
+                                    COALESCE(el.title, e.title) AS title,
+                                    COALESCE(el.description, e.description) AS description,
                                     e.created_at, e.created_by,
                                     e.modified_at, e.modified_by
                                 FROM \{pluralName.toLowerCase()} e
-                                LEFT JOIN \{pluralName.toLowerCase()}_localized el ON e.id = el.\{name.toLowerCase()}_id
+                                LEFT JOIN \{pluralName.toLowerCase()}_localized el
+                                    ON el.\{name.toLowerCase()}_id = e.id AND el.locale = ?
                                 WHERE e.id = ?
-                                    AND (el.locale IS NULL OR el.locale = ? OR e.id NOT IN (
-                                        SELECT \{name.toLowerCase()}_id
-                                        FROM \{pluralName.toLowerCase()}_localized
-                                        WHERE \{name.toLowerCase()}_id = e.id AND locale = ?
-                                    ))
                                 ""\";
 
 
@@ -607,10 +698,7 @@ public class \{name}ServiceTest {
                                     .optional()
                                     : jdbcClient.sql(query)
                                     .param(INDEX_1, locale.getLanguage())
-                                    .param(INDEX_2, locale.getLanguage())
-                                    .param(INDEX_3, id)
-                                    .param(INDEX_4, locale.getLanguage())
-                                    .param(INDEX_5, locale.getLanguage())
+                                    .param(INDEX_2, id)
                                     .query(this::rowMapper).optional();
 
                     }
@@ -635,15 +723,17 @@ public class \{name}ServiceTest {
                                 : ""\"
                                 UPDATE \{pluralName.toLowerCase()} SET modified_by=? WHERE id=?
                                 ""\";
+                        final KeyHolder keyHolder = new GeneratedKeyHolder();
                         int updatedRows = locale == null
                                 ? jdbcClient.sql(query)
                                 .param(INDEX_1, \{name.toLowerCase()}.title())
                                 .param(INDEX_2, \{name.toLowerCase()}.description())
                                 .param(INDEX_3, userName)
-                                .param(INDEX_4, id).update()
+                                .param(INDEX_4, id).update(keyHolder, WrittenColumns.UPDATED)
                                 : jdbcClient.sql(query)
                                 .param(INDEX_1, userName)
-                                .param(INDEX_2, id).update();
+                                .param(INDEX_2, id)
+                                .update(keyHolder, WrittenColumns.UPDATED);
 
                         if (updatedRows == 0) {
                             logger.error("Update not found {}", id);
@@ -666,7 +756,16 @@ public class \{name}ServiceTest {
                                 createLocalizedEvent(id, \{name.toLowerCase()}, locale);
                             }
                         }
-                        return read(userName, locale, id).get();
+                        cache.evict(id);
+                        return new \{name}(id,
+                                WrittenColumns.coalesce(\{name.toLowerCase()}.title(),
+                                        WrittenColumns.string(keyHolder, "title")),
+                                WrittenColumns.coalesce(\{name.toLowerCase()}.description(),
+                                        WrittenColumns.string(keyHolder, "description")),
+                                WrittenColumns.localDateTime(keyHolder, "created_at"),
+                                WrittenColumns.string(keyHolder, "created_by"),
+                                WrittenColumns.localDateTime(keyHolder, "modified_at"),
+                                userName);
                     }
 
                     /**
@@ -677,9 +776,12 @@ public class \{name}ServiceTest {
                      * @return the boolean
                      */
                     public boolean delete(final String userName, final UUID id) {
-                        return jdbcClient.sql("DELETE FROM \{pluralName.toLowerCase()} WHERE id = ?")
+                        final boolean deleted = jdbcClient
+                                .sql("DELETE FROM \{pluralName.toLowerCase()} WHERE id = ?")
                                 .param(INDEX_1, id)
                                 .update() == 1;
+                        cache.evict(id);
+                        return deleted;
                     }
 
                     /**
@@ -690,6 +792,31 @@ public class \{name}ServiceTest {
                      * @return the list
                      */
                     public List<\{name}> list(final String userName, final Locale locale) {
+                        return cache.list(locale, () -> selectAll(locale));
+                    }
+
+                    private List<\{name}> selectAll(final Locale locale) {
+                        return queryAll(locale).list();
+                    }
+
+                    /**
+                     * Streams all the \{pluralName.toLowerCase()} to a consumer as they are read off the result
+                     * set, without caching them. The read only transaction lets the driver
+                     * fetch rows in batches of the fetch size rather than all at once.
+                     *
+                     * @param userName the user name
+                     * @param locale   the locale
+                     * @param consumer the consumer of each \{name.toLowerCase()}
+                     */
+                    @Transactional(readOnly = true)
+                    public void export(final String userName, final Locale locale,
+                                       final Consumer<\{name}> consumer) {
+                        try (Stream<\{name}> rows = queryAll(locale).stream()) {
+                            rows.forEach(consumer);
+                        }
+                    }
+
+                    private JdbcClient.MappedQuerySpec<\{name}> queryAll(final Locale locale) {
                         final String query = locale == null
                                 ? ""\"
                                 SELECT id, title, description, created_at,
@@ -697,31 +824,86 @@ public class \{name}ServiceTest {
                                 FROM \{pluralName.toLowerCase()}
                                 ""\"
                                 : ""\"
-                                SELECT DISTINCT e.id,
-                                    CASE WHEN el.locale = ? THEN el.title
-                                    ELSE e.title END AS title,
-                                    CASE WHEN el.locale = ? THEN el.description
-                                    ELSE e.description END AS description,
+                                SELECT e.id,
+                                    COALESCE(el.title, e.title) AS title,
+                                    COALESCE(el.description, e.description) AS description,
                                     e.created_at, e.created_by,
                                     e.modified_at, e.modified_by
                                 FROM \{pluralName.toLowerCase()} e
-                                LEFT JOIN \{pluralName.toLowerCase()}_localized el ON e.id = el.\{name.toLowerCase()}_id
-                                WHERE el.locale IS NULL OR el.locale = ? OR e.id NOT IN (
-                                    SELECT \{name.toLowerCase()}_id
-                                    FROM \{pluralName.toLowerCase()}_localized
-                                    WHERE \{name.toLowerCase()}_id = e.id AND locale = ?
-                                )
+                                LEFT JOIN \{pluralName.toLowerCase()}_localized el
+                                    ON el.\{name.toLowerCase()}_id = e.id AND el.locale = ?
                                 ""\";
                         return locale == null
-                                ? jdbcClient.sql(query).query(this::rowMapper).list()
+                                ? jdbcClient.sql(query).query(this::rowMapper)
                                 : jdbcClient.sql(query)
                                 .param(INDEX_1, locale.getLanguage())
-                                .param(INDEX_2, locale.getLanguage())
-                                .param(INDEX_3, locale.getLanguage())
-                                .param(INDEX_4, locale.getLanguage())
-                                .query(this::rowMapper).list();
+                                .query(this::rowMapper);
                     }
 
+                    /**
+                     * Page of \{pluralName.toLowerCase()} in the order they were created.
+                     *
+                     * @param userName    the user name
+                     * @param locale      the locale
+                     * @param titlePrefix the title prefix, may be null
+                     * @param cursor      the cursor of the page, null for the first page
+                     * @param size        the page size, null for the default
+                     * @return the page
+                     */
+                    public Page<\{name}> page(final String userName, final Locale locale,
+                                            final String titlePrefix, final String cursor,
+                                            final Integer size) {
+                        final int pageSize = keyset.sizeOf(size);
+                        final Keyset.Position position = keyset.decode(cursor);
+                        return cache.page(locale,
+                                Arrays.<Object>asList(titlePrefix, cursor, pageSize),
+                                () -> selectPage(locale, titlePrefix, position, pageSize));
+                    }
+
+                    private Page<\{name}> selectPage(final Locale locale,
+                                                   final String titlePrefix,
+                                                   final Keyset.Position position,
+                                                   final int size) {
+                        final StringBuilder query = new StringBuilder(locale == null
+                                ? ""\"
+                                SELECT e.id, e.title, e.description, e.created_at,
+                                e.created_by, e.modified_at, e.modified_by
+                                FROM \{pluralName.toLowerCase()} e
+                                WHERE 1 = 1
+                                ""\"
+                                : ""\"
+                                SELECT e.id,
+                                    COALESCE(el.title, e.title) AS title,
+                                    COALESCE(el.description, e.description) AS description,
+                                    e.created_at, e.created_by,
+                                    e.modified_at, e.modified_by
+                                FROM \{pluralName.toLowerCase()} e
+                                LEFT JOIN \{pluralName.toLowerCase()}_localized el
+                                    ON el.\{name.toLowerCase()}_id = e.id AND el.locale = ?
+                                WHERE 1 = 1
+                                ""\");
+                        final List<Object> params = new ArrayList<>();
+                        if (locale != null) {
+                            params.add(locale.getLanguage());
+                        }
+                        if (titlePrefix != null) {
+                            query.append(locale == null
+                                    ? "AND e.title LIKE ? ESCAPE '\\\\'\\n"
+                                    : "AND COALESCE(el.title, e.title) LIKE ? ESCAPE '\\\\'\\n");
+                            params.add(Keyset.startsWith(titlePrefix));
+                        }
+                        if (position != null) {
+                            query.append("AND (e.created_at, e.id) > (?, ?)\\n");
+                            params.add(position.createdAt());
+                            params.add(position.id());
+                        }
+                        query.append("ORDER BY e.created_at, e.id LIMIT ?");
+                        params.add(size + 1);
+                        return keyset.pageOf(jdbcClient.sql(query.toString())
+                                        .params(params)
+                                        .query(this::rowMapper).list(),
+                                size, \{name}::createdAt, \{name}::id);
+                    }
 
                     /**
                      * Delete all the \{pluralName.toLowerCase()} related data.
@@ -729,6 +911,7 @@ public class \{name}ServiceTest {
                     public void delete() {
                         jdbcClient.sql("DELETE FROM \{pluralName.toLowerCase()}_localized").update();
                         jdbcClient.sql("DELETE FROM \{pluralName.toLowerCase()}").update();
+                        cache.clear();
                     }
                 }
 
@@ -798,6 +981,12 @@ public record \{name}(UUID id,
                     FOREIGN KEY (\{name.toLowerCase()}_id) REFERENCES \{pluralName.toLowerCase()} (id),
                     PRIMARY KEY(\{name.toLowerCase()}_id, locale)
                 );
+
+                CREATE INDEX \{pluralName.toLowerCase()}_localized_locale_idx
+                    ON \{pluralName.toLowerCase()}_localized (locale, \{name.toLowerCase()}_id);
+
+                CREATE INDEX \{pluralName.toLowerCase()}_created_idx
+                    ON \{pluralName.toLowerCase()} (created_at, id);
                 """ ;
 
         Files.write(
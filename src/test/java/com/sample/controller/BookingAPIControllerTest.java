@@ -0,0 +1,160 @@
+package com.sample.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.model.Hold;
+import com.sample.model.Movie;
+import com.sample.model.Screen;
+import com.sample.model.Show;
+import com.sample.model.Theatre;
+import com.sample.service.BookingService;
+import com.sample.service.MovieService;
+import com.sample.service.ShowService;
+import com.sample.service.TheatreService;
+import com.sample.service.UserService;
+import com.sample.service.WaitlistService;
+import com.sample.starter.security.payload.AuthenticationRequest;
+import com.sample.starter.security.payload.AuthenticationResponse;
+import com.sample.starter.security.payload.RegistrationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ExtendWith(OutputCaptureExtension.class)
+class BookingAPIControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private TheatreService theatreService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Show show;
+
+    @BeforeEach
+    void before() {
+        cleanUp();
+        final Theatre theatre = theatreService.create("mani", null,
+                new Theatre(null, "Theatre", null, null, null, null, null));
+        final Movie movie = movieService.create("mani", null,
+                new Movie(null, "Movie", null, LocalDate.now(),
+                        null, null, null, null));
+        final Screen screen = showService.createScreen("mani", theatre.id(),
+                new Screen(null, null, "Screen 1", 1, 2, null, null));
+        show = showService.createShow("mani", theatre.id(),
+                new Show(null, movie.id(), screen.id(),
+                        LocalDateTime.now().plusHours(2L), null, null));
+    }
+
+    @AfterEach
+    void after() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        waitlistService.delete();
+        bookingService.delete();
+        showService.delete();
+        theatreService.delete();
+        movieService.delete();
+        userService.delete();
+    }
+
+    @Test
+    void waitlist(final CapturedOutput output) throws Exception {
+        final Hold soldOut = bookingService.hold("mani",
+                new Hold(null, show.id(), List.of(0, 1), null, null)).get();
+
+        final Flux<ServerSentEvent<String>> events = webTestClient.get()
+                .uri("/api/bookings/waitlist?show={show}&seats=2", show.id())
+                .header("Authorization", "Bearer " + authToken())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(
+                        new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                        })
+                .getResponseBody();
+        Assertions.assertTrue(bookingService.release("mani", soldOut.id()));
+
+        final List<ServerSentEvent<String>> stream =
+                events.collectList().block(Duration.ofSeconds(5L));
+        Assertions.assertEquals(2, stream.size(), "Queued, then offered");
+        Assertions.assertEquals("waiting", stream.get(0).comment());
+        final ServerSentEvent<String> offer = stream.get(1);
+        Assertions.assertEquals("offer", offer.event());
+        final Hold hold = objectMapper.readValue(offer.data(), Hold.class);
+        Assertions.assertEquals(show.id(), hold.showId());
+        Assertions.assertEquals(List.of(0, 1), hold.seats());
+        // the offer is sent before the async dispatch that ends the
+        // stream, so a denied dispatch shows in the log alone
+        Assertions.assertFalse(output.getAll().contains("Access Denied"),
+                "Async dispatch permitted");
+    }
+
+    private String authToken() {
+        AuthenticationRequest credentials = new AuthenticationRequest(
+                "waiter@email.com", "password");
+        AuthenticationResponse login = webTestClient.post()
+                .uri("/api/auth/login")
+                .body(Mono.just(credentials), AuthenticationRequest.class)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody();
+
+        RegistrationRequest registrationRequest = new RegistrationRequest();
+        registrationRequest.setFirstName("Wait");
+        registrationRequest.setLastName("Er");
+        registrationRequest.setDob(LocalDate.now().minusYears(20L));
+        return webTestClient.post()
+                .uri("/api/auth/register")
+                .body(Mono.just(registrationRequest),
+                        RegistrationRequest.class)
+                .header("Authorization",
+                        "Bearer " + login.getRegistrationToken())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CREATED.value())
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody().getAuthToken();
+    }
+}
@@ -0,0 +1,117 @@
+package com.sample.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.model.Movie;
+import com.sample.service.MovieService;
+import com.sample.service.UserService;
+import com.sample.starter.security.payload.AuthenticationRequest;
+import com.sample.starter.security.payload.AuthenticationResponse;
+import com.sample.starter.security.payload.RegistrationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ExtendWith(OutputCaptureExtension.class)
+class MovieAPIControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void before() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void after() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        movieService.delete();
+        userService.delete();
+    }
+
+    @Test
+    void export(final CapturedOutput output) throws Exception {
+        Set<String> titles = Set.of("Dune", "Arrival", "Sicario");
+        for (String title : titles) {
+            movieService.create("exporter", null, new Movie(null, title,
+                    title + " Description", LocalDate.now().plusDays(1L),
+                    null, null, null, null));
+        }
+
+        String body = webTestClient.get().uri("/api/movies")
+                .header("Authorization", "Bearer " + authToken())
+                .accept(MediaType.parseMediaType(Ndjson.MEDIA_TYPE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(Ndjson.MEDIA_TYPE)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        Assertions.assertNotNull(body);
+        Set<String> exported = new HashSet<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readValue(line, Movie.class).title());
+        }
+        Assertions.assertEquals(titles, exported, "One movie a line");
+        // the rows are committed before the async dispatch that completes
+        // the stream, so a denied dispatch shows in the log alone
+        Assertions.assertFalse(output.getAll().contains("Access Denied"),
+                "Async dispatch permitted");
+    }
+
+    private String authToken() {
+        AuthenticationRequest credentials = new AuthenticationRequest(
+                "exporter@email.com", "password");
+        AuthenticationResponse login = webTestClient.post()
+                .uri("/api/auth/login")
+                .body(Mono.just(credentials), AuthenticationRequest.class)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody();
+
+        RegistrationRequest registrationRequest = new RegistrationRequest();
+        registrationRequest.setFirstName("Export");
+        registrationRequest.setLastName("Er");
+        registrationRequest.setDob(LocalDate.now().minusYears(20L));
+        return webTestClient.post()
+                .uri("/api/auth/register")
+                .body(Mono.just(registrationRequest),
+                        RegistrationRequest.class)
+                .header("Authorization",
+                        "Bearer " + login.getRegistrationToken())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CREATED.value())
+                .expectBody(AuthenticationResponse.class)
+                .returnResult().getResponseBody().getAuthToken();
+    }
+}
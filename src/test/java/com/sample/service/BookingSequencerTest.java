@@ -0,0 +1,96 @@
+package com.sample.service;
+
+import com.sample.model.Booking;
+import com.sample.model.Hold;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+class BookingSequencerTest {
+
+    private final UUID showId = UUID.randomUUID();
+
+    @Test
+    void failedWritesAndReleasesFailTheirCallers() {
+        final AtomicInteger releases = new AtomicInteger();
+        final Consumer<List<Booking>> writer = bookings -> {
+            throw new IllegalStateException("Write failed");
+        };
+        try (BookingSequencer sequencer = new BookingSequencer("test", 1, 8,
+                8, 5_000L, writer, pending -> {
+                    releases.incrementAndGet();
+                    throw new IllegalStateException("Release failed");
+                })) {
+            final IllegalStateException ex = Assertions.assertThrows(
+                    IllegalStateException.class,
+                    () -> sequencer.confirm(showId, this::pending));
+            Assertions.assertEquals("Write failed", ex.getMessage());
+            Assertions.assertEquals(1, releases.get());
+
+            Assertions.assertEquals("alive", sequencer.call(showId,
+                    () -> "alive"), "Partition still applies commands");
+        }
+    }
+
+    @Test
+    void failedCommandsFailTheirCallers() {
+        try (BookingSequencer sequencer = new BookingSequencer("test", 1, 8,
+                8, 5_000L, bookings -> { }, pending -> { })) {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> sequencer.confirm(showId, () -> {
+                        throw new IllegalArgumentException("Claim failed");
+                    }));
+            Assertions.assertTrue(sequencer.confirm(showId, this::pending)
+                    .isPresent(), "Partition still confirms");
+        }
+    }
+
+    @Test
+    void callersTimeOutAndCloseFailsQueuedCommands() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final BookingSequencer sequencer = new BookingSequencer("test", 1,
+                8, 1, 200L, bookings -> { }, pending -> { });
+        final CompletableFuture<Object> blocking = CompletableFuture
+                .supplyAsync(() -> sequencer.call(showId, () -> {
+                    started.countDown();
+                    try {
+                        return blocked.await(5, TimeUnit.SECONDS);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        final IllegalStateException timedOut = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> sequencer.call(showId, () -> "late"));
+        Assertions.assertEquals("Sequencer timed out", timedOut.getMessage());
+
+        final CompletableFuture<Object> queued = CompletableFuture
+                .supplyAsync(() -> sequencer.call(showId, () -> "queued"));
+        Thread.sleep(50L);
+        sequencer.close();
+        final Exception stopped = Assertions.assertThrows(Exception.class,
+                () -> queued.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("Sequencer stopped",
+                stopped.getCause().getMessage());
+        blocked.countDown();
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> sequencer.call(showId, () -> "closed"));
+        blocking.handle((result, ex) -> result).get(5, TimeUnit.SECONDS);
+    }
+
+    private BookingService.PendingHold pending() {
+        return new BookingService.PendingHold(new Hold(UUID.randomUUID(),
+                showId, List.of(0), null, "mani"), new SeatMap(1),
+                new int[] {0}, null);
+    }
+}
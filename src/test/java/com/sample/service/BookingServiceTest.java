@@ -0,0 +1,229 @@
+package com.sample.service;
+
+import com.sample.model.Booking;
+import com.sample.model.Hold;
+import com.sample.model.Movie;
+import com.sample.model.Screen;
+import com.sample.model.Show;
+import com.sample.model.Theatre;
+import com.sample.starter.security.exception.BadRequestException;
+import com.sample.starter.security.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@SpringBootTest(properties = {"app.booking.holdTtlMsec=300",
+        "app.booking.holdTickMsec=10"})
+public class BookingServiceTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ATTEMPTS = 200;
+
+    @Autowired
+    protected BookingService bookingService;
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private TheatreService theatreService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    protected JdbcClient jdbcClient;
+
+    protected UUID theatreId;
+
+    protected Show show;
+
+    @BeforeEach
+    void before() {
+        cleanUp();
+        final Theatre theatre = theatreService.create("mani", null,
+                new Theatre(null, "Theatre", null, null, null, null, null));
+        final Movie movie = movieService.create("mani", null,
+                new Movie(null, "Movie", null, LocalDate.now(),
+                        null, null, null, null));
+        final Screen screen = showService.createScreen("mani", theatre.id(),
+                new Screen(null, null, "Screen 1", 4, 10, null, null));
+        theatreId = theatre.id();
+        show = showService.createShow("mani", theatre.id(),
+                new Show(null, movie.id(), screen.id(),
+                        LocalDateTime.now().plusHours(2L), null, null));
+    }
+
+    @AfterEach
+    void after() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        bookingService.delete();
+        showService.delete();
+        theatreService.delete();
+        movieService.delete();
+    }
+
+    @Test
+    void holdConfirmAndRelease() {
+        final Hold hold = bookingService.hold("mani",
+                new Hold(null, show.id(), List.of(0, 1), null, null)).get();
+        Assertions.assertEquals("mani", hold.createdBy());
+        Assertions.assertTrue(bookingService.hold("raj",
+                new Hold(null, show.id(), List.of(1, 2), null, null))
+                .isEmpty(), "Seat 1 is held");
+        Assertions.assertTrue(bookingService.confirm("raj", hold.id())
+                .isEmpty(), "Hold of another user");
+
+        final Booking booking = bookingService.confirm("mani", hold.id())
+                .get();
+        Assertions.assertEquals(List.of(0, 1), booking.seats());
+        Assertions.assertNotNull(booking.createdAt());
+        Assertions.assertTrue(bookingService.confirm("mani", hold.id())
+                .isEmpty(), "Confirmed already");
+        Assertions.assertEquals("SSAAAAAAAA", rows().get(0));
+        Assertions.assertEquals(2, soldSeats());
+
+        final Hold released = bookingService.hold("raj",
+                new Hold(null, show.id(), List.of(2, 3), null, null)).get();
+        Assertions.assertTrue(bookingService.release("raj", released.id()));
+        Assertions.assertFalse(bookingService.release("raj", released.id()));
+        Assertions.assertEquals("SSAAAAAAAA", rows().get(0));
+    }
+
+    @Test
+    void invalidHolds() {
+        Assertions.assertThrows(BadRequestException.class, () ->
+                bookingService.hold("mani", new Hold(null, show.id(),
+                        List.of(), null, null)));
+        Assertions.assertThrows(BadRequestException.class, () ->
+                bookingService.hold("mani", new Hold(null, show.id(),
+                        List.of(40), null, null)));
+        Assertions.assertThrows(BadRequestException.class, () ->
+                bookingService.hold("mani", new Hold(null, show.id(),
+                        List.of(3, 3), null, null)));
+        Assertions.assertThrows(ResourceNotFoundException.class, () ->
+                bookingService.hold("mani", new Hold(null,
+                        UUID.randomUUID(), List.of(3), null, null)));
+        Assertions.assertEquals(40, available());
+    }
+
+    @Test
+    void startedShowsTakeNoHolds() {
+        final Show started = showService.createShow("mani", theatreId,
+                new Show(null, show.movieId(), show.screenId(),
+                        LocalDateTime.now().minusMinutes(1L), null, null));
+        Assertions.assertThrows(BadRequestException.class, () ->
+                bookingService.hold("mani", new Hold(null, started.id(),
+                        List.of(0), null, null)));
+    }
+
+    @Test
+    void holdsExpire() throws InterruptedException {
+        final Hold hold = bookingService.hold("mani",
+                new Hold(null, show.id(), List.of(5), null, null)).get();
+        Assertions.assertEquals(39, available());
+
+        final long deadline = System.currentTimeMillis() + 5_000L;
+        while (available() < 40 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+        Assertions.assertEquals(40, available());
+        Assertions.assertTrue(bookingService.confirm("mani", hold.id())
+                .isEmpty(), "Expired");
+    }
+
+    @Test
+    void noDoubleSells() throws Exception {
+        final Queue<Booking> bookings = new ConcurrentLinkedQueue<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Object>> users = IntStream.range(0, THREADS)
+                    .mapToObj(user -> executor.submit(() -> {
+                        start.await();
+                        book("user" + user, bookings);
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<Object> user : users) {
+                user.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Set<Integer> sold = new HashSet<>();
+        int seats = 0;
+        for (Booking booking : bookings) {
+            sold.addAll(booking.seats());
+            seats += booking.seats().size();
+        }
+        Assertions.assertEquals(seats, sold.size(), "A seat sold twice");
+        Assertions.assertEquals(40 - sold.size(), available());
+        Assertions.assertEquals(sold.size(), soldSeats());
+        Assertions.assertTrue(rows().stream()
+                .noneMatch(row -> row.contains("H")), "Holds left");
+    }
+
+    private void book(final String userName, final Queue<Booking> bookings) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            final int seat = random.nextInt(39);
+            final Optional<Hold> hold = bookingService.hold(userName,
+                    new Hold(null, show.id(), List.of(seat, seat + 1),
+                            null, null));
+            if (hold.isEmpty()) {
+                continue;
+            }
+            if (random.nextInt(4) == 0) {
+                bookingService.release(userName, hold.get().id());
+            } else {
+                bookingService.confirm(userName, hold.get().id())
+                        .ifPresent(bookings::add);
+            }
+        }
+    }
+
+    private int available() {
+        return showService.seats(theatreId, show.id()).get().available();
+    }
+
+    private List<String> rows() {
+        return showService.seats(theatreId, show.id()).get().rows();
+    }
+
+    private long soldSeats() {
+        return jdbcClient.sql("""
+                        SELECT COUNT(*) FROM show_seats
+                        WHERE show_id = ? AND booking_id IS NOT NULL
+                        """)
+                .param(show.id())
+                .query(Long.class).single();
+    }
+}
@@ -0,0 +1,95 @@
+package com.sample.service;
+
+import com.sample.model.Page;
+import com.sample.starter.security.cache.CacheConfig;
+import com.sample.starter.security.config.AppProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class CatalogCacheTest {
+
+    private final UUID id = UUID.randomUUID();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CatalogCache<UUID> cache;
+
+    @BeforeEach
+    void before() {
+        AppProperties appProperties = new AppProperties();
+        AppProperties.CacheSpec spec = new AppProperties.CacheSpec();
+        spec.setWarmupLanguages(List.of("ta"));
+        appProperties.getCache().put(CacheConfig.MOVIES, spec);
+        cache = new CatalogCache<>(new CacheConfig()
+                .cacheManager(appProperties), appProperties,
+                CacheConfig.MOVIES, entity -> entity);
+    }
+
+    @Test
+    void cachesTheWarmupLanguages() {
+        for (int i = 0; i < 2; i++) {
+            cache.read(null, id, loader());
+            cache.read(Locale.forLanguageTag("ta-IN"), id, loader());
+            cache.list(Locale.forLanguageTag("ta"), () -> List.of(id));
+        }
+        Assertions.assertEquals(2, loads.get(), "Loaded once a language");
+
+        cache.evict(id);
+        cache.read(Locale.forLanguageTag("ta"), id, loader());
+        Assertions.assertEquals(3, loads.get(), "Evicted");
+    }
+
+    @Test
+    void readsOtherLanguagesThrough() {
+        for (int i = 0; i < 2; i++) {
+            cache.read(Locale.FRENCH, id, loader());
+            cache.read(Locale.GERMAN, id, loader());
+        }
+        Assertions.assertEquals(4, loads.get(), "Never cached");
+
+        cache.read(null, id, loader());
+        cache.evict(id);
+        cache.read(null, id, loader());
+        Assertions.assertEquals(6, loads.get(), "Evicted");
+    }
+
+    @Test
+    void evictsPagesOnWrites() {
+        final List<Object> query = List.of("title", 20);
+        for (int i = 0; i < 2; i++) {
+            cache.page(null, query, pageLoader());
+        }
+        Assertions.assertEquals(1, loads.get(), "Loaded once");
+
+        cache.evict(id);
+        cache.page(null, query, pageLoader());
+        Assertions.assertEquals(2, loads.get(), "Evicted");
+
+        cache.evictLists();
+        cache.page(null, query, pageLoader());
+        cache.page(null, query, pageLoader());
+        Assertions.assertEquals(3, loads.get(), "Evicted once");
+    }
+
+    private Supplier<Page<UUID>> pageLoader() {
+        return () -> {
+            loads.incrementAndGet();
+            return new Page<>(List.of(id), null);
+        };
+    }
+
+    private Supplier<Optional<UUID>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return Optional.of(id);
+        };
+    }
+}
@@ -1,6 +1,11 @@
 package com.sample.service;
 
+import com.sample.model.BulkResult;
+import com.sample.model.Localization;
+import com.sample.model.LocalizedMovie;
 import com.sample.model.Movie;
+import com.sample.model.Page;
+import com.sample.starter.security.exception.BadRequestException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,8 +15,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @SpringBootTest
@@ -50,7 +59,7 @@ public class MovieServiceTest {
     void create() {
         final Movie event = movieService.create("mani", null,
                 anEvent());
-        Assertions.assertTrue(movieService.read("mani", null, event.id()).isPresent(),
+        Assertions.assertEquals(event, movieService.read("mani", null, event.id()).get(),
                 "Created Movie");
     }
 
@@ -75,6 +84,8 @@ public class MovieServiceTest {
         Movie updatedEvent = movieService
                 .update(newEventId, "mani", null, newEvent);
         Assertions.assertEquals("Movie", updatedEvent.title(), "Updated");
+        Assertions.assertEquals(movieService.read("mani", null, newEventId).get(),
+                updatedEvent, "Updated Movie is not read again");
 
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
             movieService
@@ -108,6 +119,127 @@ public class MovieServiceTest {
 
     }
 
+    @Test
+    void cachedReadsAreEvicted() {
+        final Movie event = movieService.create("mani", null,
+                anEvent());
+        Assertions.assertEquals(1, movieService.list("mani", Locale.FRENCH).size());
+        Assertions.assertEquals(event.releaseDate(), movieService.read("mani",
+                Locale.FRENCH, event.id()).get().releaseDate());
+
+        // Updates without locale are seen in every language
+        final LocalDate releaseDate = event.releaseDate().plusDays(7L);
+        movieService.update(event.id(), "mani", null, new Movie(null,
+                event.title(), event.description(), releaseDate,
+                null, null, null, null));
+        Assertions.assertEquals(releaseDate, movieService.read("mani",
+                Locale.FRENCH, event.id()).get().releaseDate());
+
+        movieService.create("mani", null, anEvent());
+        Assertions.assertEquals(2, movieService.list("mani", Locale.FRENCH).size());
+
+        movieService.delete("mani", event.id());
+        Assertions.assertFalse(movieService.read("mani", Locale.FRENCH,
+                event.id()).isPresent());
+        Assertions.assertEquals(1, movieService.list("mani", Locale.FRENCH).size());
+    }
+
+    @Test
+    void page() {
+        for (int i = 0; i < 5; i++) {
+            movieService.create("mani", null, new Movie(null, "Movie " + i,
+                    "A Movie", LocalDate.now().plusDays(i),
+                    null, null, null, null));
+        }
+        movieService.create("mani", null, anEvent());
+
+        final Set<UUID> seen = new HashSet<>();
+        Page<Movie> page = movieService.page("mani", null, null, null, null,
+                null, 4);
+        seen.addAll(page.content().stream().map(Movie::id).toList());
+        Assertions.assertEquals(4, page.content().size());
+        Assertions.assertNotNull(page.next());
+        page = movieService.page("mani", null, null, null, null,
+                page.next(), 4);
+        seen.addAll(page.content().stream().map(Movie::id).toList());
+        Assertions.assertEquals(2, page.content().size());
+        Assertions.assertNull(page.next());
+        Assertions.assertEquals(6, seen.size());
+
+        Assertions.assertEquals(5, movieService.page("mani", Locale.FRENCH,
+                "Movie", null, null, null, null).content().size());
+        Assertions.assertEquals(2, movieService.page("mani", null,
+                "Movie", LocalDate.now().plusDays(1L),
+                LocalDate.now().plusDays(2L), null, null).content().size());
+
+        // Writes evict the cached pages
+        movieService.create("mani", null, anEvent());
+        Assertions.assertEquals(7, movieService.page("mani", null, null,
+                null, null, null, 10).content().size());
+
+        Assertions.assertThrows(BadRequestException.class, () ->
+                movieService.page("mani", null, null, null, null,
+                        "not a cursor", null));
+    }
+
+    @Test
+    void bulk() {
+        final List<BulkResult<Movie>> created = movieService.create("mani",
+                List.of(new LocalizedMovie(null, STATE_BOARD_IN_ENGLISH,
+                                STATE_BOARD_DESCRIPTION_IN_ENGLISH,
+                                LocalDate.now(),
+                                Map.of("fr", new Localization(
+                                        STATE_BOARD_TITLE_IN_FRENCH,
+                                        STATE_BOARD_DESCRIPTION_IN_FRENCH))),
+                        new LocalizedMovie(null, "No Release Date", null,
+                                null, null),
+                        new LocalizedMovie(null, "Movie", null,
+                                LocalDate.now(), null)));
+        Assertions.assertEquals(3, created.size());
+        Assertions.assertNull(created.get(1).value());
+        Assertions.assertNotNull(created.get(1).error());
+        Assertions.assertEquals(2, movieService.list("mani", null).size());
+
+        final Movie movie = created.get(0).value();
+        Assertions.assertEquals(movie, movieService.read("mani", null,
+                movie.id()).get());
+        Assertions.assertEquals(STATE_BOARD_TITLE_IN_FRENCH, movieService
+                .read("mani", Locale.FRENCH, movie.id()).get().title());
+
+        final List<BulkResult<Movie>> updated = movieService.update("tom",
+                List.of(new LocalizedMovie(movie.id(), "Movie Updated",
+                                null, movie.releaseDate(),
+                                Map.of("fr", new Localization("Film",
+                                        null))),
+                        new LocalizedMovie(UUID.randomUUID(), "Movie",
+                                null, LocalDate.now(), null)));
+        Assertions.assertEquals("Movie Updated",
+                updated.get(0).value().title());
+        Assertions.assertEquals(movie.createdAt(),
+                updated.get(0).value().createdAt());
+        Assertions.assertEquals("tom", updated.get(0).value().modifiedBy());
+        Assertions.assertNotNull(updated.get(1).error());
+        Assertions.assertEquals("Film", movieService
+                .read("mani", Locale.FRENCH, movie.id()).get().title());
+    }
+
+    @Test
+    void export() {
+        final Movie event = movieService.create("mani", null, anEvent());
+        movieService.update(event.id(), "mani", Locale.FRENCH, anEvent(event,
+                STATE_BOARD_TITLE_IN_FRENCH,
+                STATE_BOARD_DESCRIPTION_IN_FRENCH));
+        movieService.create("mani", null, anEvent());
+
+        final List<Movie> exported = new ArrayList<>();
+        movieService.export("mani", Locale.FRENCH, exported::add);
+        Assertions.assertEquals(2, exported.size());
+        Assertions.assertEquals(1, exported.stream()
+                .filter(movie -> STATE_BOARD_TITLE_IN_FRENCH
+                        .equals(movie.title()))
+                .count());
+    }
+
     @Test
     void testLocalizationFromDefaultWithoutLocale() {
         // Create a Movie without locale
@@ -131,9 +263,12 @@ public class MovieServiceTest {
     void testLocalization(Movie event) {
 
         // Update for China Language
-        movieService.update(event.id(), "mani", Locale.FRENCH, anEvent(event,
+        final Movie updatedEvent = movieService.update(event.id(), "mani",
+                Locale.FRENCH, anEvent(event,
                 STATE_BOARD_TITLE_IN_FRENCH,
                 STATE_BOARD_DESCRIPTION_IN_FRENCH));
+        Assertions.assertEquals(movieService.read("mani", Locale.FRENCH,
+                event.id()).get(), updatedEvent);
 
         // Get for french Language
         Movie createEvent = movieService.read("mani", Locale.FRENCH,
@@ -0,0 +1,163 @@
+package com.sample.service;
+
+import com.sample.model.Movie;
+import com.sample.model.ScheduledShow;
+import com.sample.model.Screen;
+import com.sample.model.Show;
+import com.sample.model.Theatre;
+import com.sample.starter.security.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest
+public class ScheduleServiceTest {
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private TheatreService theatreService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @BeforeEach
+    void before() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void after() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        showService.delete();
+        theatreService.delete();
+        movieService.delete();
+    }
+
+    @Test
+    void find() {
+        final LocalDate tomorrow = LocalDate.now().plusDays(1L);
+        final Theatre north = theatre("North");
+        final Theatre south = theatre("South");
+        final Screen northScreen = screen(north);
+        final Screen southScreen = screen(south);
+        final Movie movie = movie("Movie");
+        final Movie other = movie("Other");
+
+        final Show evening = show(north, northScreen, movie, tomorrow, 18);
+        final Show afternoon = show(south, southScreen, movie, tomorrow, 15);
+        final Show noon = show(north, northScreen, other, tomorrow, 12);
+        show(north, northScreen, movie, tomorrow.plusDays(1L), 18);
+
+        // A movie in theatres, in order of start time
+        List<ScheduledShow> shows = scheduleService.find("mani", null,
+                movie.id(), List.of(north.id(), south.id()), tomorrow);
+        Assertions.assertEquals(List.of(afternoon.id(), evening.id()),
+                shows.stream().map(ScheduledShow::showId).toList());
+        Assertions.assertEquals("South", shows.get(0).theatre().title());
+        Assertions.assertEquals("Movie", shows.get(0).movie().title());
+        Assertions.assertEquals(20, shows.get(0).available());
+
+        // A movie anywhere
+        Assertions.assertEquals(2, scheduleService.find("mani", null,
+                movie.id(), List.of(), tomorrow).size());
+
+        // Any movie in a theatre
+        shows = scheduleService.find("mani", null, null,
+                List.of(north.id()), tomorrow);
+        Assertions.assertEquals(List.of(noon.id(), evening.id()),
+                shows.stream().map(ScheduledShow::showId).toList());
+
+        // Cancelled shows leave the index
+        Assertions.assertTrue(showService.cancelShow("mani", south.id(),
+                afternoon.id()));
+        Assertions.assertFalse(showService.cancelShow("mani", south.id(),
+                afternoon.id()), "Cancelled already");
+        Assertions.assertFalse(showService.cancelShow("mani", south.id(),
+                evening.id()), "Show of another theatre");
+        Assertions.assertEquals(List.of(evening.id()), scheduleService
+                .find("mani", null, movie.id(),
+                        List.of(north.id(), south.id()), tomorrow)
+                .stream().map(ScheduledShow::showId).toList());
+        Assertions.assertTrue(showService.seats(south.id(), afternoon.id())
+                .isEmpty());
+
+        // and are not loaded again
+        showService.load();
+        Assertions.assertEquals(1, scheduleService.find("mani", null,
+                movie.id(), List.of(), tomorrow).size());
+
+        Assertions.assertThrows(BadRequestException.class, () ->
+                scheduleService.find("mani", null, null, List.of(),
+                        tomorrow));
+    }
+
+    @Test
+    void startedShows() {
+        final Theatre north = theatre("North");
+        final Screen screen = screen(north);
+        final Movie movie = movie("Movie");
+        final LocalDateTime startedAt = LocalDateTime.now().minusMinutes(1L);
+        final Show started = showService.createShow("mani", north.id(),
+                new Show(null, movie.id(), screen.id(), startedAt, null,
+                        null));
+        final LocalDate tomorrow = LocalDate.now().plusDays(1L);
+        final Show upcoming = show(north, screen, movie, tomorrow, 18);
+
+        // Started shows are left out before they are swept
+        Assertions.assertTrue(showService.inventory(started.id())
+                .isPresent());
+        Assertions.assertTrue(scheduleService.find("mani", null, movie.id(),
+                List.of(), startedAt.toLocalDate()).isEmpty());
+        Assertions.assertTrue(scheduleService.find("mani", null, null,
+                List.of(north.id()), startedAt.toLocalDate()).isEmpty());
+
+        // and swept from the index, as upcoming shows are once started
+        showService.sweep(upcoming.startsAt());
+        Assertions.assertTrue(showService.inventory(started.id()).isEmpty());
+        Assertions.assertTrue(scheduleService.find("mani", null, movie.id(),
+                List.of(), tomorrow).isEmpty());
+        Assertions.assertTrue(scheduleService.find("mani", null, null,
+                List.of(north.id()), tomorrow).isEmpty());
+    }
+
+    private Theatre theatre(final String title) {
+        return theatreService.create("mani", null,
+                new Theatre(null, title, null, null, null, null, null));
+    }
+
+    private Movie movie(final String title) {
+        return movieService.create("mani", null,
+                new Movie(null, title, null, LocalDate.now(),
+                        null, null, null, null));
+    }
+
+    private Screen screen(final Theatre theatre) {
+        return showService.createScreen("mani", theatre.id(),
+                new Screen(null, null, "Screen 1", 2, 10, null, null));
+    }
+
+    private Show show(final Theatre theatre, final Screen screen,
+                      final Movie movie, final LocalDate date,
+                      final int hour) {
+        return showService.createShow("mani", theatre.id(),
+                new Show(null, movie.id(), screen.id(),
+                        date.atTime(LocalTime.of(hour, 0)), null, null));
+    }
+}
@@ -0,0 +1,43 @@
+package com.sample.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class SeatMapTest {
+
+    @Test
+    void holdSellAndRelease() {
+        final SeatMap seatMap = new SeatMap(70);
+        Assertions.assertEquals(70, seatMap.available());
+
+        // Seats across words are held together
+        Assertions.assertTrue(seatMap.hold(1, 31, 32, 69));
+        Assertions.assertEquals(66, seatMap.available());
+        Assertions.assertFalse(seatMap.isAvailable(32));
+
+        // and none are held if any is taken
+        Assertions.assertFalse(seatMap.hold(0, 33, 69));
+        Assertions.assertTrue(seatMap.isAvailable(0));
+        Assertions.assertTrue(seatMap.isAvailable(33));
+
+        Assertions.assertTrue(seatMap.sell(1, 31));
+        Assertions.assertFalse(seatMap.release(1));
+        Assertions.assertTrue(seatMap.release(32, 69));
+        Assertions.assertEquals(68, seatMap.available());
+
+        seatMap.markSold(2);
+        Assertions.assertEquals(List.of("ASSAAAAAAA"),
+                seatMap.rows(10).subList(0, 1));
+    }
+
+    @Test
+    void invalidSeats() {
+        final SeatMap seatMap = new SeatMap(10);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> seatMap.hold(10));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> seatMap.hold(1, 1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.sample.service;
+
+import com.sample.model.Hold;
+import com.sample.model.Screen;
+import com.sample.model.Show;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the booking tests with the bookings of each show applied by its
+ * sequencer.
+ */
+@SpringBootTest(properties = {"app.booking.holdTtlMsec=300",
+        "app.booking.holdTickMsec=10",
+        "app.booking.mode=SEQUENCED",
+        "app.booking.sequencerPartitions=2"})
+public class SequencedBookingServiceTest extends BookingServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ShowService showService;
+
+    @AfterEach
+    void leaveWaitlists() {
+        waitlistService.delete();
+    }
+
+    @Test
+    void failedWritesReleaseToTheWaitlist() throws InterruptedException {
+        final Screen screen = showService.createScreen("mani", theatreId,
+                new Screen(null, null, "Screen 2", 1, 2, null, null));
+        final Show small = showService.createShow("mani", theatreId,
+                new Show(null, show.movieId(), screen.id(),
+                        LocalDateTime.now().plusHours(2L), null, null));
+        final Hold soldOut = bookingService.hold("mani",
+                new Hold(null, small.id(), List.of(0, 1), null, null)).get();
+        final BlockingQueue<Hold> raj = new LinkedBlockingQueue<>();
+        Assertions.assertTrue(waitlistService.join("raj", small.id(), 2,
+                raj::add, () -> { }).isPresent());
+        // a row of seat 0 written behind the back of the seat map fails
+        // the batch that sells it
+        jdbcClient.sql("INSERT INTO show_seats(show_id, seat) VALUES (?, 0)")
+                .param(small.id())
+                .update();
+
+        Assertions.assertThrows(RuntimeException.class, () ->
+                bookingService.confirm("mani", soldOut.id()));
+        final Hold offer = raj.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(offer, "Released seats offered");
+        Assertions.assertEquals(List.of(0, 1), offer.seats());
+    }
+}
@@ -0,0 +1,111 @@
+package com.sample.service;
+
+import com.sample.model.Movie;
+import com.sample.model.Screen;
+import com.sample.model.SeatAvailability;
+import com.sample.model.Show;
+import com.sample.model.Theatre;
+import com.sample.starter.security.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@SpringBootTest
+public class ShowServiceTest {
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private TheatreService theatreService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @BeforeEach
+    void before() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void after() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        showService.delete();
+        theatreService.delete();
+        movieService.delete();
+    }
+
+    @Test
+    void seats() {
+        final Theatre theatre = theatreService.create("mani", null,
+                new Theatre(null, "Theatre", null, null, null, null, null));
+        final Movie movie = movieService.create("mani", null,
+                new Movie(null, "Movie", null, LocalDate.now(),
+                        null, null, null, null));
+        final Screen screen = showService.createScreen("mani", theatre.id(),
+                new Screen(null, null, "Screen 1", 4, 10, null, null));
+        final Show show = showService.createShow("mani", theatre.id(),
+                new Show(null, movie.id(), screen.id(),
+                        LocalDateTime.now().plusHours(2L), null, null));
+
+        SeatAvailability seats = showService.seats(theatre.id(), show.id())
+                .get();
+        Assertions.assertEquals(40, seats.available());
+        Assertions.assertEquals(4, seats.rows().size());
+
+        showService.inventory(show.id()).get().seats().hold(11, 12);
+        seats = showService.seats(theatre.id(), show.id()).get();
+        Assertions.assertEquals(38, seats.available());
+        Assertions.assertEquals("AHHAAAAAAA", seats.rows().get(1));
+
+        Assertions.assertTrue(showService.seats(UUID.randomUUID(), show.id())
+                .isEmpty(), "Show of another theatre");
+    }
+
+    @Test
+    void sweepsStartedShows() {
+        final Theatre theatre = theatreService.create("mani", null,
+                new Theatre(null, "Theatre", null, null, null, null, null));
+        final Movie movie = movieService.create("mani", null,
+                new Movie(null, "Movie", null, LocalDate.now(),
+                        null, null, null, null));
+        final Screen screen = showService.createScreen("mani", theatre.id(),
+                new Screen(null, null, "Screen 1", 4, 10, null, null));
+        final LocalDateTime startsAt = LocalDateTime.now().plusHours(2L);
+        final Show show = showService.createShow("mani", theatre.id(),
+                new Show(null, movie.id(), screen.id(), startsAt, null, null));
+
+        showService.sweep(startsAt.minusMinutes(1L));
+        Assertions.assertTrue(showService.inventory(show.id()).isPresent(),
+                "Not started yet");
+        showService.sweep(startsAt);
+        Assertions.assertTrue(showService.inventory(show.id()).isEmpty(),
+                "Started");
+        Assertions.assertTrue(showService.seats(theatre.id(), show.id())
+                .isEmpty());
+    }
+
+    @Test
+    void invalidShows() {
+        final Theatre theatre = theatreService.create("mani", null,
+                new Theatre(null, "Theatre", null, null, null, null, null));
+        Assertions.assertThrows(BadRequestException.class, () ->
+                showService.createScreen("mani", theatre.id(),
+                        new Screen(null, null, "Screen 1", 0, 10,
+                                null, null)));
+        Assertions.assertThrows(BadRequestException.class, () ->
+                showService.createShow("mani", theatre.id(),
+                        new Show(null, UUID.randomUUID(), UUID.randomUUID(),
+                                LocalDateTime.now(), null, null)));
+    }
+}
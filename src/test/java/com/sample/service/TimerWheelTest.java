@@ -0,0 +1,35 @@
+package com.sample.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TimerWheelTest {
+
+    @Test
+    void expiresAndCancels() throws InterruptedException {
+        try (TimerWheel wheel = new TimerWheel("test-wheel", 10, 4)) {
+            final CountDownLatch expired = new CountDownLatch(2);
+            final AtomicInteger cancelledRuns = new AtomicInteger();
+
+            // Beyond one turn of the wheel as well as within it
+            final TimerWheel.Timeout soon =
+                    wheel.schedule(expired::countDown, 20);
+            final TimerWheel.Timeout late =
+                    wheel.schedule(expired::countDown, 100);
+            final TimerWheel.Timeout cancelled =
+                    wheel.schedule(cancelledRuns::incrementAndGet, 50);
+            Assertions.assertTrue(cancelled.cancel());
+
+            Assertions.assertTrue(expired.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(soon.isExpired());
+            Assertions.assertTrue(late.isExpired());
+            Assertions.assertFalse(late.cancel(), "Expired already");
+            Assertions.assertFalse(cancelled.isExpired());
+            Assertions.assertEquals(0, cancelledRuns.get());
+        }
+    }
+}
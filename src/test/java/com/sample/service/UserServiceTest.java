@@ -1,6 +1,7 @@
 package com.sample.service;
 
 import com.sample.model.User;
+import com.sample.model.UserProfile;
 import com.sample.starter.security.payload.SignupRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.LocalDate;
+
 @SpringBootTest
 class UserServiceTest {
     private static final String HANDLE = "tom";
@@ -17,6 +20,9 @@ class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserProfileService userProfileService;
+
     @BeforeEach
     void before()  {
         cleanup();
@@ -40,6 +46,19 @@ class UserServiceTest {
         Assertions.assertTrue(userService.readByEmail(EMAIL).isPresent());
     }
 
+    @Test
+    void testSignUpWithProfile()  {
+        UserProfile userProfile = new UserProfile(HANDLE, "Tom", "Hanks",
+                LocalDate.of(1956, 7, 9));
+        userService.signUp(aSignupRequest(),
+                s -> String.valueOf(new StringBuilder(s).reverse()),
+                userProfile);
+
+        Assertions.assertTrue(userService.read(HANDLE).isPresent());
+        Assertions.assertEquals(userProfile,
+                userProfileService.read(HANDLE).orElseThrow());
+    }
+
     @Test
     void testEmptyReads()  {
         Assertions.assertFalse(userService.read(HANDLE).isPresent());
@@ -0,0 +1,154 @@
+package com.sample.service;
+
+import com.sample.model.Hold;
+import com.sample.model.Movie;
+import com.sample.model.Screen;
+import com.sample.model.Show;
+import com.sample.model.Theatre;
+import com.sample.starter.security.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = "app.booking.waitlistCapacity=3")
+public class WaitlistServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private TheatreService theatreService;
+
+    @Autowired
+    private MovieService movieService;
+
+    private Theatre theatre;
+
+    private Show show;
+
+    @BeforeEach
+    void before() {
+        cleanUp();
+        theatre = theatreService.create("mani", null,
+                new Theatre(null, "Theatre", null, null, null, null, null));
+        final Movie movie = movieService.create("mani", null,
+                new Movie(null, "Movie", null, LocalDate.now(),
+                        null, null, null, null));
+        final Screen screen = showService.createScreen("mani", theatre.id(),
+                new Screen(null, null, "Screen 1", 1, 4, null, null));
+        show = showService.createShow("mani", theatre.id(),
+                new Show(null, movie.id(), screen.id(),
+                        LocalDateTime.now().plusHours(2L), null, null));
+    }
+
+    @AfterEach
+    void after() {
+        cleanUp();
+    }
+
+    private void cleanUp() {
+        waitlistService.delete();
+        bookingService.delete();
+        showService.delete();
+        theatreService.delete();
+        movieService.delete();
+    }
+
+    @Test
+    void offersInArrivalOrder() throws InterruptedException {
+        Assertions.assertThrows(BadRequestException.class, () ->
+                waitlistService.join("raj", show.id(), 2, hold -> { },
+                        () -> { }),
+                "Seats are available");
+        final Hold soldOut = bookingService.hold("mani",
+                new Hold(null, show.id(), List.of(0, 1, 2, 3), null, null))
+                .get();
+
+        final BlockingQueue<Hold> raj = new LinkedBlockingQueue<>();
+        final BlockingQueue<Hold> ravi = new LinkedBlockingQueue<>();
+        final BlockingQueue<Hold> ram = new LinkedBlockingQueue<>();
+        Assertions.assertTrue(waitlistService.join("raj", show.id(), 3,
+                raj::add, () -> { }).isPresent());
+        Assertions.assertTrue(waitlistService.join("ravi", show.id(), 1,
+                ravi::add, () -> { }).isPresent());
+        final WaitlistService.Waiter left = waitlistService.join("ram",
+                show.id(), 1, ram::add, () -> { }).get();
+        Assertions.assertTrue(waitlistService.join("sam", show.id(), 1,
+                hold -> { }, () -> { }).isEmpty(), "Waitlist is full");
+        waitlistService.leave(left);
+
+        Assertions.assertTrue(bookingService.release("mani", soldOut.id()));
+        final Hold rajHold = raj.poll(5, TimeUnit.SECONDS);
+        final Hold raviHold = ravi.poll(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(List.of(0, 1, 2), rajHold.seats());
+        Assertions.assertEquals(List.of(3), raviHold.seats());
+        Assertions.assertNull(ram.poll(100, TimeUnit.MILLISECONDS),
+                "Left the waitlist");
+
+        Assertions.assertTrue(bookingService.confirm("raj", rajHold.id())
+                .isPresent());
+    }
+
+    @Test
+    void undeliveredOffersMoveOn() throws InterruptedException {
+        final Hold soldOut = bookingService.hold("mani",
+                new Hold(null, show.id(), List.of(0, 1, 2, 3), null, null))
+                .get();
+        final BlockingQueue<Hold> ravi = new LinkedBlockingQueue<>();
+        waitlistService.join("raj", show.id(), 2, hold -> {
+            throw new IllegalStateException("Gone");
+        }, () -> { });
+        waitlistService.join("ravi", show.id(), 4, ravi::add, () -> { });
+
+        Assertions.assertTrue(bookingService.release("mani", soldOut.id()));
+        Assertions.assertEquals(List.of(0, 1, 2, 3),
+                ravi.poll(5, TimeUnit.SECONDS).seats().stream()
+                        .sorted().toList());
+    }
+
+    @Test
+    void cancelledShowsCloseTheirWaitlist() throws InterruptedException {
+        bookingService.hold("mani",
+                new Hold(null, show.id(), List.of(0, 1, 2, 3), null, null));
+        final CountDownLatch closed = new CountDownLatch(2);
+        final BlockingQueue<Hold> raj = new LinkedBlockingQueue<>();
+        waitlistService.join("raj", show.id(), 2, raj::add,
+                closed::countDown);
+        waitlistService.join("ravi", show.id(), 1, hold -> { },
+                closed::countDown);
+
+        Assertions.assertTrue(showService.cancelShow("mani", theatre.id(),
+                show.id()));
+        Assertions.assertTrue(closed.await(5, TimeUnit.SECONDS));
+        Assertions.assertNull(raj.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void startedShowsCloseTheirWaitlist() throws InterruptedException {
+        bookingService.hold("mani",
+                new Hold(null, show.id(), List.of(0, 1, 2, 3), null, null));
+        final CountDownLatch closed = new CountDownLatch(1);
+        waitlistService.join("raj", show.id(), 2, hold -> { },
+                closed::countDown);
+
+        showService.sweep(show.startsAt());
+        Assertions.assertTrue(closed.await(5, TimeUnit.SECONDS));
+    }
+}
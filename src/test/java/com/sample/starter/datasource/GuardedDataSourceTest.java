@@ -0,0 +1,62 @@
+package com.sample.starter.datasource;
+
+import com.sample.starter.metrics.InstrumentedDataSource;
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.exception.ConnectionsExhaustedException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "app.datasource.maxConcurrentConnections=2",
+        "app.datasource.acquireTimeoutMsec=50"})
+class GuardedDataSourceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void guardsConnections() throws SQLException {
+        final GuardedDataSource guarded =
+                dataSource.unwrap(GuardedDataSource.class);
+
+        final Connection first = guarded.getConnection();
+        try (Connection second = guarded.getConnection()) {
+            Assertions.assertTrue(second.isValid(1));
+            Assertions.assertEquals(0, guarded.availablePermits());
+            Assertions.assertThrows(ConnectionsExhaustedException.class,
+                    guarded::getConnection);
+        }
+
+        // Closing twice gives back one permit only
+        first.close();
+        first.close();
+        Assertions.assertEquals(2, guarded.availablePermits());
+    }
+
+    @Test
+    void wrapsTheGuardInTheMetrics() throws SQLException {
+        Assertions.assertInstanceOf(InstrumentedDataSource.class, dataSource,
+                "Waiting for the guard is timed");
+        Assertions.assertTrue(dataSource.isWrapperFor(
+                GuardedDataSource.class));
+    }
+
+    @Test
+    void sizesTheGuardByTheWrappedPool() throws SQLException {
+        final int poolSize = dataSource.unwrap(HikariDataSource.class)
+                .getMaximumPoolSize();
+
+        Assertions.assertEquals(poolSize, DataSourceGuard.maxConnections(
+                new DelegatingDataSource(dataSource),
+                new AppProperties.Datasource()));
+    }
+}
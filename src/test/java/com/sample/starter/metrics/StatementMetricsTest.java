@@ -0,0 +1,149 @@
+package com.sample.starter.metrics;
+
+import com.sample.starter.security.config.AppProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest
+@ExtendWith(OutputCaptureExtension.class)
+class StatementMetricsTest {
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AppProperties appProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        jdbcClient.sql("DELETE FROM movies WHERE created_by = 'someone'")
+                .update();
+    }
+
+    @Test
+    void metersEachStatement() {
+        UUID id = UUID.randomUUID();
+        jdbcClient.sql("""
+                        INSERT INTO movies(id, title, release_date,
+                        description, created_by)
+                        VALUES (?, ?, ?, ?, ?)
+                        """)
+                .params(id, "Dune", LocalDate.now(), "Arrakis", "someone")
+                .update();
+        List<String> titles = jdbcClient.sql("""
+                        SELECT COALESCE(el.title, e.title) AS title
+                        FROM movies e
+                        LEFT JOIN movies_localized el
+                            ON el.movie_id = e.id AND el.locale = 'ta'
+                        WHERE e.id = ?
+                        """)
+                .param(id)
+                .query(String.class).list();
+        Assertions.assertEquals(List.of("Dune"), titles);
+
+        String select = "SELECT COALESCE(el.title, e.title) AS title "
+                + "FROM movies e LEFT JOIN movies_localized el "
+                + "ON el.movie_id = e.id AND el.locale = ? WHERE e.id = ?";
+        Assertions.assertNotNull(meterRegistry
+                .find(StatementMetrics.NAME + ".info")
+                .tag("statement", StatementMetrics.id(select))
+                .tag("sql", select)
+                .gauge(), "Fingerprint of the id");
+        Timer localized = meterRegistry.get(StatementMetrics.NAME)
+                .tag("statement", StatementMetrics.id(select))
+                .timer();
+        Assertions.assertEquals(1, localized.count());
+        DistributionSummary rows = meterRegistry
+                .get(StatementMetrics.NAME + ".rows")
+                .tags(localized.getId().getTags())
+                .summary();
+        Assertions.assertEquals(0, rows.count(), "Rows read not counted");
+        Assertions.assertEquals(1, meterRegistry
+                .get(StatementMetrics.NAME + ".fetch.size")
+                .tags(localized.getId().getTags())
+                .summary().count(), "Fetch size");
+
+        DistributionSummary inserted = meterRegistry
+                .get(StatementMetrics.NAME + ".rows")
+                .tag("statement", StatementMetrics.id("INSERT INTO "
+                        + "movies(id, title, release_date, description, "
+                        + "created_by) VALUES (?)"))
+                .summary();
+        Assertions.assertTrue(inserted.totalAmount() >= 1, "Rows written");
+    }
+
+    @Test
+    void logsTheParametersOfEachExecution(final CapturedOutput output)
+            throws Exception {
+        AppProperties.Datasource datasource = appProperties.getDatasource();
+        long slowStatementMsec = datasource.getSlowStatementMsec();
+        datasource.setSlowStatementMsec(1L);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT CAST(? AS VARCHAR(40))")) {
+            Assertions.assertSame(connection, statement.getConnection(),
+                    "Released as the transaction holds it");
+            statement.setString(1, "secret");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assertions.assertTrue(resultSet.next());
+            }
+            Thread.sleep(20L);
+            // the slow execution ends as the next one is bound, and is
+            // recorded with the parameters it was bound
+            statement.setObject(1, UUID.randomUUID());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assertions.assertTrue(resultSet.next());
+            }
+        } finally {
+            datasource.setSlowStatementMsec(slowStatementMsec);
+        }
+        Assertions.assertTrue(output.getAll()
+                        .contains("SELECT CAST(? AS VARCHAR(?)) [String(6)]"),
+                "Logged with its own parameters");
+    }
+
+    @Test
+    void fingerprint() {
+        Assertions.assertEquals(
+                "SELECT * FROM movies WHERE id IN (?) AND title = ? "
+                        + "AND v2 > ? LIMIT ?",
+                StatementMetrics.fingerprint("""
+                        SELECT * FROM movies
+                        WHERE id IN (?, ?,?) AND title = 'it''s'
+                        AND v2 > 1.5 LIMIT 20
+                        """));
+    }
+
+    @Test
+    void redact() {
+        Assertions.assertEquals("[UUID, String(6), null, LocalDate]",
+                StatementMetrics.redact(Arrays.asList(UUID.randomUUID(),
+                        "secret", null, LocalDate.now())));
+        Assertions.assertEquals("[]", StatementMetrics.redact(List.of()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.sample.starter.metrics.controller;
+
+import com.sample.model.LocalizedMovie;
+import com.sample.service.MovieService;
+import com.sample.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.EndpointId;
+import org.springframework.boot.actuate.endpoint.web.PathMappedEndpoints;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsAPIControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PathMappedEndpoints pathMappedEndpoints;
+
+    @AfterEach
+    void tearDown() {
+        movieService.delete();
+    }
+
+    @Test
+    void scrape() {
+        userService.readByEmail("nobody@email.com");
+        webTestClient.get().uri("/api/movies").exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNAUTHORIZED.value());
+
+        String metrics = webTestClient.get().uri("/api/metrics").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/plain")
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        Assertions.assertNotNull(metrics);
+        Assertions.assertTrue(metrics.contains(
+                "service_jdbc_seconds_count{method=\"readByEmail\","
+                        + "service=\"UserService\",}"), "JDBC by method");
+        Assertions.assertTrue(metrics.contains(
+                "http_server_requests_seconds_bucket{"), "Endpoint latency");
+        Assertions.assertTrue(metrics.contains(
+                "cache_hit_ratio{cache=\"principals\",}"), "Cache hit ratio");
+        Assertions.assertTrue(metrics.contains(
+                "auth_token_store_size{type=\"ACCESS\",}"), "Token store");
+        Assertions.assertTrue(metrics.contains(
+                "hikaricp_connections_active"), "Connection pool");
+        Assertions.assertTrue(metrics.contains(
+                "jdbc_statement_seconds{"), "Statement latency");
+    }
+
+    @Test
+    void timesTransactionalMethods() {
+        long count = serviceJdbcCount("MovieService", "create");
+        movieService.create("mani", List.of(new LocalizedMovie(null,
+                "Movie", null, LocalDate.now(), null)));
+
+        // the connection of the transaction is held within the method
+        Assertions.assertEquals(count + 1,
+                serviceJdbcCount("MovieService", "create"),
+                "Timed on its own method");
+    }
+
+    @Test
+    void actuatorServesHealthAlone() {
+        Assertions.assertNotNull(pathMappedEndpoints.getEndpoint(
+                EndpointId.of("health")));
+        Assertions.assertNull(pathMappedEndpoints.getEndpoint(
+                EndpointId.of("caches")), "Caches not flushed on the web");
+        Assertions.assertNull(pathMappedEndpoints.getEndpoint(
+                EndpointId.of("metrics")), "Metrics on /api/metrics");
+    }
+
+    private long serviceJdbcCount(final String service,
+                                  final String method) {
+        Timer timer = meterRegistry.find("service.jdbc")
+                .tag("service", service)
+                .tag("method", method)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,43 @@
+package com.sample.starter.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sample.starter.security.config.AppProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+
+class CacheConfigTest {
+
+    @Test
+    void testCacheSpecs() {
+        AppProperties appProperties = new AppProperties();
+        AppProperties.CacheSpec spec = new AppProperties.CacheSpec();
+        spec.setMaximumSize(10);
+        spec.setExpireAfterWriteMsec(60_000);
+        appProperties.getCache().put(CacheConfig.MOVIES, spec);
+
+        CacheManager cacheManager = new CacheConfig()
+                .cacheManager(appProperties);
+
+        Cache<Object, Object> movies = nativeCache(cacheManager,
+                CacheConfig.MOVIES);
+        Assertions.assertEquals(10, movies.policy().eviction()
+                .orElseThrow().getMaximum());
+        Assertions.assertEquals(Duration.ofMinutes(1), movies.policy()
+                .expireAfterWrite().orElseThrow().getExpiresAfter());
+        Assertions.assertTrue(movies.policy().isRecordingStats());
+
+        // Caches without a spec are still bounded
+        Cache<Object, Object> tags = nativeCache(cacheManager,
+                CacheConfig.TAGS);
+        Assertions.assertTrue(tags.policy().eviction().isPresent());
+    }
+
+    private Cache<Object, Object> nativeCache(final CacheManager cacheManager,
+                                              final String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -0,0 +1,95 @@
+package com.sample.starter.security.cache;
+
+import com.sample.starter.security.config.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+class TokenStoreTest {
+
+    private MutableClock clock;
+
+    private TokenStore tokenStore;
+
+    @BeforeEach
+    void before() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAuth().setTokenExpirationMsec(1_000);
+        appProperties.getAuth().setRefreshTokenExpirationMsec(5_000);
+        clock = new MutableClock();
+        tokenStore = new TokenStore(appProperties, clock);
+    }
+
+    @AfterEach
+    void after() {
+        tokenStore.shutdown();
+    }
+
+    @Test
+    void testNamespaces() {
+        tokenStore.put(TokenType.ACCESS, "token", "jwt");
+        tokenStore.put(TokenType.REFRESH, "token", "access");
+
+        Assertions.assertEquals("jwt", tokenStore.get(TokenType.ACCESS, "token"));
+        Assertions.assertEquals("access",
+                tokenStore.get(TokenType.REFRESH, "token"));
+        Assertions.assertNull(tokenStore.get(TokenType.WELCOME, "token"));
+
+        tokenStore.remove(TokenType.ACCESS, "token");
+        Assertions.assertNull(tokenStore.get(TokenType.ACCESS, "token"));
+        Assertions.assertEquals(1, tokenStore.size());
+    }
+
+    @Test
+    void testExpiry() {
+        tokenStore.put(TokenType.WELCOME, "welcome", "tom@email.com");
+        tokenStore.put(TokenType.ACCESS, "access", "jwt");
+
+        clock.advance(1_000);
+        Assertions.assertNull(tokenStore.get(TokenType.WELCOME, "welcome"));
+        // Access tokens live on till they can no longer be refreshed
+        Assertions.assertEquals("jwt", tokenStore.get(TokenType.ACCESS,
+                "access"));
+        Assertions.assertEquals(1, tokenStore.getEvictionCount());
+
+        clock.advance(4_000);
+        tokenStore.sweep();
+        Assertions.assertEquals(0, tokenStore.size());
+        Assertions.assertEquals(2, tokenStore.getEvictionCount());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = System.currentTimeMillis();
+
+        void advance(final long duration) {
+            millis += duration;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sample.starter.security.cache;
+
+import com.sample.event.UserChangedEvent;
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.config.UserPrincipal;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class UserPrincipalCacheTest {
+
+    private static final String EMAIL = "tom@email.com";
+
+    private UserPrincipalCache principalCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void before() {
+        principalCache = new UserPrincipalCache(new CacheConfig()
+                .cacheManager(new AppProperties()));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testHitsAfterFirstLoad() {
+        UserPrincipal first = principalCache.get(EMAIL, this::aPrincipal);
+        UserPrincipal second = principalCache.get(EMAIL, this::aPrincipal);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, principalCache.getMissCount());
+        Assertions.assertEquals(1, principalCache.getHitCount());
+    }
+
+    @Test
+    void testEvictionOnUserChange() {
+        principalCache.get(EMAIL, this::aPrincipal);
+        principalCache.get("jerry@email.com", this::aPrincipal);
+
+        principalCache.onUserChanged(new UserChangedEvent("tom"));
+
+        Assertions.assertEquals(1, principalCache.size());
+        principalCache.get(EMAIL, this::aPrincipal);
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    private UserPrincipal aPrincipal(final String email) {
+        loads.incrementAndGet();
+        return new UserPrincipal(email, email.split("@")[0], "password",
+                null, false, List.of());
+    }
+}
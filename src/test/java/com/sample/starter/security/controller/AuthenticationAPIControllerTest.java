@@ -2,11 +2,16 @@ package com.sample.starter.security.controller;
 
 
 import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.oauth2.RedirectPolicy;
 import com.sample.starter.security.payload.AuthenticationRequest;
 import com.sample.starter.security.payload.AuthenticationResponse;
 import com.sample.starter.security.payload.RefreshToken;
 import com.sample.starter.security.payload.RegistrationRequest;
+import com.sample.starter.security.service.LoginService;
 import com.sample.service.UserService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,18 +22,27 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.reactive.server.StatusAssertions;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.ObjectUtils;
+import org.springframework.context.ApplicationContext;
 import reactor.core.publisher.Mono;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
-@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+        properties = "spring.jmx.enabled=true")
 class AuthenticationAPIControllerTest {
     @Value(value = "${local.server.port}")
     private int port;
@@ -44,6 +58,18 @@ class AuthenticationAPIControllerTest {
     @Autowired
     private AppProperties appProperties;
 
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private RedirectPolicy redirectPolicy;
+
+    @Autowired
+    private MBeanServer mBeanServer;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
     AuthenticationAPIControllerTest() {
         this.signupRequest = new AuthenticationRequest(
                 "tom@email.com",
@@ -183,6 +209,101 @@ class AuthenticationAPIControllerTest {
 
     }
 
+    @Test
+    void testFirstLoginAndWrongPassword() {
+        userService.delete();
+        AuthenticationResponse firstLogin = login(new AuthenticationRequest(
+                this.signupRequest.getUserName(),
+                this.signupRequest.getPassword()));
+        Assertions.assertNull(firstLogin.getAuthToken());
+        Assertions.assertNotNull(firstLogin.getRegistrationToken());
+        Assertions.assertEquals("/images/tom.png",
+                firstLogin.getProfilePicture());
+
+        Assertions.assertThrows(BadCredentialsException.class,
+                () -> loginService.login(new AuthenticationRequest(
+                        this.signupRequest.getUserName(), "wrong")));
+    }
+
+    @Test
+    void testRotateTokenSecret() throws JMException {
+        String tokenSecret = appProperties.getAuth().getTokenSecret();
+        AuthenticationResponse authenticationResponse =
+                register(signupRequest, login(signupRequest));
+        try {
+            rotateTokenSecret(Encoders.BASE64.encode(Keys
+                    .secretKeyFor(SignatureAlgorithm.HS256).getEncoded()));
+            // Signed with the previous secret
+            getMe(authenticationResponse).isOk();
+
+            Assertions.assertThrows(ReflectionException.class,
+                    () -> rotateTokenSecret("c2hvcnQ="));
+            getMe(authenticationResponse).isOk();
+
+            rotateTokenSecret(Encoders.BASE64.encode(Keys
+                    .secretKeyFor(SignatureAlgorithm.HS256).getEncoded()));
+            getMe(authenticationResponse)
+                    .isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        } finally {
+            rotateTokenSecret(tokenSecret);
+        }
+        webTestClient.post()
+                .uri("/actuator/tokensecret")
+                .header("Authorization",
+                        "Bearer " + authenticationResponse.getAuthToken())
+                .exchange()
+                .expectStatus().is4xxClientError();
+    }
+
+    @Test
+    void testAuthorizeRedirectUris() throws JMException {
+        List<String> redirectUris = List.copyOf(
+                appProperties.getOauth2().getAuthorizedRedirectUris());
+        String redirectUri = "https://new.example.com/welcome";
+        Assertions.assertFalse(redirectPolicy.isAuthorized(redirectUri));
+        try {
+            authorizeRedirectUris(List.of(redirectUri));
+            Assertions.assertTrue(redirectPolicy.isAuthorized(redirectUri));
+            Assertions.assertFalse(redirectPolicy
+                    .isAuthorized(redirectUris.get(0)));
+            Assertions.assertEquals(List.of(redirectUri),
+                    mBeanServer.invoke(endpoint("Redirecturis"),
+                            "redirectUris", new Object[0], new String[0]));
+        } finally {
+            authorizeRedirectUris(redirectUris);
+        }
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized(redirectUris.get(0)));
+        webTestClient.get()
+                .uri("/actuator/redirecturis")
+                .exchange()
+                .expectStatus().is4xxClientError();
+    }
+
+    private void rotateTokenSecret(final String tokenSecret)
+            throws JMException {
+        mBeanServer.invoke(endpoint("Tokensecret"), "rotate",
+                new Object[] {tokenSecret},
+                new String[] {String.class.getName()});
+    }
+
+    private void authorizeRedirectUris(final List<String> redirectUris)
+            throws JMException {
+        mBeanServer.invoke(endpoint("Redirecturis"), "authorize",
+                new Object[] {redirectUris},
+                new String[] {List.class.getName()});
+    }
+
+    private ObjectName endpoint(final String name) throws JMException {
+        // Named apart from the endpoints of other contexts when they came
+        // first
+        String base = "org.springframework.boot:type=Endpoint,name=" + name;
+        ObjectName objectName = new ObjectName(base + ",context="
+                + ObjectUtils.getIdentityHexString(applicationContext));
+        return mBeanServer.isRegistered(objectName) ? objectName
+                : new ObjectName(base);
+    }
+
     private AuthenticationResponse login(final AuthenticationRequest authenticationRequest) {
         AuthenticationResponse authenticationResponse = this.webTestClient
                 .post()
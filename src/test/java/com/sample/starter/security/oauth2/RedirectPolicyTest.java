@@ -0,0 +1,100 @@
+package com.sample.starter.security.oauth2;
+
+import com.sample.starter.security.config.AppProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RedirectPolicyTest {
+
+    private AppProperties appProperties;
+
+    private RedirectPolicy redirectPolicy;
+
+    @BeforeEach
+    void before() {
+        appProperties = new AppProperties();
+        appProperties.getOauth2().authorizedRedirectUris(new ArrayList<>(
+                List.of("http://localhost:3000/welcome",
+                        "https://Example.com/welcome",
+                        "myandroidapp://oauth/redirect",
+                        "myiosapp://",
+                        "not a uri")));
+        redirectPolicy = new RedirectPolicy(appProperties);
+    }
+
+    @Test
+    void testWeb() {
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized("http://localhost:3000/other?from=login"));
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized("https://example.COM:443"));
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized("https://example.com#welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://localhost:3001/welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://localhost/welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("https://example.com.evil.io/welcome"));
+    }
+
+    @Test
+    void testSchemes() {
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized("myandroidapp://oauth/redirect"));
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized("myandroidapp://oauth/other"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("myandroidapp://evil/redirect"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://oauth/redirect"));
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized("myiosapp://anything/redirect"));
+        Assertions.assertTrue(redirectPolicy.isAuthorized("myiosapp://"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("otherapp://oauth/redirect"));
+    }
+
+    @Test
+    void testMalformed() {
+        Assertions.assertFalse(redirectPolicy.isAuthorized(null));
+        Assertions.assertFalse(redirectPolicy.isAuthorized(""));
+        Assertions.assertFalse(redirectPolicy.isAuthorized("not a uri"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("//localhost:3000/welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("javascript:alert(1)//localhost:3000"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://evil.io\\@localhost:3000/welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://user@localhost:3000/welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://localhost:99999/welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://localhost:3000x/welcome"));
+    }
+
+    @Test
+    void testAuthorize() {
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("https://new.example.com/welcome"));
+
+        // Changes to the bound entries are not compiled
+        appProperties.getOauth2().getAuthorizedRedirectUris()
+                .add("https://new.example.com");
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("https://new.example.com/welcome"));
+
+        redirectPolicy.authorize(List.of("http://[::1]:3000/welcome"));
+        Assertions.assertFalse(redirectPolicy
+                .isAuthorized("http://localhost:3000/welcome"));
+        Assertions.assertTrue(redirectPolicy
+                .isAuthorized("http://[::1]:3000/other"));
+        Assertions.assertEquals(List.of("http://[::1]:3000/welcome"),
+                appProperties.getOauth2().getAuthorizedRedirectUris());
+    }
+}
@@ -0,0 +1,146 @@
+package com.sample.starter.security.oauth2.util;
+
+import com.sample.starter.security.config.AppProperties;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+class AuthorizationRequestCodecTest {
+
+    private AppProperties appProperties;
+
+    private MutableClock clock;
+
+    private AuthorizationRequestCodec codec;
+
+    @BeforeEach
+    void before() {
+        appProperties = new AppProperties();
+        appProperties.getAuth().setTokenSecret(Encoders.BASE64
+                .encode(Keys.secretKeyFor(SignatureAlgorithm.HS256)
+                        .getEncoded()));
+        clock = new MutableClock(Instant.now());
+        codec = new AuthorizationRequestCodec(appProperties,
+                Duration.ofSeconds(180), clock);
+    }
+
+    @Test
+    void testRoundTrip() {
+        OAuth2AuthorizationRequest request = aRequest();
+        OAuth2AuthorizationRequest decoded =
+                codec.decode(codec.encode(request));
+
+        Assertions.assertEquals(request.getAuthorizationUri(),
+                decoded.getAuthorizationUri());
+        Assertions.assertEquals(request.getClientId(), decoded.getClientId());
+        Assertions.assertEquals(request.getRedirectUri(),
+                decoded.getRedirectUri());
+        Assertions.assertEquals(request.getState(), decoded.getState());
+        Assertions.assertEquals(request.getScopes(), decoded.getScopes());
+        Assertions.assertEquals(request.getAdditionalParameters(),
+                decoded.getAdditionalParameters());
+        Assertions.assertEquals(request.getAttributes(),
+                decoded.getAttributes());
+        Assertions.assertEquals(request.getAuthorizationRequestUri(),
+                decoded.getAuthorizationRequestUri());
+    }
+
+    @Test
+    void testCompressed() {
+        String uncompressed = codec.encode(aRequest());
+        appProperties.getOauth2().setCompressAuthorizationRequest(true);
+        String compressed = codec.encode(aRequest());
+
+        Assertions.assertTrue(compressed.length() < uncompressed.length());
+        Assertions.assertEquals("state",
+                codec.decode(compressed).getState());
+    }
+
+    @Test
+    void testTampered() {
+        byte[] signed = Base64.getUrlDecoder()
+                .decode(codec.encode(aRequest()));
+        signed[signed.length / 2] ^= 1;
+
+        Assertions.assertNull(codec.decode(Base64.getUrlEncoder()
+                .withoutPadding().encodeToString(signed)));
+        Assertions.assertNull(codec.decode("not a cookie"));
+        Assertions.assertNull(codec.decode(""));
+        Assertions.assertNull(codec.decode(
+                "A".repeat(AuthorizationRequestCodec.MAX_COOKIE_LENGTH + 1)));
+    }
+
+    @Test
+    void testOtherSecret() {
+        String value = codec.encode(aRequest());
+        codec.rotate(Encoders.BASE64
+                .encode(Keys.secretKeyFor(SignatureAlgorithm.HS256)
+                        .getEncoded()));
+
+        Assertions.assertNull(codec.decode(value));
+        Assertions.assertNotNull(codec.decode(codec.encode(aRequest())));
+    }
+
+    @Test
+    void testExpired() {
+        String value = codec.encode(aRequest());
+        clock.advance(Duration.ofSeconds(181));
+
+        Assertions.assertNull(codec.decode(value));
+    }
+
+    private OAuth2AuthorizationRequest aRequest() {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("5014057553-8gm9um6vnli3cle5rgigcdjpdrid14m9"
+                        + ".apps.googleusercontent.com")
+                .redirectUri("http://localhost:8080/oauth2/callback/google")
+                .scopes(Set.of("email", "profile"))
+                .state("state")
+                .additionalParameters(Map.of("nonce", "n-0S6_WzA2Mj"))
+                .attributes(Map.of("registration_id", "google",
+                        "nonce", "0S6_WzA2Mj"))
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(final Instant anInstant) {
+            this.instant = anInstant;
+        }
+
+        void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
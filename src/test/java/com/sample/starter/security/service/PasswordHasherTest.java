@@ -0,0 +1,99 @@
+package com.sample.starter.security.service;
+
+import com.sample.starter.security.config.AppProperties;
+import com.sample.starter.security.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class PasswordHasherTest {
+
+    @Test
+    void encodesAndMatches() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(properties(4, 1, 8,
+                10_000), registry);
+        try {
+            String encoded = hasher.encode("password");
+            Assertions.assertTrue(encoded.startsWith("$2a$04$"));
+            Assertions.assertTrue(hasher.matches("password", encoded));
+            Assertions.assertFalse(hasher.matches("guess", encoded));
+
+            Assertions.assertEquals(1, registry.get("auth.hash")
+                    .tag("operation", "encode").timer().count());
+            Assertions.assertEquals(2, registry.get("auth.hash")
+                    .tag("operation", "matches").timer().count());
+            Assertions.assertEquals(0, registry.get("auth.hash.queue")
+                    .gauge().value());
+        } finally {
+            hasher.close();
+        }
+    }
+
+    @Test
+    void shedsLoad() throws InterruptedException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        // One thread and one waiting, so a burst is mostly rejected
+        PasswordHasher hasher = new PasswordHasher(properties(12, 1, 1,
+                10_000), registry);
+        ExecutorService logins = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(logins.submit(() -> hasher.encode("password")));
+            }
+            int hashed = 0;
+            int rejected = 0;
+            for (Future<String> result : results) {
+                try {
+                    result.get();
+                    hashed++;
+                } catch (final ExecutionException ex) {
+                    Assertions.assertInstanceOf(
+                            TooManyRequestsException.class, ex.getCause());
+                    rejected++;
+                }
+            }
+            Assertions.assertTrue(hashed >= 1);
+            Assertions.assertTrue(rejected >= 1);
+            Assertions.assertEquals(rejected, registry
+                    .get("auth.hash.rejected").counter().count());
+        } finally {
+            logins.shutdownNow();
+            hasher.close();
+        }
+    }
+
+    @Test
+    void timesOut() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(properties(14, 1, 8,
+                10), registry);
+        try {
+            Assertions.assertThrows(TooManyRequestsException.class,
+                    () -> hasher.encode("password"));
+        } finally {
+            hasher.close();
+        }
+    }
+
+    private static AppProperties properties(final int strength,
+                                            final int threads,
+                                            final int queueCapacity,
+                                            final long timeoutMsec) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAuth().setBcryptStrength(strength);
+        appProperties.getAuth().setHashThreads(threads);
+        appProperties.getAuth().setHashQueueCapacity(queueCapacity);
+        appProperties.getAuth().setHashTimeoutMsec(timeoutMsec);
+        return appProperties;
+    }
+}
@@ -0,0 +1,72 @@
+package com.sample.starter.security.service;
+
+import com.sample.starter.security.config.AppProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SigningKeysTest {
+
+    private SigningKeys signingKeys;
+
+    @BeforeEach
+    void before() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAuth().setTokenSecret(aSecret());
+        signingKeys = new SigningKeys(appProperties);
+    }
+
+    @Test
+    void testParse() {
+        Assertions.assertEquals("tom@email.com",
+                signingKeys.parse(aToken()).getSubject());
+    }
+
+    @Test
+    void testRotate() {
+        String oldToken = aToken();
+        signingKeys.rotate(aSecret());
+        String newToken = aToken();
+
+        Assertions.assertEquals("tom@email.com",
+                signingKeys.parse(oldToken).getSubject());
+        Assertions.assertEquals("tom@email.com",
+                signingKeys.parse(newToken).getSubject());
+
+        // Only the previous secret is honoured
+        signingKeys.rotate(aSecret());
+        Assertions.assertThrows(SecurityException.class,
+                () -> signingKeys.parse(oldToken));
+    }
+
+    @Test
+    void testRotationListener() {
+        List<String> rotated = new ArrayList<>();
+        signingKeys.addRotationListener(rotated::add);
+        String tokenSecret = aSecret();
+        signingKeys.rotate(tokenSecret);
+
+        Assertions.assertEquals(List.of(tokenSecret), rotated);
+    }
+
+    private String aToken() {
+        return Jwts.builder()
+                .setSubject("tom@email.com")
+                .signWith(signingKeys.getSigningKey(),
+                        SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static String aSecret() {
+        return Encoders.BASE64.encode(Keys
+                .secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+    }
+}